@@ -18,12 +18,19 @@
 
 package com.ancevt.util.args;
 
+import com.ancevt.util.args.metrics.ArgsEvents;
+import com.ancevt.util.args.metrics.ArgsMetrics;
 import com.ancevt.util.args.reflection.ArgsBinder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static java.lang.String.format;
 
@@ -40,21 +47,29 @@ import static java.lang.String.format;
  */
 public class Args implements Iterable<String> {
 
-    private final String source;
-    private final String[] elements;
+    /**
+     * Upper bound of a range that ends wherever the token storage ends.
+     */
+    private static final int OPEN = -1;
+
+    private String source;
+    private final Tokens tokens;
+    private final ArgsLimits limits;
+    private final int from;
+    private final int to;
     private int index;
     private Throwable problem;
     private String lastContainsCheckedKey;
 
     /**
      * Creates a new {@code Args} instance by parsing the given source string.
-     * Splits the string by spaces.
+     * Splits the string by spaces. The string is tokenized lazily, only as far
+     * as reads require.
      *
      * @param source the raw argument string
      */
     public Args(String source) {
-        this.source = source;
-        elements = ArgsSplitHelper.split(source, '\0');
+        this(source, tokenize(source, '\0'));
     }
 
     /**
@@ -65,8 +80,7 @@ public class Args implements Iterable<String> {
      * @param delimiterChar the delimiter string used to split arguments
      */
     public Args(String source, String delimiterChar) {
-        this.source = source;
-        elements = ArgsSplitHelper.split(source, delimiterChar);
+        this(source, ArgsSplitHelper.delimiterChar(delimiterChar));
     }
 
     /**
@@ -77,25 +91,185 @@ public class Args implements Iterable<String> {
      * @param delimiterChar the delimiter character used to split arguments
      */
     public Args(String source, char delimiterChar) {
-        this.source = source;
-        elements = ArgsSplitHelper.split(source, delimiterChar);
+        this(source, tokenize(source, delimiterChar));
+    }
+
+    /**
+     * Creates a new {@code Args} instance by parsing untrusted input with the
+     * given limits. The source is tokenized up front, so a limit violation is
+     * reported here rather than on a later read.
+     *
+     * @param source the raw argument string
+     * @param limits limits for the source, its tokens and converted lists
+     * @throws ArgsParseException if a limit is exceeded
+     */
+    public Args(String source, ArgsLimits limits) {
+        this(source, limits.isDiagnostics() ? spanned(source, null, limits) : new ArrayTokens(ArgsSplitHelper.split(source, '\0', limits)), 0, OPEN, limits);
+    }
+
+    /**
+     * Creates a new {@code Args} instance by parsing the given source string
+     * with the quoting rules of a {@link Dialect}.
+     *
+     * @param source  the raw argument string
+     * @param dialect quoting and escaping rules
+     */
+    public Args(String source, Dialect dialect) {
+        this(source, dialect, ArgsLimits.NONE);
+    }
+
+    /**
+     * Creates a new {@code Args} instance by parsing untrusted input with the
+     * quoting rules of a {@link Dialect} and the given limits.
+     *
+     * @param source  the raw argument string
+     * @param dialect quoting and escaping rules
+     * @param limits  limits for the source, its tokens and converted lists
+     * @throws ArgsParseException if a limit is exceeded
+     */
+    public Args(String source, Dialect dialect, ArgsLimits limits) {
+        this(source, limits.isDiagnostics() ? spanned(source, dialect, limits) : new ArrayTokens(ArgsSplitHelper.split(source, dialect, limits)), 0, OPEN, limits);
     }
 
     /**
      * Creates a new {@code Args} instance from an array of argument strings.
-     * The original array is preserved, and a formatted source string is built for reference.
+     * The original array is preserved, and a formatted source string is built
+     * on first {@link #getSource()} call.
      *
      * @param args the array of argument strings
      */
     public Args(String[] args) {
-        this.source = collectSource(args);
-        elements = args;
+        this(null, args);
+    }
+
+    /**
+     * Creates an instance over already tokenized elements, e.g. from {@link ArgsCache}.
+     */
+    Args(String source, String[] elements) {
+        this(source, new ArrayTokens(elements));
+    }
+
+    /**
+     * Creates an instance over the given token storage.
+     * If the source is null, it is built on demand.
+     */
+    Args(String source, Tokens tokens) {
+        this(source, tokens, 0, OPEN, ArgsLimits.NONE);
     }
 
-    private String collectSource(String[] args) {
+    /**
+     * Creates a view over a range of the given token storage.
+     * The storage is shared, the source string is built on demand.
+     */
+    private Args(String source, Tokens tokens, int from, int to, ArgsLimits limits) {
+        this.source = source;
+        this.tokens = tokens;
+        this.limits = limits;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Splits the source lazily. While a metrics listener is installed or the
+     * Flight Recorder parse event is enabled, the source is split up front,
+     * so tokenizing is measured as a whole.
+     */
+    private static Tokens tokenize(String source, char delimiterChar) {
+        if (ArgsMetrics.installed() != null || ArgsEvents.isParseEnabled()) {
+            return new ArrayTokens(ArgsSplitHelper.split(source, delimiterChar));
+        }
+        return new LazyTokens(source, delimiterChar);
+    }
+
+    /**
+     * Splits the source up front with the default rules or a dialect,
+     * keeping the offsets of every token.
+     */
+    private static Tokens spanned(String source, Dialect dialect, ArgsLimits limits) {
+        final int[][] offsets = new int[1][];
+        final String[] elements = dialect != null
+                ? ArgsSplitHelper.split(source, dialect, limits, offsets)
+                : ArgsSplitHelper.split(source, '\0', limits, offsets);
+        return new SpannedTokens(source, elements, offsets[0]);
+    }
+
+    /**
+     * Returns the offset of the first raw character of an element in the
+     * source string, including opening quotes.
+     *
+     * @param index element index
+     * @return start offset, or -1 if offsets were not recorded
+     * @throws ArgsParseException if the index is out of bounds
+     */
+    public int getStartOffset(int index) {
+        if (index < 0 || !inRange(from + index)) {
+            throw new ArgsParseException(format("getStartOffset: index %d out of bounds", index));
+        }
+        return tokens.start(from + index);
+    }
+
+    /**
+     * Returns the offset right after the last raw character of an element
+     * in the source string.
+     *
+     * @param index element index
+     * @return exclusive end offset, or -1 if offsets were not recorded
+     * @throws ArgsParseException if the index is out of bounds
+     */
+    public int getEndOffset(int index) {
+        if (index < 0 || !inRange(from + index)) {
+            throw new ArgsParseException(format("getEndOffset: index %d out of bounds", index));
+        }
+        return tokens.end(from + index);
+    }
+
+    /**
+     * Attaches the source span of an element to an exception, see
+     * {@link ArgsParseException#withSpan(String, int, int)}. An index at or
+     * past the end points right after the last element, e.g. for a missing
+     * argument. Without recorded offsets the exception is returned unchanged.
+     *
+     * @param exception exception to annotate
+     * @param index     element index
+     * @param <E>       exception type
+     * @return the given exception
+     */
+    public <E extends ArgsParseException> E locate(E exception, int index) {
+        if (!(tokens instanceof SpannedTokens)) {
+            return exception;
+        }
+        final String tokenSource = tokens.source();
+        final int i = from + Math.max(0, index);
+        if (inRange(i)) {
+            exception.withSpan(tokenSource, tokens.start(i), tokens.end(i));
+        } else if (to == OPEN) {
+            exception.withSpan(tokenSource, tokenSource.length(), tokenSource.length());
+        } else if (end() > 0) {
+            final int last = tokens.end(end() - 1);
+            exception.withSpan(tokenSource, last, last);
+        }
+        return exception;
+    }
+
+    /**
+     * Returns the exclusive upper bound of this view in the token storage.
+     */
+    private int end() {
+        return to != OPEN ? to : tokens.size();
+    }
+
+    /**
+     * Checks whether the storage index lies inside this view, without forcing
+     * lazy storage past it.
+     */
+    private boolean inRange(int i) {
+        return to != OPEN ? i < to : tokens.has(i);
+    }
+
+    private static String collectSource(Tokens tokens, int from, int to) {
         final StringBuilder stringBuilder = new StringBuilder();
-        for (String a : args) {
-            a = a.replace("\"", "\\\\\"");
+        for (int i = from; i < to; i++) {
+            String a = tokens.get(i).replace("\"", "\\\\\"");
             stringBuilder.append('"').append(a).append('"').append(' ');
         }
         if (stringBuilder.length() > 0) {
@@ -110,24 +284,233 @@ public class Args implements Iterable<String> {
      * @return array of argument elements
      */
     public String[] getElements() {
-        return elements;
+        return tokens.toArray(from, end());
     }
 
     /**
-     * Returns all parsed elements.
+     * Returns the element at the given index as a character sequence. For
+     * instances from {@link #compact(String[])} this is a view over the
+     * compact storage, no string is created.
      *
-     * @return array of argument elements
+     * @param index element index
+     * @return element characters
+     * @throws ArgsParseException if the index is out of bounds
+     */
+    public CharSequence getCharSequence(int index) {
+        if (index < 0 || !inRange(from + index)) {
+            throw new ArgsParseException(format("getCharSequence: index %d out of bounds", index));
+        }
+        return tokens.sequence(from + index);
+    }
+
+    /**
+     * Returns an instance with the elements of this one packed into compact
+     * storage, see {@link #compact(String[])}.
+     *
+     * @return compact instance
+     */
+    public Args toCompact() {
+        return new Args(null, new CompactTokens(tokens, from, end()));
+    }
+
+    /**
+     * Returns the raw element at the given index without conversion.
+     */
+    String element(int index) {
+        return tokens.get(from + index);
+    }
+
+    /**
+     * Checks whether the element after the option at the given index can be its value.
+     */
+    boolean hasValueAfter(int index) {
+        return hasValue(from + index);
+    }
+
+    /**
+     * Checks whether the element at the given index can be a positional argument.
+     */
+    boolean isPositionalAt(int index) {
+        return isPositional(from + index);
+    }
+
+    /**
+     * Returns a view over the elements in range {@code [fromIndex, toIndex)}.
+     * <p>
+     * The view shares element storage with this instance, so creating it
+     * does not copy or re-parse anything. Its own iteration index starts at 0.
+     *
+     * @param fromIndex first element index, inclusive
+     * @param toIndex   last element index, exclusive
+     * @return view over the given range
+     * @throws ArgsParseException if the range is out of bounds
+     */
+    public Args subArgs(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new ArgsParseException(format("subArgs: Range out of bounds, from: %d, to: %d, elements: %d", fromIndex, toIndex, size()));
+        }
+
+        return new Args(null, tokens, from + fromIndex, from + toIndex, limits);
+    }
+
+    /**
+     * Returns a view over all elements starting at {@code fromIndex}.
+     * Typically used to hand the remaining arguments to a subcommand.
+     * <p>
+     * Example:
+     * <pre>
+     *     Args args = Args.parse("remote add origin url");
+     *     Args remoteArgs = args.tail(1); // add origin url
+     * </pre>
+     *
+     * @param fromIndex first element index, inclusive
+     * @return view over the remaining elements
+     * @throws ArgsParseException if the index is out of bounds
+     */
+    public Args tail(int fromIndex) {
+        if (fromIndex < 0 || (fromIndex > 0 && !inRange(from + fromIndex - 1))) {
+            throw new ArgsParseException(format("tail: Index out of bounds, index: %d, elements: %d", fromIndex, size()));
+        }
+        if (to != OPEN) {
+            return subArgs(fromIndex, size());
+        }
+
+        return new Args(null, tokens, from + fromIndex, OPEN, limits);
+    }
+
+    /**
+     * Checks if any of the given keys is present, either as a standalone
+     * element or in {@code key=value} form. The matched key is remembered
+     * and used by {@link #get(Class)}. See {@link #match(String...)} for
+     * a lookup that does not rely on this state.
+     *
+     * @param keys possible keys
+     * @return true if any key is present
      */
     public boolean contains(String... keys) {
-        for (final String e : elements) {
-            for (final String k : keys) {
-                if (e.equals(k) || e.startsWith(k + "=")) {
-                    lastContainsCheckedKey = k;
-                    return true;
+        countLookup();
+        final long located = locate(keys);
+        if (located < 0) {
+            return false;
+        }
+        lastContainsCheckedKey = keys[(int) located];
+        return true;
+    }
+
+    /**
+     * Finds the first element matching any of the given keys, either as a
+     * standalone element or in {@code key=value} form, like
+     * {@link #contains(String...)}. The returned handle records the matched
+     * key and its value, so reading the value does not scan the elements
+     * again. Unlike {@code contains}, this does not change the state of this
+     * instance and can be used concurrently. For arguments merged by
+     * {@link ArgsLayers}, a match from a higher layer wins over an earlier
+     * element from a lower one.
+     * <p>
+     * Example:
+     * <pre>
+     *     ArgsMatch port = args.match("-p", "--port");
+     *     if (port.isPresent()) {
+     *         int value = port.get(Integer.class);
+     *     }
+     * </pre>
+     *
+     * @param keys possible keys
+     * @return match handle, {@link ArgsMatch#isPresent()} is false if no key is present
+     */
+    public ArgsMatch match(String... keys) {
+        countLookup();
+        final long located = locate(keys);
+        if (located < 0) {
+            return ArgsMatch.NONE;
+        }
+
+        return matchFrom((int) (located >>> 32), keys[(int) located]);
+    }
+
+    /**
+     * Returns a match handle for an option whose first occurrence is already
+     * known, e.g. from a single walk over the elements. The value is taken as
+     * in {@link #match(String...)}.
+     *
+     * @param index element index of the first occurrence of {@code key}
+     * @param key   key at that index, standalone or in {@code key=value} form
+     * @return match handle
+     * @throws ArgsParseException if the element at {@code index} does not match {@code key}
+     */
+    public ArgsMatch matchAt(int index, String key) {
+        if (index < 0 || !inRange(from + index) || tokens.match(from + index, key) == Tokens.NO_MATCH) {
+            throw new ArgsParseException(format("matchAt: '%s' not found at index %d", key, index));
+        }
+        return matchFrom(from + index, key);
+    }
+
+    private ArgsMatch matchFrom(int first, String key) {
+        for (int i = first; inRange(i); i++) {
+            final int match = tokens.match(i, key);
+            if (match == Tokens.KEY) {
+                return new ArgsMatch(key, first - from, hasValue(i) ? tokens.get(i + 1) : null, false,
+                        tokens.rank(first), limits);
+            } else if (match == Tokens.KEY_VALUE) {
+                return new ArgsMatch(key, first - from, tokens.get(i).substring(key.length() + 1), true,
+                        tokens.rank(first), limits);
+            }
+        }
+        return new ArgsMatch(key, first - from, null, false, tokens.rank(first), limits);
+    }
+
+    /**
+     * Checks whether the element at storage index {@code i} comes from a
+     * higher layer than the one at {@code j}, or from the same layer and before it.
+     */
+    private boolean precedes(int i, int j) {
+        final int ri = tokens.rank(i);
+        final int rj = tokens.rank(j);
+        return ri != rj ? ri < rj : i < j;
+    }
+
+    /**
+     * Checks whether the element after the key at storage index {@code i}
+     * exists and belongs to the same layer.
+     */
+    private boolean hasValue(int i) {
+        return inRange(i + 1) && i + 1 < tokens.layerEnd(i);
+    }
+
+    /**
+     * Checks whether the element at storage index {@code i} can be read as a
+     * positional argument. For arguments merged by {@link ArgsLayers} these
+     * are the elements of the first {@code Args} layer.
+     */
+    private boolean isPositional(int i) {
+        return inRange(i) && i < tokens.positionals();
+    }
+
+    /**
+     * Finds the first element matching any of the keys.
+     *
+     * @return storage index in the high and key index in the low 32 bits, or -1
+     */
+    private long locate(String[] keys) {
+        if (from == 0 && to == OPEN && keys.length > 0 && tokens.indexOf(keys[0]) != Tokens.UNINDEXED) {
+            long located = -1;
+            for (int k = 0; k < keys.length; k++) {
+                final int i = tokens.indexOf(keys[k]);
+                if (i >= 0 && (located < 0 || precedes(i, (int) (located >>> 32)))) {
+                    located = (long) i << 32 | k;
+                }
+            }
+            return located;
+        }
+
+        for (int i = from; inRange(i); i++) {
+            for (int k = 0; k < keys.length; k++) {
+                if (tokens.match(i, keys[k]) != Tokens.NO_MATCH) {
+                    return (long) i << 32 | k;
                 }
             }
         }
-        return false;
+        return -1;
     }
 
     /**
@@ -136,7 +519,7 @@ public class Args implements Iterable<String> {
      * @return true if there are remaining arguments
      */
     public boolean hasNext() {
-        return index < elements.length;
+        return inRange(from + index);
     }
 
     /**
@@ -173,8 +556,8 @@ public class Args implements Iterable<String> {
      * @throws ArgsParseException if no more elements or conversion fails
      */
     public <T> T next(Class<T> type) {
-        if (index >= elements.length) {
-            throw new ArgsParseException(format("next: Index out of bounds, index: %d, elements: %d", index, elements.length));
+        if (!inRange(from + index)) {
+            throw new ArgsParseException(format("next: Index out of bounds, index: %d, elements: %d", index, size()));
         }
 
         T result = get(type, index);
@@ -195,8 +578,8 @@ public class Args implements Iterable<String> {
      * @return argument converted to type or defaultValue
      */
     public <T> T next(Class<T> type, T defaultValue) {
-        if (index >= elements.length) {
-            throw new ArgsParseException(format("next: Index out of bounds, index: %d, elements: %d", index, elements.length));
+        if (!inRange(from + index)) {
+            throw new ArgsParseException(format("next: Index out of bounds, index: %d, elements: %d", index, size()));
         }
 
         T result = get(type, index, defaultValue);
@@ -220,8 +603,8 @@ public class Args implements Iterable<String> {
      * @throws ArgsParseException if out of bounds
      */
     public void setIndex(int index) {
-        if (index >= elements.length) {
-            throw new ArgsParseException(format("Index out of bounds, index: %d, elements: %d", index, elements.length));
+        if (!inRange(from + index)) {
+            throw new ArgsParseException(format("Index out of bounds, index: %d, elements: %d", index, size()));
         }
 
         this.index = index;
@@ -240,7 +623,7 @@ public class Args implements Iterable<String> {
      * @return element count
      */
     public int size() {
-        return elements.length;
+        return end() - from;
     }
 
     /**
@@ -265,9 +648,9 @@ public class Args implements Iterable<String> {
      * @return converted argument or defaultValue
      */
     public <T> T get(Class<T> type, int index, T defaultValue) {
-        if (index < 0 || index >= elements.length) return defaultValue;
+        if (index < 0 || !isPositional(from + index)) return defaultValue;
         try {
-            return convertToType(elements[index], type);
+            return convertToType(tokens.get(from + index), type, limits);
         } catch (Exception e) {
             problem = e;
             return defaultValue;
@@ -297,21 +680,9 @@ public class Args implements Iterable<String> {
      * @return converted argument or defaultValue
      */
     public <T> T get(Class<T> type, String key, T defaultValue) {
-        for (int i = 0; i < elements.length; i++) {
-            final String currentArg = elements[i];
-
-            if (currentArg.equals(key)) {
-                if (i + 1 < elements.length) {
-                    return convertToType(elements[i + 1], type);
-                }
-            }
-
-            if (currentArg.startsWith(key + "=")) {
-                return convertToType(currentArg.substring((key + "=").length()), type);
-            }
-        }
-
-        return defaultValue;
+        countLookup();
+        final T value = find(type, key);
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -324,23 +695,39 @@ public class Args implements Iterable<String> {
      * @return converted argument or defaultValue
      */
     public <T> T get(Class<T> type, String[] keys, T defaultValue) {
+        countLookup();
         for (final String key : keys) {
-            for (int i = 0; i < elements.length; i++) {
-                final String currentArg = elements[i];
+            final T value = find(type, key);
+            if (value != null) {
+                return value;
+            }
+        }
 
-                if (currentArg.equals(key)) {
-                    if (i + 1 < elements.length) {
-                        return convertToType(elements[i + 1], type);
-                    }
-                }
+        return defaultValue;
+    }
 
-                if (currentArg.startsWith(key + "=")) {
-                    return convertToType(currentArg.substring((key + "=").length()), type);
-                }
+    private <T> T find(Class<T> type, String key) {
+        int start = from;
+        if (from == 0 && to == OPEN) {
+            final int indexed = tokens.indexOf(key);
+            if (indexed == -1) {
+                return null;
+            } else if (indexed >= 0) {
+                start = indexed;
             }
         }
 
-        return defaultValue;
+        for (int i = start; inRange(i); i++) {
+            final int match = tokens.match(i, key);
+
+            if (match == Tokens.KEY) {
+                return hasValue(i) ? convertToType(tokens.get(i + 1), type, limits) : null;
+            } else if (match == Tokens.KEY_VALUE) {
+                return convertToType(tokens.get(i).substring(key.length() + 1), type, limits);
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -409,15 +796,38 @@ public class Args implements Iterable<String> {
         return get(String.class, keys);
     }
 
+    private static void countLookup() {
+        final ArgsMetrics metrics = ArgsMetrics.installed();
+        if (metrics != null) {
+            metrics.lookup();
+        }
+    }
+
+    static <T> T convertToType(String element, Class<T> type) {
+        return convertToType(element, type, ArgsLimits.NONE);
+    }
+
+    static <T> T convertToType(String element, Class<T> type, ArgsLimits limits) {
+        try {
+            return doConvertToType(element, type, limits.getMaxListElements());
+        } catch (RuntimeException e) {
+            final ArgsMetrics metrics = ArgsMetrics.installed();
+            if (metrics != null) {
+                metrics.conversionFailed(type, e);
+            }
+            throw e;
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private <T> T convertToType(String element, Class<T> type) {
+    private static <T> T doConvertToType(String element, Class<T> type, int maxListElements) {
         if (List.class.isAssignableFrom(type)) {
-            String[] parts = element.split(",");
+            String[] parts = splitList(element, maxListElements);
             return (T) java.util.Arrays.asList(parts);
         }
 
         if (Set.class.isAssignableFrom(type)) {
-            String[] parts = element.split(",");
+            String[] parts = splitList(element, maxListElements);
             return (T) new java.util.HashSet<>(java.util.Arrays.asList(parts));
         }
 
@@ -450,12 +860,39 @@ public class Args implements Iterable<String> {
         }
     }
 
+    /**
+     * Splits a list value on commas like {@link String#split(String)}, failing
+     * as soon as there are more than {@code maxListElements} comma-separated parts.
+     */
+    private static String[] splitList(String element, int maxListElements) {
+        if (maxListElements == Integer.MAX_VALUE) {
+            return element.split(",");
+        }
+
+        final String[] parts = element.split(",", maxListElements + 1);
+        if (parts.length > maxListElements) {
+            throw new ArgsParseException("List elements exceed limit " + maxListElements);
+        }
+        if (parts.length == 1) {
+            return parts;
+        }
+        int length = parts.length;
+        while (length > 0 && parts[length - 1].isEmpty()) {
+            length--;
+        }
+        return length == parts.length ? parts : java.util.Arrays.copyOf(parts, length);
+    }
+
     /**
      * Returns the original source string of the arguments.
      *
      * @return original command line
      */
     public String getSource() {
+        if (source == null) {
+            final String tokensSource = from == 0 && (to == OPEN || to == tokens.size()) ? tokens.source() : null;
+            source = tokensSource != null ? tokensSource : collectSource(tokens, from, end());
+        }
         return source;
     }
 
@@ -465,7 +902,7 @@ public class Args implements Iterable<String> {
      * @return true if empty
      */
     public boolean isEmpty() {
-        return elements == null || elements.length == 0;
+        return !inRange(from);
     }
 
     /**
@@ -527,6 +964,84 @@ public class Args implements Iterable<String> {
         return new Args(source);
     }
 
+    /**
+     * Creates an Args instance from a string, reusing tokens cached in
+     * {@code cache} when the same string was parsed before.
+     * <p>
+     * Cached element arrays are shared between instances, so the array
+     * returned by {@link #getElements()} must not be modified.
+     *
+     * @param source command line string
+     * @param cache  cache of tokenized source strings
+     * @return Args instance
+     */
+    public static Args parseCached(String source, ArgsCache cache) {
+        return cache.parse(source);
+    }
+
+    /**
+     * Creates an Args instance from untrusted input, enforcing the given limits.
+     *
+     * @param source command line string
+     * @param limits limits for the source, its tokens and converted lists
+     * @return Args instance
+     * @throws ArgsParseException if a limit is exceeded
+     */
+    public static Args parseLimited(String source, ArgsLimits limits) {
+        return new Args(source, limits);
+    }
+
+    /**
+     * Creates an Args instance using the quoting rules of a {@link Dialect}.
+     * <p>
+     * Example:
+     * <pre>
+     *     Args args = Args.parseDialect("-vp8080 'it''s'", Dialect.POSIX.withShortOptionClustering("p"));
+     *     // -v, -p, 8080, its
+     * </pre>
+     *
+     * @param source  command line string
+     * @param dialect quoting and escaping rules
+     * @return Args instance
+     */
+    public static Args parseDialect(String source, Dialect dialect) {
+        return new Args(source, dialect);
+    }
+
+    /**
+     * Creates an Args instance from untrusted input using the quoting rules
+     * of a {@link Dialect}, enforcing the given limits.
+     *
+     * @param source  command line string
+     * @param dialect quoting and escaping rules
+     * @param limits  limits for the source, its tokens and converted lists
+     * @return Args instance
+     * @throws ArgsParseException if a limit is exceeded
+     */
+    public static Args parseDialect(String source, Dialect dialect, ArgsLimits limits) {
+        return new Args(source, dialect, limits);
+    }
+
+    /**
+     * Creates an Args instance, expanding {@code ${name}} and
+     * {@code ${name:-default}} placeholders while tokenizing. Resolved values
+     * are not split further. Use {@link ArgsTemplate} to compile a template
+     * that is rendered repeatedly.
+     * <p>
+     * Example:
+     * <pre>
+     *     Args args = Args.parseResolved("--out=${WORK}/run-${ID} --threads ${CPUS:-4}", System::getenv);
+     * </pre>
+     *
+     * @param source   command line string with placeholders
+     * @param resolver returns the value of a variable, or null if it is not set
+     * @return Args instance
+     * @throws ArgsParseException if a placeholder is malformed or cannot be resolved
+     */
+    public static Args parseResolved(String source, Function<String, String> resolver) {
+        return new Args(null, ArgsTemplate.expand(source, resolver));
+    }
+
     /**
      * Creates an Args instance from an array.
      *
@@ -537,6 +1052,28 @@ public class Args implements Iterable<String> {
         return new Args(args);
     }
 
+    /**
+     * Creates an Args instance over compact storage for very large argument
+     * lists: all characters in one byte array, Latin-1 when possible and
+     * UTF-16 otherwise, plus an offset table. Keys are matched in place, and
+     * strings are created on every read instead of being retained. Use
+     * {@link #getCharSequence(int)} to read elements without creating strings.
+     * <p>
+     * Example:
+     * <pre>
+     *     public static void main(String[] argv) {
+     *         Args args = Args.compact(argv);
+     *         argv = null; // let the original strings be collected
+     *     }
+     * </pre>
+     *
+     * @param args array of arguments
+     * @return Args instance
+     */
+    public static Args compact(String[] args) {
+        return new Args(null, new CompactTokens(new ArrayTokens(args), 0, args.length));
+    }
+
     /**
      * Creates an Args instance with a custom delimiter.
      *
@@ -559,6 +1096,64 @@ public class Args implements Iterable<String> {
         return new Args(source, delimiterChar);
     }
 
+    /**
+     * Writes the elements in the compact binary form of {@link ArgsCodec#DEFAULT}.
+     *
+     * @param buffer target buffer
+     * @throws java.nio.BufferOverflowException if the buffer has not enough space
+     */
+    public void writeTo(ByteBuffer buffer) {
+        ArgsCodec.DEFAULT.encode(this, buffer);
+    }
+
+    /**
+     * Writes the elements in the compact binary form of {@link ArgsCodec#DEFAULT}.
+     *
+     * @param out target stream
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        ArgsCodec.DEFAULT.encode(this, out);
+    }
+
+    /**
+     * Reads an instance written by {@link #writeTo(ByteBuffer)}. The elements
+     * are decoded directly, the source string is rebuilt only on demand.
+     *
+     * @param buffer source buffer
+     * @return Args instance
+     * @throws ArgsParseException if the data is malformed or truncated
+     */
+    public static Args readFrom(ByteBuffer buffer) {
+        return ArgsCodec.DEFAULT.decode(buffer);
+    }
+
+    /**
+     * Reads an instance written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in source stream
+     * @return Args instance, or null if the stream has ended
+     * @throws IOException        if reading fails or the stream ends inside an instance
+     * @throws ArgsParseException if the data is malformed
+     */
+    public static Args readFrom(InputStream in) throws IOException {
+        return ArgsCodec.DEFAULT.decode(in);
+    }
+
+    /**
+     * Reads an instance written by {@link #writeTo(OutputStream)} from an
+     * untrusted stream, see {@link ArgsCodec#decode(InputStream, ArgsLimits)}.
+     *
+     * @param in     source stream
+     * @param limits limits for the token count and token length
+     * @return Args instance, or null if the stream has ended
+     * @throws IOException        if reading fails or the stream ends inside an instance
+     * @throws ArgsParseException if the data is malformed or a limit is exceeded
+     */
+    public static Args readFrom(InputStream in, ArgsLimits limits) throws IOException {
+        return ArgsCodec.DEFAULT.decode(in, limits);
+    }
+
     /**
      * Returns an iterator over arguments.
      *
@@ -567,17 +1162,17 @@ public class Args implements Iterable<String> {
     @Override
     public Iterator<String> iterator() {
         return new Iterator<String>() {
-            private int i = 0;
+            private int i = from;
 
             @Override
             public boolean hasNext() {
-                return i < elements.length;
+                return inRange(i);
             }
 
             @Override
             public String next() {
                 if (!hasNext()) throw new java.util.NoSuchElementException();
-                return elements[i++];
+                return tokens.get(i++);
             }
         };
     }
@@ -589,8 +1184,8 @@ public class Args implements Iterable<String> {
      */
     @Override
     public void forEach(Consumer<? super String> action) {
-        for (String element : elements) {
-            action.accept(element);
+        for (int i = from; inRange(i); i++) {
+            action.accept(tokens.get(i));
         }
     }
 
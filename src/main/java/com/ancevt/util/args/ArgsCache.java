@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, thread-safe cache of tokenized source strings.
+ * <p>
+ * Useful when the same command lines are parsed over and over, for example
+ * in chat bots or game consoles. On a cache hit {@link #parse(String)} skips
+ * tokenizing and reuses the cached token array. The array is shared by all
+ * instances parsed from the same string and never handed out, so
+ * {@link Args#getElements()} returns a copy.
+ * <p>
+ * The cache is split into independently locked segments, so concurrent
+ * parsing of different strings rarely contends. The maximum size is divided
+ * between the segments, so the cache never holds more entries than that.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsCache cache = new ArgsCache(4096);
+ *     Args args = Args.parseCached("say hello", cache);
+ * </pre>
+ */
+public class ArgsCache {
+
+    private static final String[] NO_ELEMENTS = new String[0];
+
+    /**
+     * Defines which entry is evicted when a segment is full.
+     */
+    public enum EvictionPolicy {
+        /**
+         * Evicts the least recently used entry.
+         */
+        LRU,
+
+        /**
+         * Evicts the oldest inserted entry. Hits do not reorder entries,
+         * which makes them slightly cheaper than with {@link #LRU}.
+         */
+        FIFO
+    }
+
+    private final int maximumSize;
+    private final EvictionPolicy evictionPolicy;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an LRU cache holding at most {@code maximumSize} entries.
+     *
+     * @param maximumSize maximum number of cached source strings
+     */
+    public ArgsCache(int maximumSize) {
+        this(maximumSize, EvictionPolicy.LRU);
+    }
+
+    /**
+     * Creates a cache holding at most {@code maximumSize} entries.
+     *
+     * @param maximumSize    maximum number of cached source strings
+     * @param evictionPolicy policy used when the cache is full
+     */
+    public ArgsCache(int maximumSize, EvictionPolicy evictionPolicy) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (evictionPolicy == null) {
+            throw new IllegalArgumentException("evictionPolicy must not be null");
+        }
+
+        this.maximumSize = maximumSize;
+        this.evictionPolicy = evictionPolicy;
+
+        int segmentCount = 1;
+        while (segmentCount < 16 && segmentCount * 64 < maximumSize) {
+            segmentCount <<= 1;
+        }
+        segmentMask = segmentCount - 1;
+        segments = new Segment[segmentCount];
+
+        for (int i = 0; i < segmentCount; i++) {
+            final int segmentCapacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentCapacity, evictionPolicy == EvictionPolicy.LRU);
+        }
+    }
+
+    /**
+     * Parses the source string, reusing cached tokens when possible.
+     * The source is split on whitespace, like {@link Args#parse(String)}.
+     *
+     * @param source command line string
+     * @return Args instance
+     */
+    public Args parse(String source) {
+        return new Args(source, new ArrayTokens(tokens(source), true));
+    }
+
+    /**
+     * Returns cached tokens of the source string, tokenizing it on a miss.
+     * The returned array is shared and must not be modified.
+     */
+    String[] tokens(String source) {
+        if (source.isEmpty()) {
+            return NO_ELEMENTS;
+        }
+
+        final Segment segment = segments[spread(source.hashCode()) & segmentMask];
+
+        String[] tokens;
+        synchronized (segment) {
+            tokens = segment.get(source);
+        }
+        if (tokens != null) {
+            hits.increment();
+            return tokens;
+        }
+
+        misses.increment();
+        tokens = ArgsSplitHelper.split(source, '\0');
+        synchronized (segment) {
+            segment.put(source, tokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * Removes all entries. Statistics are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the current number of cached entries.
+     *
+     * @return entry count
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the configured maximum number of entries.
+     *
+     * @return maximum size
+     */
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the configured eviction policy.
+     *
+     * @return eviction policy
+     */
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Returns the number of lookups served from the cache.
+     *
+     * @return hit count
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that required tokenizing.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted because the cache was full.
+     *
+     * @return eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the ratio of hits to all lookups.
+     *
+     * @return hit ratio in range {@code [0, 1]}, or 0 if there were no lookups
+     */
+    public double getHitRatio() {
+        final long h = hits.sum();
+        final long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("serial") // never serialized
+    private final class Segment extends LinkedHashMap<String, String[]> {
+        private final int capacity;
+
+        Segment(int capacity, boolean accessOrder) {
+            super(16, 0.75f, accessOrder);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
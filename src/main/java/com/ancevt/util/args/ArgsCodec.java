@@ -0,0 +1,458 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the elements of {@link Args}, for sending parsed
+ * commands between services or storing them, without re-tokenizing the
+ * source on the receiving side.
+ * <p>
+ * The encoding is a format version byte, the dictionary size and the token
+ * count as varints, followed by one entry per token. An entry starts with a
+ * varint header whose two lowest bits tell how the token is stored: as Latin-1
+ * bytes, as UTF-8 bytes, or as the id of a key from the codec dictionary. The
+ * rest of the header is the byte length or the key id.
+ * <p>
+ * A dictionary of frequent tokens, typically option names, replaces them with
+ * one or two byte ids. Both sides must use the same dictionary. Decoding fails
+ * if the dictionary sizes differ.
+ * <p>
+ * Decoded instances do not carry the original source string. {@link Args#getSource()}
+ * rebuilds a quoted one from the elements. Codecs are immutable and thread-safe.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsCodec codec = new ArgsCodec("--user", "--amount", "--currency");
+ *     byte[] bytes = codec.toBytes(Args.parse("transfer --user bob --amount 10"));
+ *     Args args = codec.decode(ByteBuffer.wrap(bytes));
+ * </pre>
+ */
+public final class ArgsCodec {
+
+    /**
+     * Codec without a dictionary, used by {@link Args#writeTo(ByteBuffer)} and
+     * {@link Args#readFrom(ByteBuffer)}.
+     */
+    public static final ArgsCodec DEFAULT = new ArgsCodec();
+
+    private static final int FORMAT_VERSION = 1;
+    static final int LATIN_1 = 0;
+    static final int UTF_8 = 1;
+    static final int KEY = 2;
+    private static final int MAX_TOKEN_BYTES = (1 << 29) - 1;
+
+    private final String[] keys;
+    private final Map<String, Integer> keyIds;
+
+    /**
+     * Creates a codec with the given dictionary of frequent tokens.
+     *
+     * @param keys dictionary entries, their order defines the ids
+     */
+    public ArgsCodec(String... keys) {
+        this.keys = keys.clone();
+        keyIds = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            if (keyIds.putIfAbsent(keys[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate dictionary key: " + keys[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #encode(Args, ByteBuffer)} writes.
+     *
+     * @param args arguments
+     * @return encoded size in bytes
+     * @throws ArgsParseException if a token is too long to encode
+     */
+    public int encodedSize(Args args) {
+        return encodedSize(args.getElements());
+    }
+
+    int encodedSize(String[] elements) {
+        int size = 1 + varintSize(keys.length) + varintSize(elements.length);
+        for (String token : elements) {
+            final Integer id = keyIds.get(token);
+            if (id != null) {
+                size += varintSize(id << 2);
+                continue;
+            }
+            final int length = isLatin1(token) ? token.length() : utf8Length(token);
+            if (length > MAX_TOKEN_BYTES) {
+                throw new ArgsParseException("Token too long to encode: " + length + " bytes");
+            }
+            size += varintSize(length << 2) + length;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the encoded elements into the buffer.
+     *
+     * @param args   arguments
+     * @param buffer target buffer
+     * @throws BufferOverflowException if the buffer has not enough space,
+     *                                 nothing is written then
+     */
+    public void encode(Args args, ByteBuffer buffer) {
+        final String[] elements = args.getElements();
+        if (buffer.remaining() < encodedSize(elements)) {
+            throw new BufferOverflowException();
+        }
+        write(elements, buffer);
+    }
+
+    /**
+     * Writes elements whose size was already checked with {@link #encodedSize(String[])}.
+     */
+    void write(String[] elements, ByteBuffer buffer) {
+        buffer.put((byte) FORMAT_VERSION);
+        putVarint(buffer, keys.length);
+        putVarint(buffer, elements.length);
+        for (String token : elements) {
+            final Integer id = keyIds.get(token);
+            if (id != null) {
+                putVarint(buffer, id << 2 | KEY);
+            } else if (isLatin1(token)) {
+                putVarint(buffer, token.length() << 2 | LATIN_1);
+                for (int i = 0; i < token.length(); i++) {
+                    buffer.put((byte) token.charAt(i));
+                }
+            } else {
+                final byte[] bytes = token.getBytes(StandardCharsets.UTF_8);
+                putVarint(buffer, bytes.length << 2 | UTF_8);
+                buffer.put(bytes);
+            }
+        }
+    }
+
+    /**
+     * Writes the encoded elements to the stream.
+     *
+     * @param args arguments
+     * @param out  target stream
+     * @throws IOException if writing fails
+     */
+    public void encode(Args args, OutputStream out) throws IOException {
+        out.write(toBytes(args));
+    }
+
+    /**
+     * Returns the encoded elements.
+     *
+     * @param args arguments
+     * @return encoded bytes
+     */
+    public byte[] toBytes(Args args) {
+        final ByteBuffer buffer = ByteBuffer.allocate(encodedSize(args));
+        encode(args, buffer);
+        return buffer.array();
+    }
+
+    /**
+     * Reads one encoded instance from the buffer, advancing its position.
+     *
+     * @param buffer source buffer
+     * @return decoded arguments
+     * @throws ArgsParseException if the data is malformed or truncated
+     */
+    public Args decode(ByteBuffer buffer) {
+        try {
+            checkHeader(buffer.get(), getVarint(buffer));
+            final String[] elements = new String[checkCount(getVarint(buffer), buffer.remaining())];
+            for (int i = 0; i < elements.length; i++) {
+                final int header = getVarint(buffer);
+                final int value = header >>> 2;
+                switch (header & 3) {
+                    case KEY:
+                        elements[i] = key(value);
+                        break;
+                    case LATIN_1:
+                        elements[i] = string(buffer, value, StandardCharsets.ISO_8859_1);
+                        break;
+                    case UTF_8:
+                        elements[i] = string(buffer, value, StandardCharsets.UTF_8);
+                        break;
+                    default:
+                        throw new ArgsParseException("Unknown token encoding: " + (header & 3));
+                }
+            }
+            return new Args(null, elements);
+        } catch (BufferUnderflowException e) {
+            throw new ArgsParseException("Truncated args encoding", e);
+        }
+    }
+
+    /**
+     * Reads one encoded instance from the stream.
+     * <p>
+     * Memory grows with the data actually read, not with the counts and
+     * lengths announced in the encoding. Use {@link #decode(InputStream, ArgsLimits)}
+     * to bound it for untrusted input.
+     *
+     * @param in source stream
+     * @return decoded arguments, or null if the stream ended before the next instance
+     * @throws IOException        if reading fails or the stream ends inside an instance
+     * @throws ArgsParseException if the data is malformed
+     */
+    public Args decode(InputStream in) throws IOException {
+        return decode(in, ArgsLimits.NONE);
+    }
+
+    /**
+     * Reads one encoded instance from the stream, rejecting data that exceeds
+     * the token count or token length limits before reading it.
+     *
+     * @param in     source stream
+     * @param limits limits for the token count and token length
+     * @return decoded arguments, or null if the stream ended before the next instance
+     * @throws IOException        if reading fails or the stream ends inside an instance
+     * @throws ArgsParseException if the data is malformed or a limit is exceeded
+     */
+    public Args decode(InputStream in, ArgsLimits limits) throws IOException {
+        final int version = in.read();
+        if (version < 0) {
+            return null;
+        }
+        checkHeader((byte) version, readVarint(in));
+
+        final int count = readVarint(in);
+        if (count > limits.getMaxTokens()) {
+            throw new ArgsParseException("Token count exceeds limit " + limits.getMaxTokens());
+        }
+        // a UTF-8 encoded char takes at most 3 bytes
+        final long maxTokenBytes = limits.getMaxTokenLength() * 3L;
+
+        String[] elements = new String[Math.min(count, 16)];
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < count; i++) {
+            if (i == elements.length) {
+                elements = Arrays.copyOf(elements, (int) Math.min(count, elements.length * 2L));
+            }
+            final int header = readVarint(in);
+            final int value = header >>> 2;
+            if ((header & 3) == KEY) {
+                elements[i] = key(value);
+                continue;
+            }
+            if ((header & 3) != LATIN_1 && (header & 3) != UTF_8) {
+                throw new ArgsParseException("Unknown token encoding: " + (header & 3));
+            }
+            if (value > maxTokenBytes) {
+                throw new ArgsParseException("Token length exceeds limit " + limits.getMaxTokenLength());
+            }
+
+            bytes = readFully(in, bytes, value);
+            elements[i] = new String(bytes, 0, value,
+                    (header & 3) == LATIN_1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+            if (elements[i].length() > limits.getMaxTokenLength()) {
+                throw new ArgsParseException("Token length exceeds limit " + limits.getMaxTokenLength());
+            }
+        }
+        return new Args(null, elements);
+    }
+
+    /**
+     * Reads one encoded instance from the buffer without copying it.
+     * Tokens are decoded only when read, and the buffer content must not
+     * change while the returned instance is in use.
+     *
+     * @throws ArgsParseException if the data is malformed or truncated
+     */
+    Args view(ByteBuffer buffer) {
+        try {
+            checkHeader(buffer.get(), getVarint(buffer));
+            final int count = checkCount(getVarint(buffer), buffer.remaining());
+            final int[] spans = new int[count * 3];
+            for (int i = 0; i < count; i++) {
+                final int header = getVarint(buffer);
+                final int tag = header & 3;
+                final int value = header >>> 2;
+                if (tag == KEY) {
+                    key(value);
+                } else if (tag == LATIN_1 || tag == UTF_8) {
+                    if (value > buffer.remaining()) {
+                        throw new ArgsParseException("Truncated args encoding");
+                    }
+                    spans[i * 3 + 1] = buffer.position();
+                    buffer.position(buffer.position() + value);
+                } else {
+                    throw new ArgsParseException("Unknown token encoding: " + tag);
+                }
+                spans[i * 3] = tag;
+                spans[i * 3 + 2] = value;
+            }
+            return new Args(null, new EncodedTokens(buffer, spans, keys));
+        } catch (BufferUnderflowException e) {
+            throw new ArgsParseException("Truncated args encoding", e);
+        }
+    }
+
+    private void checkHeader(byte version, int dictionarySize) {
+        if (version != FORMAT_VERSION) {
+            throw new ArgsParseException("Unsupported args encoding version: " + version);
+        }
+        if (dictionarySize != keys.length) {
+            throw new ArgsParseException(String.format(
+                    "Dictionary mismatch, encoded with %d keys, codec has %d", dictionarySize, keys.length));
+        }
+    }
+
+    private static int checkCount(int count, int remaining) {
+        // every token takes at least one byte
+        if (count > remaining) {
+            throw new ArgsParseException("Truncated args encoding, tokens: " + count);
+        }
+        return count;
+    }
+
+    private String key(int id) {
+        if (id >= keys.length) {
+            throw new ArgsParseException("Unknown dictionary key id: " + id);
+        }
+        return keys[id];
+    }
+
+    private static String string(ByteBuffer buffer, int length, Charset charset) {
+        if (length > buffer.remaining()) {
+            throw new ArgsParseException("Truncated args encoding");
+        }
+        if (buffer.hasArray()) {
+            final int offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+            return new String(buffer.array(), offset, length, charset);
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    private static boolean isLatin1(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (token.charAt(i) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int utf8Length(String token) {
+        int length = 0;
+        for (int i = 0; i < token.length(); i++) {
+            final char c = token.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < token.length()
+                    && Character.isLowSurrogate(token.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // lone surrogates are encoded as '?'
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return checkVarint(value);
+            }
+        }
+        throw new ArgsParseException("Malformed varint in args encoding");
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated args encoding");
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return checkVarint(value);
+            }
+        }
+        throw new ArgsParseException("Malformed varint in args encoding");
+    }
+
+    private static int checkVarint(int value) {
+        if (value < 0) {
+            throw new ArgsParseException("Malformed varint in args encoding");
+        }
+        return value;
+    }
+
+    /**
+     * Reads {@code length} bytes, growing the buffer only as data arrives.
+     *
+     * @return the buffer holding the bytes, possibly a new one
+     */
+    private static byte[] readFully(InputStream in, byte[] bytes, int length) throws IOException {
+        int read = 0;
+        while (read < length) {
+            if (read == bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, bytes.length * 2L));
+            }
+            final int n = in.read(bytes, read, Math.min(length, bytes.length) - read);
+            if (n < 0) {
+                throw new EOFException("Truncated args encoding");
+            }
+            read += n;
+        }
+        return bytes;
+    }
+}
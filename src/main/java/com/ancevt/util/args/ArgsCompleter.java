@@ -0,0 +1,480 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Suggests completions for a partially typed command line: subcommand names,
+ * option names and values of enum-typed options and positionals.
+ * <p>
+ * Commands are described by {@link CommandSchema}s, either declared directly
+ * or derived from annotated classes. Names and enum values are indexed once
+ * per schema into sorted arrays, so a lookup is a binary search for the typed
+ * prefix and does not touch annotations. Indexes of annotated classes are
+ * cached and shared between completers. Values that are not known up front,
+ * such as file names or host names, are supplied by a {@link Provider}.
+ * <p>
+ * Enum values are suggested in lower case and matched case-insensitively,
+ * as {@link Args} accepts them in any case. A completer is immutable and can
+ * be shared between threads.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsCompleter completer = ArgsCompleter.builder()
+ *             .command("deploy", DeployCommand.class)
+ *             .command("status", StatusCommand.class)
+ *             .provider(context -&gt; hosts())
+ *             .build();
+ *
+ *     List&lt;String&gt; candidates = completer.complete("deploy --env p", 14);
+ * </pre>
+ */
+public final class ArgsCompleter {
+
+    private static final ClassValue<SchemaIndex> CLASS_INDEXES = new ClassValue<SchemaIndex>() {
+        @Override
+        protected SchemaIndex computeValue(Class<?> type) {
+            return new SchemaIndex(CommandSchema.of(type));
+        }
+    };
+
+    private final PrefixIndex commandNames;
+    private final Map<String, SchemaIndex> commands;
+    private final SchemaIndex root;
+    private final Provider provider;
+
+    private ArgsCompleter(Builder builder) {
+        commands = new HashMap<>(builder.commands);
+        commandNames = new PrefixIndex(builder.commands.keySet(), false);
+        root = builder.root;
+        provider = builder.provider;
+    }
+
+    /**
+     * Creates a new completer builder.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns completion candidates for the token at the cursor.
+     * Only the text before the cursor is taken into account.
+     *
+     * @param source command line
+     * @param cursor cursor offset in {@code source}
+     * @return candidates, possibly empty
+     * @throws ArgsParseException if the cursor is out of bounds
+     */
+    public List<String> complete(String source, int cursor) {
+        if (cursor < 0 || cursor > source.length()) {
+            throw new ArgsParseException(String.format("complete: Cursor out of bounds, cursor: %d, length: %d", cursor, source.length()));
+        }
+        return complete(new ArgsLine(source.substring(0, cursor)), cursor);
+    }
+
+    /**
+     * Returns completion candidates for the token at the cursor of an
+     * already tokenized line, e.g. one kept up to date by an interactive console.
+     *
+     * @param line   tokenized line
+     * @param cursor cursor offset in the line source
+     * @return candidates, possibly empty
+     * @throws ArgsParseException if the cursor is out of bounds
+     */
+    public List<String> complete(ArgsLine line, int cursor) {
+        final String source = line.getSource();
+        if (cursor < 0 || cursor > source.length()) {
+            throw new ArgsParseException(String.format("complete: Cursor out of bounds, cursor: %d, length: %d", cursor, source.length()));
+        }
+
+        int current = line.tokenAt(cursor);
+        String prefix;
+        if (current >= 0) {
+            ArgsLine.Token token = line.getToken(current);
+            prefix = ArgsSplitHelper.unescape(source.substring(token.getStart(), cursor));
+        } else {
+            current = 0;
+            while (current < line.size() && line.getToken(current).getEnd() < cursor) {
+                current++;
+            }
+            prefix = "";
+        }
+
+        final Set<String> result = new LinkedHashSet<>();
+        if (current == 0 && !commands.isEmpty()) {
+            commandNames.collect(prefix, result);
+            if (root != null && CommandParser.isOption(prefix)) {
+                root.optionNames.collect(prefix, result);
+            }
+            return new ArrayList<>(result);
+        }
+
+        String command = null;
+        SchemaIndex index = root;
+        int first = 0;
+        if (current > 0 && !commands.isEmpty()) {
+            SchemaIndex commandIndex = commands.get(line.getValue(0));
+            if (commandIndex != null) {
+                command = line.getValue(0);
+                index = commandIndex;
+                first = 1;
+            }
+        }
+        if (index == null) {
+            return Collections.emptyList();
+        }
+
+        CommandSchema.Option pendingOption = null;
+        boolean optionsEnded = false;
+        int positional = 0;
+        for (int i = first; i < current; i++) {
+            final String token = line.getValue(i);
+            if (pendingOption != null) {
+                pendingOption = null;
+            } else if (!optionsEnded && index.schema.isTerminator() && token.equals("--")) {
+                optionsEnded = true;
+            } else if (!optionsEnded && CommandParser.isOption(token)) {
+                if (token.indexOf('=') < 0) {
+                    CommandSchema.Option option = index.options.get(token);
+                    if (option != null && !option.isFlag()) {
+                        pendingOption = option;
+                    }
+                }
+            } else {
+                positional++;
+            }
+        }
+
+        if (pendingOption != null) {
+            completeValue(index, command, pendingOption, null, prefix, "", result);
+        } else if (!optionsEnded && prefix.startsWith("-")) {
+            final int eq = prefix.indexOf('=');
+            if (eq < 0) {
+                index.optionNames.collect(prefix, result);
+            } else {
+                CommandSchema.Option option = index.options.get(prefix.substring(0, eq));
+                if (option != null && !option.isFlag()) {
+                    completeValue(index, command, option, null, prefix.substring(eq + 1), prefix.substring(0, eq + 1), result);
+                }
+            }
+        } else if (positional < index.positionals.length) {
+            completeValue(index, command, null, index.positionals[positional], prefix, "", result);
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    private void completeValue(SchemaIndex index,
+                               String command,
+                               CommandSchema.Option option,
+                               CommandSchema.Positional positional,
+                               String prefix,
+                               String candidatePrefix,
+                               Set<String> result) {
+
+        PrefixIndex values = option != null ? index.optionValues.get(option) : index.positionalValues.get(positional);
+        if (values != null) {
+            values.collect(prefix, candidatePrefix, result);
+        }
+
+        if (provider != null) {
+            Collection<String> provided = provider.complete(new Context(command, index.schema, option, positional, prefix));
+            if (provided != null) {
+                for (String candidate : provided) {
+                    if (candidate.startsWith(prefix)) {
+                        result.add(candidatePrefix + candidate);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Supplies value candidates that cannot be derived from the schema.
+     */
+    @FunctionalInterface
+    public interface Provider {
+
+        /**
+         * Returns value candidates for the given context. Candidates not
+         * starting with {@link Context#getPrefix()} are ignored.
+         *
+         * @param context what is being completed
+         * @return candidates, may be null
+         */
+        Collection<String> complete(Context context);
+    }
+
+    /**
+     * Describes the value being completed.
+     */
+    public static final class Context {
+        private final String command;
+        private final CommandSchema schema;
+        private final CommandSchema.Option option;
+        private final CommandSchema.Positional positional;
+        private final String prefix;
+
+        Context(String command,
+                CommandSchema schema,
+                CommandSchema.Option option,
+                CommandSchema.Positional positional,
+                String prefix) {
+            this.command = command;
+            this.schema = schema;
+            this.option = option;
+            this.positional = positional;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Returns the subcommand name.
+         *
+         * @return command name, or null for the root schema
+         */
+        public String getCommand() {
+            return command;
+        }
+
+        /**
+         * Returns the schema of the completed command.
+         *
+         * @return schema
+         */
+        public CommandSchema getSchema() {
+            return schema;
+        }
+
+        /**
+         * Returns the option whose value is completed.
+         *
+         * @return option, or null if a positional is completed
+         */
+        public CommandSchema.Option getOption() {
+            return option;
+        }
+
+        /**
+         * Returns the positional argument being completed.
+         *
+         * @return positional, or null if an option value is completed
+         */
+        public CommandSchema.Positional getPositional() {
+            return positional;
+        }
+
+        /**
+         * Returns the already typed part of the value.
+         *
+         * @return prefix, may be empty
+         */
+        public String getPrefix() {
+            return prefix;
+        }
+    }
+
+    /**
+     * Builder for {@link ArgsCompleter}.
+     */
+    public static final class Builder {
+        private final Map<String, SchemaIndex> commands = new LinkedHashMap<>();
+        private SchemaIndex root;
+        private Provider provider;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a subcommand described by an annotated class.
+         *
+         * @param name command name, the first token of the line
+         * @param type annotated class, see {@link CommandSchema#of(Class)}
+         * @return this builder
+         */
+        public Builder command(String name, Class<?> type) {
+            return command(name, indexOf(type));
+        }
+
+        /**
+         * Adds a subcommand described by a schema.
+         *
+         * @param name   command name, the first token of the line
+         * @param schema command schema
+         * @return this builder
+         */
+        public Builder command(String name, CommandSchema schema) {
+            return command(name, new SchemaIndex(schema));
+        }
+
+        private Builder command(String name, SchemaIndex index) {
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("command name must not be empty");
+            }
+            if (commands.put(name, index) != null) {
+                throw new IllegalArgumentException("Duplicate command: " + name);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the schema used when the line does not start with a subcommand,
+         * or for the whole line if no subcommands are declared.
+         *
+         * @param type annotated class, see {@link CommandSchema#of(Class)}
+         * @return this builder
+         */
+        public Builder root(Class<?> type) {
+            root = indexOf(type);
+            return this;
+        }
+
+        /**
+         * Sets the schema used when the line does not start with a subcommand,
+         * or for the whole line if no subcommands are declared.
+         *
+         * @param schema command schema
+         * @return this builder
+         */
+        public Builder root(CommandSchema schema) {
+            root = new SchemaIndex(schema);
+            return this;
+        }
+
+        /**
+         * Sets the provider of additional value candidates.
+         *
+         * @param provider candidate provider
+         * @return this builder
+         */
+        public Builder provider(Provider provider) {
+            this.provider = provider;
+            return this;
+        }
+
+        /**
+         * Builds the completer.
+         *
+         * @return completer
+         */
+        public ArgsCompleter build() {
+            return new ArgsCompleter(this);
+        }
+
+        private static SchemaIndex indexOf(Class<?> type) {
+            return CLASS_INDEXES.get(type);
+        }
+    }
+
+    /**
+     * Precomputed lookup structures of one schema.
+     */
+    private static final class SchemaIndex {
+        final CommandSchema schema;
+        final Map<String, CommandSchema.Option> options = new HashMap<>();
+        final PrefixIndex optionNames;
+        final Map<CommandSchema.Option, PrefixIndex> optionValues = new HashMap<>();
+        final CommandSchema.Positional[] positionals;
+        final Map<CommandSchema.Positional, PrefixIndex> positionalValues = new HashMap<>();
+
+        SchemaIndex(CommandSchema schema) {
+            this.schema = schema;
+            for (CommandSchema.Option option : schema.options()) {
+                for (String name : option.names()) {
+                    options.put(name, option);
+                }
+                PrefixIndex values = enumValues(option.getType());
+                if (values != null) {
+                    optionValues.put(option, values);
+                }
+            }
+            optionNames = new PrefixIndex(options.keySet(), false);
+
+            positionals = schema.positionals();
+            for (CommandSchema.Positional positional : positionals) {
+                PrefixIndex values = enumValues(positional.getType());
+                if (values != null) {
+                    positionalValues.put(positional, values);
+                }
+            }
+        }
+
+        private static PrefixIndex enumValues(Class<?> type) {
+            if (!type.isEnum()) {
+                return null;
+            }
+            List<String> names = new ArrayList<>();
+            for (Object constant : type.getEnumConstants()) {
+                names.add(((Enum<?>) constant).name().toLowerCase(Locale.ROOT));
+            }
+            return new PrefixIndex(names, true);
+        }
+    }
+
+    /**
+     * Sorted array of candidates searched by prefix.
+     */
+    private static final class PrefixIndex {
+        private final String[] values;
+        private final boolean ignoreCase;
+
+        PrefixIndex(Collection<String> values, boolean ignoreCase) {
+            this.values = values.toArray(new String[0]);
+            this.ignoreCase = ignoreCase;
+            Arrays.sort(this.values);
+        }
+
+        void collect(String prefix, Set<String> result) {
+            collect(prefix, "", result);
+        }
+
+        void collect(String prefix, String candidatePrefix, Set<String> result) {
+            if (ignoreCase) {
+                prefix = prefix.toLowerCase(Locale.ROOT);
+            }
+
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (values[mid].compareTo(prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            for (int i = low; i < values.length && values[i].startsWith(prefix); i++) {
+                result.add(candidatePrefix + values[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of commands, stored in memory-mapped segment files.
+ * <p>
+ * Each entry holds the tokens of an {@link Args} instance in the
+ * {@link ArgsCodec} encoding, a timestamp and a CRC32 checksum. Appending
+ * encodes the tokens straight into the mapped segment, without building
+ * a source string or re-tokenizing on replay. When a segment is full, a new
+ * one is created. Entries are written to the page cache only; call
+ * {@link #flush()} to force them to the storage device. Segments written
+ * by the journal are unmapped as soon as they are complete or the journal
+ * is closed, so their files can be deleted or moved right away.
+ * <p>
+ * Segment files are named after their index, e.g.
+ * {@code 0000000000000000.argsj}. Other files in the directory are ignored.
+ * Segment layout: a 4-byte magic number, then entries of
+ * {@code [int length][int crc32][long timestamp][payload]}. The checksum covers
+ * the timestamp and the payload. A zero length marks the end of the written
+ * part. When a journal is opened, the last segment is scanned up to the first
+ * missing or damaged entry and appending continues from there.
+ * <p>
+ * {@link #replay(Path, EntryHandler)} reads the segments back, and
+ * {@link #replayParallel(Path, ArgsCodec, EntryHandler, Executor)} reads several
+ * segments at once. Replayed instances are views over the mapped files:
+ * tokens are decoded only when read.
+ * <p>
+ * Appending is thread-safe.
+ * <p>
+ * Example:
+ * <pre>
+ *     try (ArgsJournal journal = new ArgsJournal(Paths.get("journal"))) {
+ *         journal.append(args);
+ *     }
+ *
+ *     ArgsJournal.replay(Paths.get("journal"), (timestamp, args) -&gt; handle(args));
+ * </pre>
+ */
+public class ArgsJournal implements Closeable {
+
+    /**
+     * Default segment size, 64 MiB.
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int MAGIC = 0x41524A31;
+    private static final int ENTRY_HEADER_SIZE = 16;
+    private static final String SEGMENT_SUFFIX = ".argsj";
+    private static final int SEGMENT_DIGITS = 16;
+    private static final Consumer<ByteBuffer> UNMAPPER = unmapper();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ArgsCodec codec;
+    private final CRC32 crc = new CRC32();
+    private MappedByteBuffer segment;
+    private long segmentIndex;
+    private boolean closed;
+
+    /**
+     * Opens or creates a journal with default segment size and codec.
+     *
+     * @param directory journal directory, created if missing
+     * @throws IOException if the journal cannot be opened
+     */
+    public ArgsJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, ArgsCodec.DEFAULT);
+    }
+
+    /**
+     * Opens or creates a journal.
+     *
+     * @param directory   journal directory, created if missing
+     * @param segmentSize size of segment files in bytes, which also limits the entry size
+     * @param codec       codec used to encode entries; replay must use the same codec
+     * @throws IOException if the journal cannot be opened
+     */
+    public ArgsJournal(Path directory, int segmentSize, ArgsCodec codec) throws IOException {
+        if (segmentSize < 64) {
+            throw new IllegalArgumentException("segmentSize must be at least 64 bytes: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.codec = codec;
+
+        Files.createDirectories(directory);
+        final List<Path> segments = segments(directory);
+        if (segments.isEmpty()) {
+            open(0);
+        } else {
+            final Path last = segments.get(segments.size() - 1);
+            segmentIndex = indexOf(last);
+            segment = map(last, FileChannel.MapMode.READ_WRITE, 0);
+            try {
+                checkMagic(segment, last);
+            } catch (IOException e) {
+                UNMAPPER.accept(segment);
+                throw e;
+            }
+            recover();
+        }
+    }
+
+    /**
+     * Appends the elements of {@code args} with the current time.
+     *
+     * @param args arguments
+     * @throws IOException        if a new segment cannot be created
+     * @throws ArgsParseException if the entry is larger than a segment
+     */
+    public void append(Args args) throws IOException {
+        append(args, System.currentTimeMillis());
+    }
+
+    /**
+     * Appends the elements of {@code args}.
+     *
+     * @param args      arguments
+     * @param timestamp entry timestamp, e.g. milliseconds since the epoch
+     * @throws IOException        if a new segment cannot be created
+     * @throws ArgsParseException if the entry is larger than a segment
+     */
+    public synchronized void append(Args args, long timestamp) throws IOException {
+        if (closed) {
+            throw new IOException("Journal is closed");
+        }
+
+        final String[] elements = args.getElements();
+        final int payloadSize = codec.encodedSize(elements);
+        final int entrySize = ENTRY_HEADER_SIZE + payloadSize;
+        // keep room for the zero length that terminates the segment
+        if (entrySize + 4 > segmentSize - 4) {
+            throw new ArgsParseException(String.format("Journal entry of %d bytes exceeds segment size %d", entrySize, segmentSize));
+        }
+        if (segment.remaining() < entrySize + 4) {
+            open(segmentIndex + 1);
+        }
+
+        final int position = segment.position();
+        segment.putLong(position + 8, timestamp);
+        segment.position(position + ENTRY_HEADER_SIZE);
+        codec.write(elements, segment);
+
+        final ByteBuffer checked = segment.duplicate();
+        checked.limit(position + entrySize).position(position + 8);
+        crc.reset();
+        crc.update(checked);
+        segment.putInt(position + 4, (int) crc.getValue());
+        // the length is written last, it marks the entry as complete
+        segment.putInt(position, payloadSize);
+    }
+
+    /**
+     * Forces appended entries of the current segment to the storage device.
+     */
+    public synchronized void flush() {
+        if (!closed) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Flushes and closes the journal.
+     */
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            segment.force();
+            closed = true;
+            UNMAPPER.accept(segment);
+            segment = null;
+        }
+    }
+
+    private void open(long index) throws IOException {
+        if (segment != null) {
+            segment.force();
+            UNMAPPER.accept(segment);
+            segment = null;
+        }
+        final Path path = directory.resolve(String.format("%0" + SEGMENT_DIGITS + "d%s", index, SEGMENT_SUFFIX));
+        segment = map(path, FileChannel.MapMode.READ_WRITE, segmentSize);
+        segment.putInt(0, MAGIC);
+        segment.position(4);
+        segmentIndex = index;
+    }
+
+    /**
+     * Moves to the end of the valid entries of the last segment and clears
+     * whatever follows a damaged entry.
+     */
+    private void recover() {
+        segment.position(4);
+        final int end = validEnd(segment, crc);
+        segment.position(end);
+        if (end + 4 <= segment.limit() && segment.getInt(end) != 0) {
+            for (int i = end; i < segment.limit(); i++) {
+                segment.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * Returns the position after the last valid entry, starting at the buffer position.
+     */
+    private static int validEnd(ByteBuffer buffer, CRC32 crc) {
+        int position = buffer.position();
+        while (position + ENTRY_HEADER_SIZE <= buffer.limit()) {
+            final int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.limit() - position - ENTRY_HEADER_SIZE) {
+                break;
+            }
+            final ByteBuffer checked = buffer.duplicate();
+            checked.limit(position + ENTRY_HEADER_SIZE + length).position(position + 8);
+            crc.reset();
+            crc.update(checked);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            position += ENTRY_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    /**
+     * Handles one replayed entry.
+     */
+    @FunctionalInterface
+    public interface EntryHandler {
+
+        /**
+         * Handles an entry. The {@code args} instance is a view over the mapped
+         * segment and must not be used once the segment file is deleted.
+         *
+         * @param timestamp entry timestamp
+         * @param args      entry arguments
+         */
+        void handle(long timestamp, Args args);
+    }
+
+    /**
+     * Replays all entries in order using the default codec.
+     *
+     * @param directory journal directory
+     * @param handler   entry handler
+     * @return number of replayed entries
+     * @throws IOException if a segment cannot be read
+     */
+    public static long replay(Path directory, EntryHandler handler) throws IOException {
+        return replay(directory, ArgsCodec.DEFAULT, handler);
+    }
+
+    /**
+     * Replays all entries in order.
+     *
+     * @param directory journal directory
+     * @param codec     codec the entries were written with
+     * @param handler   entry handler
+     * @return number of replayed entries
+     * @throws IOException if a segment cannot be read
+     */
+    public static long replay(Path directory, ArgsCodec codec, EntryHandler handler) throws IOException {
+        long count = 0;
+        for (Path path : segments(directory)) {
+            count += replaySegment(path, codec, handler);
+        }
+        return count;
+    }
+
+    /**
+     * Replays segments concurrently on the common fork-join pool.
+     *
+     * @param directory journal directory
+     * @param codec     codec the entries were written with
+     * @param handler   thread-safe entry handler
+     * @return number of replayed entries
+     * @throws IOException if a segment cannot be read
+     * @see #replayParallel(Path, ArgsCodec, EntryHandler, Executor)
+     */
+    public static long replayParallel(Path directory, ArgsCodec codec, EntryHandler handler) throws IOException {
+        return replayParallel(directory, codec, handler, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Replays segments concurrently. Entries of one segment are handled in order
+     * on one thread, entries of different segments in no particular order.
+     *
+     * @param directory journal directory
+     * @param codec     codec the entries were written with
+     * @param handler   thread-safe entry handler
+     * @param executor  executor running one task per segment
+     * @return number of replayed entries
+     * @throws IOException if a segment cannot be read
+     */
+    public static long replayParallel(Path directory,
+                                      ArgsCodec codec,
+                                      EntryHandler handler,
+                                      Executor executor) throws IOException {
+
+        final LongAdder count = new LongAdder();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (Path path : segments(directory)) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    count.add(replaySegment(path, codec, handler));
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+        return count.sum();
+    }
+
+    private static long replaySegment(Path path, ArgsCodec codec, EntryHandler handler) throws IOException {
+        final MappedByteBuffer buffer = map(path, FileChannel.MapMode.READ_ONLY, 0);
+        checkMagic(buffer, path);
+        buffer.position(4);
+
+        final int end = validEnd(buffer, new CRC32());
+        long count = 0;
+        int position = 4;
+        while (position < end) {
+            final int length = buffer.getInt(position);
+            final long timestamp = buffer.getLong(position + 8);
+            final ByteBuffer payload = buffer.duplicate();
+            payload.limit(position + ENTRY_HEADER_SIZE + length).position(position + ENTRY_HEADER_SIZE);
+            handler.handle(timestamp, codec.view(payload));
+            position += ENTRY_HEADER_SIZE + length;
+            count++;
+        }
+        return count;
+    }
+
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, int size) throws IOException {
+        final boolean write = mode == FileChannel.MapMode.READ_WRITE;
+        try (FileChannel channel = write
+                ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ)) {
+            final long length = Math.max(channel.size(), size);
+            return channel.map(mode, 0, length);
+        }
+    }
+
+    private static void checkMagic(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.limit() < 4 || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a journal segment: " + path);
+        }
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        final List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return result;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                if (indexOf(path) >= 0) {
+                    result.add(path);
+                }
+            }
+        }
+        // names have a fixed number of digits, so they sort by index
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the index of a segment file, or -1 if the name is not a segment name.
+     */
+    private static long indexOf(Path segment) {
+        final String name = segment.getFileName().toString();
+        if (name.length() != SEGMENT_DIGITS + SEGMENT_SUFFIX.length() || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        long index = 0;
+        for (int i = 0; i < SEGMENT_DIGITS; i++) {
+            final char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * Finds a way to unmap a buffer before it is collected: {@code Unsafe.invokeCleaner}
+     * on Java 9 and later, the buffer's cleaner on Java 8. If neither is available,
+     * buffers stay mapped until they are collected.
+     */
+    private static Consumer<ByteBuffer> unmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            final Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeQuietly(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8
+        }
+        try {
+            final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                final Object target = invokeQuietly(cleaner, buffer);
+                if (target != null) {
+                    invokeQuietly(clean, target);
+                }
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return buffer -> {
+            };
+        }
+    }
+
+    private static Object invokeQuietly(Method method, Object target, Object... arguments) {
+        try {
+            return method.invoke(target, arguments);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the buffer stays mapped until it is collected
+            return null;
+        }
+    }
+}
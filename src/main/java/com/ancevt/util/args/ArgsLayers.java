@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Merges command line arguments with other configuration sources, such as
+ * environment variables, system properties and properties files, into a
+ * single {@link Args} instance.
+ * <p>
+ * Layers are listed from the highest precedence to the lowest: a setting is
+ * taken from the first layer that defines it. Names of non-{@code Args} layers
+ * are mapped to option names, so {@code DB_URL} and {@code db.url} both become
+ * {@code --db-url}, see {@link #optionName(String)}.
+ * <p>
+ * The merge happens once, in {@link Builder#build()}. The result keeps the
+ * command line tokens first, followed by one {@code --name=value} token per
+ * setting taken from the other layers, and indexes every key to the token of
+ * the highest layer defining it, so
+ * {@link Args#get(Class, String)}, {@link Args#contains(String...)} and
+ * {@link com.ancevt.util.args.reflection.ArgsBinder} do not scan the tokens
+ * however many layers there are. Positional indexes of the command line
+ * are preserved. Every token also keeps the precedence of its layer, see
+ * {@link ArgsMatch#getLayer()}, so option aliases are resolved by layer
+ * rather than by token position.
+ * <p>
+ * Layers stay apart: an option at the end of one layer has no value rather
+ * than taking the first token of the next layer, and only the first
+ * {@code Args} layer supplies positional arguments.
+ * <p>
+ * Example:
+ * <pre>
+ *     Args args = ArgsLayers.builder()
+ *             .args(Args.parse(argv))
+ *             .environment("APP_")
+ *             .systemProperties("app.")
+ *             .properties(Paths.get("app.properties"))
+ *             .build();
+ *
+ *     String url = args.get("--db-url");
+ * </pre>
+ */
+public final class ArgsLayers {
+
+    private ArgsLayers() {
+    }
+
+    /**
+     * Creates a new layer stack builder.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Maps a configuration name to an option name: the name is lower-cased,
+     * {@code _} and {@code .} become {@code -}, and {@code --} is prepended.
+     * For example {@code DB_URL} and {@code db.url} both map to {@code --db-url}.
+     *
+     * @param name environment variable or property name
+     * @return option name
+     */
+    public static String optionName(String name) {
+        return "--" + name.toLowerCase(Locale.ROOT).replace('_', '-').replace('.', '-');
+    }
+
+    /**
+     * Builder of a layer stack. Layers are added from the highest precedence
+     * to the lowest.
+     */
+    public static final class Builder {
+        private final List<Object> layers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds parsed command line arguments.
+         *
+         * @param args arguments
+         * @return this builder
+         */
+        public Builder args(Args args) {
+            layers.add(args);
+            return this;
+        }
+
+        /**
+         * Adds all environment variables.
+         *
+         * @return this builder
+         */
+        public Builder environment() {
+            return environment("");
+        }
+
+        /**
+         * Adds environment variables starting with the given prefix.
+         * The prefix is removed before mapping, so with prefix {@code APP_}
+         * the variable {@code APP_DB_URL} becomes {@code --db-url}.
+         *
+         * @param prefix variable name prefix
+         * @return this builder
+         */
+        public Builder environment(String prefix) {
+            return layer(new TreeMap<>(System.getenv()), prefixed(prefix));
+        }
+
+        /**
+         * Adds all system properties.
+         *
+         * @return this builder
+         */
+        public Builder systemProperties() {
+            return systemProperties("");
+        }
+
+        /**
+         * Adds system properties starting with the given prefix.
+         * The prefix is removed before mapping.
+         *
+         * @param prefix property name prefix
+         * @return this builder
+         */
+        public Builder systemProperties(String prefix) {
+            return properties(System.getProperties(), prefix);
+        }
+
+        /**
+         * Adds properties.
+         *
+         * @param properties properties
+         * @return this builder
+         */
+        public Builder properties(Properties properties) {
+            return properties(properties, "");
+        }
+
+        /**
+         * Adds properties starting with the given prefix.
+         * The prefix is removed before mapping.
+         *
+         * @param properties properties
+         * @param prefix     property name prefix
+         * @return this builder
+         */
+        public Builder properties(Properties properties, String prefix) {
+            final Map<String, String> values = new TreeMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                values.put(name, properties.getProperty(name));
+            }
+            return layer(values, prefixed(prefix));
+        }
+
+        /**
+         * Adds properties read from a UTF-8 properties file.
+         *
+         * @param path properties file
+         * @return this builder
+         * @throws IOException if the file cannot be read
+         */
+        public Builder properties(Path path) throws IOException {
+            final Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            return properties(properties);
+        }
+
+        /**
+         * Adds a layer of named values with a custom name mapping. Tokens of
+         * the layer follow the iteration order of the map.
+         *
+         * @param values     values by source name
+         * @param nameMapper maps a source name to an option name, or to null
+         *                   to skip the value
+         * @return this builder
+         */
+        public Builder layer(Map<String, String> values, Function<String, String> nameMapper) {
+            final Map<String, String> mapped = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                final String name = nameMapper.apply(entry.getKey());
+                if (name != null && entry.getValue() != null) {
+                    final String previous = mapped.putIfAbsent(name, entry.getValue());
+                    if (previous != null && !previous.equals(entry.getValue())) {
+                        throw new ArgsParseException("Conflicting values for " + name + " in one layer");
+                    }
+                }
+            }
+            layers.add(Collections.unmodifiableMap(mapped));
+            return this;
+        }
+
+        /**
+         * Merges the layers into an indexed {@link Args} instance.
+         *
+         * @return merged arguments
+         */
+        @SuppressWarnings("unchecked")
+        public Args build() {
+            // storage keeps the tokens of Args layers first, so the first of
+            // them supplies positionals; each stored layer keeps its rank
+            final List<String> elements = new ArrayList<>();
+            final int[] offsets = new int[layers.size()];
+            final int[] layerEnds = new int[layers.size()];
+            final int[] ranks = new int[layers.size()];
+            int stored = 0;
+            int positionals = -1;
+            for (int i = 0; i < layers.size(); i++) {
+                final Object layer = layers.get(i);
+                if (layer instanceof Args) {
+                    offsets[i] = elements.size();
+                    for (String token : (Args) layer) {
+                        elements.add(token);
+                    }
+                    if (positionals < 0) {
+                        positionals = elements.size();
+                    }
+                    layerEnds[stored] = elements.size();
+                    ranks[stored++] = i;
+                }
+            }
+
+            // keys are registered in precedence order, so the index points
+            // to the token of the highest layer defining a key
+            final Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < layers.size(); i++) {
+                final Object layer = layers.get(i);
+                if (layer instanceof Args) {
+                    final int size = ((Args) layer).size();
+                    for (int j = 0; j < size; j++) {
+                        IndexedTokens.register(index, elements.get(offsets[i] + j), offsets[i] + j);
+                    }
+                } else {
+                    for (Map.Entry<String, String> entry : ((Map<String, String>) layer).entrySet()) {
+                        if (!index.containsKey(entry.getKey())) {
+                            final String token = entry.getKey() + "=" + entry.getValue();
+                            IndexedTokens.register(index, token, elements.size());
+                            elements.add(token);
+                        }
+                    }
+                    layerEnds[stored] = elements.size();
+                    ranks[stored++] = i;
+                }
+            }
+
+            return new Args(null, new IndexedTokens(elements.toArray(new String[0]), index,
+                    layerEnds, ranks, Math.max(positionals, 0)));
+        }
+
+        private static Function<String, String> prefixed(String prefix) {
+            return name -> name.startsWith(prefix) && name.length() > prefix.length()
+                    ? optionName(name.substring(prefix.length()))
+                    : null;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+/**
+ * Limits applied while parsing untrusted input.
+ * <p>
+ * Limits are checked inside the tokenizer loop, so parsing fails with
+ * {@link ArgsParseException} as soon as one is crossed, before the rest of the
+ * input is scanned or copied. The source length is checked before
+ * tokenizing starts.
+ * <p>
+ * The same instance carries per-call parsing options: strict quotes, and
+ * diagnostics, which record token offsets so errors point at the
+ * offending token.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsLimits limits = ArgsLimits.builder()
+ *             .maxSourceLength(4096)
+ *             .maxTokens(64)
+ *             .maxTokenLength(256)
+ *             .maxListElements(32)
+ *             .strictQuotes(true)
+ *             .build();
+ *
+ *     Args args = Args.parseLimited(line, limits);
+ * </pre>
+ */
+public final class ArgsLimits {
+
+    /**
+     * No limits, the default for {@link Args#parse(String)}.
+     */
+    public static final ArgsLimits NONE = builder().build();
+
+    private final int maxSourceLength;
+    private final int maxTokens;
+    private final int maxTokenLength;
+    private final int maxListElements;
+    private final boolean strictQuotes;
+    private final boolean diagnostics;
+
+    private ArgsLimits(Builder builder) {
+        maxSourceLength = builder.maxSourceLength;
+        maxTokens = builder.maxTokens;
+        maxTokenLength = builder.maxTokenLength;
+        maxListElements = builder.maxListElements;
+        strictQuotes = builder.strictQuotes;
+        diagnostics = builder.diagnostics;
+    }
+
+    /**
+     * Creates a new builder without limits.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the maximum source length in characters.
+     *
+     * @return maximum source length
+     */
+    public int getMaxSourceLength() {
+        return maxSourceLength;
+    }
+
+    /**
+     * Returns the maximum number of tokens.
+     *
+     * @return maximum token count
+     */
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Returns the maximum length of a token after quotes and escapes are removed.
+     *
+     * @return maximum token length
+     */
+    public int getMaxTokenLength() {
+        return maxTokenLength;
+    }
+
+    /**
+     * Returns the maximum number of elements when a value is converted to a
+     * {@link java.util.List} or {@link java.util.Set}.
+     *
+     * @return maximum list elements
+     */
+    public int getMaxListElements() {
+        return maxListElements;
+    }
+
+    /**
+     * Checks whether an unterminated quote is an error rather than quoting
+     * the rest of the input.
+     *
+     * @return true if quotes must be closed
+     */
+    public boolean isStrictQuotes() {
+        return strictQuotes;
+    }
+
+    /**
+     * Checks whether the source offsets of every token are recorded, see
+     * {@link Builder#diagnostics(boolean)}.
+     *
+     * @return true if token offsets are recorded
+     */
+    public boolean isDiagnostics() {
+        return diagnostics;
+    }
+
+    /**
+     * Builder for {@link ArgsLimits}. All limits are unbounded by default.
+     */
+    public static final class Builder {
+        private int maxSourceLength = Integer.MAX_VALUE;
+        private int maxTokens = Integer.MAX_VALUE;
+        private int maxTokenLength = Integer.MAX_VALUE;
+        private int maxListElements = Integer.MAX_VALUE;
+        private boolean strictQuotes;
+        private boolean diagnostics;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum source length in characters.
+         *
+         * @param maxSourceLength positive limit
+         * @return this builder
+         */
+        public Builder maxSourceLength(int maxSourceLength) {
+            this.maxSourceLength = positive(maxSourceLength, "maxSourceLength");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tokens.
+         *
+         * @param maxTokens positive limit
+         * @return this builder
+         */
+        public Builder maxTokens(int maxTokens) {
+            this.maxTokens = positive(maxTokens, "maxTokens");
+            return this;
+        }
+
+        /**
+         * Sets the maximum length of a token after quotes and escapes are removed.
+         *
+         * @param maxTokenLength positive limit
+         * @return this builder
+         */
+        public Builder maxTokenLength(int maxTokenLength) {
+            this.maxTokenLength = positive(maxTokenLength, "maxTokenLength");
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of elements of a converted list or set.
+         *
+         * @param maxListElements positive limit
+         * @return this builder
+         */
+        public Builder maxListElements(int maxListElements) {
+            this.maxListElements = positive(maxListElements, "maxListElements");
+            return this;
+        }
+
+        /**
+         * Sets whether an unterminated quote is an error.
+         *
+         * @param strictQuotes true to reject unterminated quotes
+         * @return this builder
+         */
+        public Builder strictQuotes(boolean strictQuotes) {
+            this.strictQuotes = strictQuotes;
+            return this;
+        }
+
+        /**
+         * Sets whether the source offsets of every token are recorded, so
+         * parse errors can point at the offending token with
+         * {@link ArgsParseException#getExcerpt()}. Only sources parsed with
+         * these limits are affected.
+         * <p>
+         * Disabled by default: no offsets are recorded and errors carry only
+         * their message.
+         *
+         * @param diagnostics true to record token offsets
+         * @return this builder
+         */
+        public Builder diagnostics(boolean diagnostics) {
+            this.diagnostics = diagnostics;
+            return this;
+        }
+
+        /**
+         * Builds the limits.
+         *
+         * @return limits
+         */
+        public ArgsLimits build() {
+            return new ArgsLimits(this);
+        }
+
+        private static int positive(int value, String name) {
+            if (value <= 0) {
+                throw new IllegalArgumentException(name + " must be positive: " + value);
+            }
+            return value;
+        }
+    }
+}
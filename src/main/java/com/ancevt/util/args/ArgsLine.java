@@ -0,0 +1,391 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.Arrays;
+
+import static java.lang.String.format;
+
+/**
+ * Position-aware tokenization of a single command line that is edited in place,
+ * for example in an interactive console with highlighting and validation.
+ * <p>
+ * Each token records its raw start and end offsets in the source, whether it
+ * contains quoted text and whether the line ended inside an open quote.
+ * {@link #edit(int, int, String)} re-tokenizes only the tokens touched by the
+ * edit: scanning resumes at the first affected token and stops as soon as it
+ * reaches a token that starts in the unchanged part of the line. The tokens
+ * after it are kept and only shifted, so the cost of a keystroke follows the
+ * size of the edit rather than the length of the line. Opening or closing a
+ * quote is the exception, because it changes how the rest of the line splits.
+ * <p>
+ * Tokenizing rules are the same as in {@link Args#parse(String)}.
+ * Instances are not thread-safe.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsLine line = new ArgsLine("say hello");
+ *     line.edit(9, 0, " \"world");
+ *     line.getToken(2).isUnterminated(); // true
+ *     Args args = line.toArgs();
+ * </pre>
+ */
+public class ArgsLine {
+
+    private final char delimiterChar;
+    private final StringBuilder buffer = new StringBuilder();
+    private final int[] span = new int[3];
+    private String source;
+    private String[] values = new String[8];
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int[] flags = new int[8];
+    private String[] pendingValues = new String[8];
+    private int[] pendingStarts = new int[8];
+    private int[] pendingEnds = new int[8];
+    private int[] pendingFlags = new int[8];
+    private int count;
+    private boolean unterminated;
+
+    /**
+     * Creates a line split on whitespace.
+     *
+     * @param source initial line content
+     */
+    public ArgsLine(String source) {
+        this(source, '\0');
+    }
+
+    /**
+     * Creates a line split on the given delimiter.
+     *
+     * @param source        initial line content
+     * @param delimiterChar delimiter character, {@code '\0'} for whitespace
+     */
+    public ArgsLine(String source, char delimiterChar) {
+        if (source == null) {
+            throw new IllegalArgumentException("source must not be null");
+        }
+        this.source = source;
+        this.delimiterChar = delimiterChar;
+        retokenize(0, 0, 0);
+    }
+
+    /**
+     * Replaces {@code removedLength} characters at {@code offset} with
+     * {@code inserted} and re-tokenizes the affected part of the line.
+     *
+     * @param offset        edit offset in the current source
+     * @param removedLength number of removed characters
+     * @param inserted      inserted text, may be empty
+     * @throws ArgsParseException if the edited range is out of bounds
+     */
+    public void edit(int offset, int removedLength, String inserted) {
+        if (offset < 0 || removedLength < 0 || offset + removedLength > source.length()) {
+            throw new ArgsParseException(format("edit: Range out of bounds, offset: %d, removed: %d, length: %d",
+                    offset, removedLength, source.length()));
+        }
+        if (inserted == null) {
+            inserted = "";
+        }
+
+        source = source.substring(0, offset) + inserted + source.substring(offset + removedLength);
+        retokenize(offset, offset + removedLength, inserted.length() - removedLength);
+    }
+
+    /**
+     * Re-tokenizes after the old range {@code [editStart, editEnd)} was replaced
+     * and the text after it moved by {@code delta}.
+     * <p>
+     * Scanning replaces tokens from the first one that ends at or after the
+     * edit, since text typed right next to a token extends it. It stops at the first new
+     * token that starts where an old token from the unchanged tail now starts:
+     * the scanner carries no state between tokens, so everything from there on
+     * splits exactly as before.
+     */
+    private void retokenize(int editStart, int editEnd, int delta) {
+        int first = 0;
+        while (first < count && ends[first] < editStart) {
+            first++;
+        }
+        // the previous token ends before the edit, on a delimiter that is still there
+        int position = first > 0 ? ends[first - 1] : 0;
+
+        int scanned = 0;
+        int old = first;
+        int resume = count;
+        boolean lineUnterminated = false;
+        while (true) {
+            buffer.setLength(0);
+            position = ArgsSplitHelper.nextToken(source, position, delimiterChar, buffer, span);
+            if (position < 0) {
+                lineUnterminated = (span[ArgsSplitHelper.SPAN_FLAGS] & ArgsSplitHelper.UNTERMINATED) != 0;
+                break;
+            }
+
+            final int start = span[ArgsSplitHelper.SPAN_START];
+            while (old < count && starts[old] + delta < start) {
+                old++;
+            }
+            if (old < count && starts[old] >= editEnd && starts[old] + delta == start) {
+                resume = old;
+                lineUnterminated = unterminated;
+                break;
+            }
+
+            pending(scanned++, buffer.toString(), start, span[ArgsSplitHelper.SPAN_END], span[ArgsSplitHelper.SPAN_FLAGS]);
+            if ((span[ArgsSplitHelper.SPAN_FLAGS] & ArgsSplitHelper.UNTERMINATED) != 0) {
+                lineUnterminated = true;
+                break;
+            }
+        }
+
+        splice(first, resume, scanned, delta);
+        unterminated = lineUnterminated;
+    }
+
+    private void pending(int index, String value, int start, int end, int tokenFlags) {
+        if (index == pendingValues.length) {
+            final int newLength = index * 2;
+            pendingValues = Arrays.copyOf(pendingValues, newLength);
+            pendingStarts = Arrays.copyOf(pendingStarts, newLength);
+            pendingEnds = Arrays.copyOf(pendingEnds, newLength);
+            pendingFlags = Arrays.copyOf(pendingFlags, newLength);
+        }
+        pendingValues[index] = value;
+        pendingStarts[index] = start;
+        pendingEnds[index] = end;
+        pendingFlags[index] = tokenFlags;
+    }
+
+    /**
+     * Replaces tokens {@code [first, resume)} with {@code scanned} pending tokens
+     * and shifts the kept tail by {@code delta}.
+     */
+    private void splice(int first, int resume, int scanned, int delta) {
+        final int tail = count - resume;
+        final int newCount = first + scanned + tail;
+        ensureCapacity(newCount);
+
+        final int to = first + scanned;
+        if (tail > 0 && to != resume) {
+            System.arraycopy(values, resume, values, to, tail);
+            System.arraycopy(starts, resume, starts, to, tail);
+            System.arraycopy(ends, resume, ends, to, tail);
+            System.arraycopy(flags, resume, flags, to, tail);
+        }
+        if (delta != 0) {
+            for (int i = to; i < newCount; i++) {
+                starts[i] += delta;
+                ends[i] += delta;
+            }
+        }
+
+        System.arraycopy(pendingValues, 0, values, first, scanned);
+        System.arraycopy(pendingStarts, 0, starts, first, scanned);
+        System.arraycopy(pendingEnds, 0, ends, first, scanned);
+        System.arraycopy(pendingFlags, 0, flags, first, scanned);
+        for (int i = newCount; i < count; i++) {
+            values[i] = null;
+        }
+        Arrays.fill(pendingValues, 0, scanned, null);
+        count = newCount;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > values.length) {
+            final int newLength = Math.max(capacity, values.length * 2);
+            values = Arrays.copyOf(values, newLength);
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            flags = Arrays.copyOf(flags, newLength);
+        }
+    }
+
+    /**
+     * Returns the current line content.
+     *
+     * @return source string
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of tokens.
+     *
+     * @return token count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the token at the given index.
+     *
+     * @param index token index
+     * @return token description
+     * @throws ArgsParseException if the index is out of bounds
+     */
+    public Token getToken(int index) {
+        if (index < 0 || index >= count) {
+            throw new ArgsParseException(format("getToken: Index out of bounds, index: %d, tokens: %d", index, count));
+        }
+        return new Token(values[index], starts[index], ends[index], flags[index]);
+    }
+
+    /**
+     * Returns the unescaped value of the token at the given index.
+     *
+     * @param index token index
+     * @return token value
+     * @throws ArgsParseException if the index is out of bounds
+     */
+    public String getValue(int index) {
+        return getToken(index).getValue();
+    }
+
+    /**
+     * Returns the index of the token containing the given offset, including
+     * an offset right after its last character, e.g. a cursor at the end of a word.
+     *
+     * @param offset offset in the source
+     * @return token index, or -1 if the offset is between tokens
+     */
+    public int tokenAt(int offset) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (ends[mid] < offset) {
+                low = mid + 1;
+            } else if (starts[mid] > offset) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the line ends inside an open quote.
+     *
+     * @return true if a quote is not closed
+     */
+    public boolean isUnterminated() {
+        return unterminated;
+    }
+
+    /**
+     * Creates an {@link Args} instance over the current token values.
+     *
+     * @return Args instance
+     */
+    public Args toArgs() {
+        return toArgs(false);
+    }
+
+    /**
+     * Creates an {@link Args} instance over the current token values. With
+     * diagnostics, the instance keeps the token offsets of this line, as
+     * {@link ArgsLimits.Builder#diagnostics(boolean)} does for parsed sources.
+     *
+     * @param diagnostics true to keep token offsets
+     * @return Args instance
+     */
+    public Args toArgs(boolean diagnostics) {
+        final String[] elements = Arrays.copyOf(values, count);
+        if (!diagnostics) {
+            return new Args(source, elements);
+        }
+        final int[] offsets = new int[count * 2];
+        for (int i = 0; i < count; i++) {
+            offsets[i * 2] = starts[i];
+            offsets[i * 2 + 1] = ends[i];
+        }
+        return new Args(source, new SpannedTokens(source, elements, offsets));
+    }
+
+    /**
+     * A token of an {@link ArgsLine} with its raw position in the source.
+     */
+    public static final class Token {
+        private final String value;
+        private final int start;
+        private final int end;
+        private final int flags;
+
+        Token(String value, int start, int end, int flags) {
+            this.value = value;
+            this.start = start;
+            this.end = end;
+            this.flags = flags;
+        }
+
+        /**
+         * Returns the token value with quotes and escapes removed.
+         *
+         * @return token value
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Returns the offset of the first raw character of the token.
+         *
+         * @return start offset, inclusive
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the offset right after the last raw character of the token.
+         *
+         * @return end offset, exclusive
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * Checks whether the token contains quoted text.
+         *
+         * @return true if quoted
+         */
+        public boolean isQuoted() {
+            return (flags & ArgsSplitHelper.QUOTED) != 0;
+        }
+
+        /**
+         * Checks whether the token runs to the end of the line inside an open quote.
+         *
+         * @return true if the quote is not closed
+         */
+        public boolean isUnterminated() {
+            return (flags & ArgsSplitHelper.UNTERMINATED) != 0;
+        }
+
+        @Override
+        public String toString() {
+            return value + "[" + start + ", " + end + ")";
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+/**
+ * Result of {@link Args#match(String...)}: the matched key, the position of
+ * the matching element and the raw value found for it.
+ * <p>
+ * The value is resolved when the match is made, so typed reads only convert
+ * it. Instances are immutable.
+ */
+public final class ArgsMatch {
+
+    static final ArgsMatch NONE = new ArgsMatch(null, -1, null, false, -1, ArgsLimits.NONE);
+
+    private final String key;
+    private final int index;
+    private final String value;
+    private final boolean inline;
+    private final int layer;
+    private final ArgsLimits limits;
+
+    ArgsMatch(String key, int index, String value, boolean inline, int layer, ArgsLimits limits) {
+        this.key = key;
+        this.index = index;
+        this.value = value;
+        this.inline = inline;
+        this.layer = layer;
+        this.limits = limits;
+    }
+
+    /**
+     * Checks whether any of the keys was found.
+     *
+     * @return true if present
+     */
+    public boolean isPresent() {
+        return key != null;
+    }
+
+    /**
+     * Returns the matched key.
+     *
+     * @return key or null if not present
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the index of the matching element.
+     *
+     * @return element index or -1 if not present
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the precedence of the layer the matching element comes from,
+     * 0 for the highest. Only arguments merged by {@link ArgsLayers} have
+     * more than one layer.
+     *
+     * @return layer precedence or -1 if not present
+     */
+    public int getLayer() {
+        return layer;
+    }
+
+    /**
+     * Checks whether the value was given in {@code key=value} form
+     * rather than as the following element.
+     *
+     * @return true for {@code key=value}
+     */
+    public boolean isInline() {
+        return inline;
+    }
+
+    /**
+     * Returns the raw value of the key.
+     *
+     * @return value or null if the key is absent or has no value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the value converted to the given type.
+     *
+     * @param type target type
+     * @param <T>  type parameter
+     * @return converted value or null if there is no value
+     * @throws ArgsParseException if the type is not supported or a list limit is exceeded
+     */
+    public <T> T get(Class<T> type) {
+        return get(type, null);
+    }
+
+    /**
+     * Returns the value converted to the given type, or a default if there is no value.
+     *
+     * @param type         target type
+     * @param defaultValue fallback value
+     * @param <T>          type parameter
+     * @return converted value or defaultValue
+     * @throws ArgsParseException if the type is not supported or a list limit is exceeded
+     */
+    public <T> T get(Class<T> type, T defaultValue) {
+        return value != null ? Args.convertToType(value, type, limits) : defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        if (key == null) {
+            return "ArgsMatch[absent]";
+        }
+        return "ArgsMatch[" + key + (value != null ? (inline ? "=" : " ") + value : "") + " at " + index + "]";
+    }
+}
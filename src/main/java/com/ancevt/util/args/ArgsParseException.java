@@ -18,9 +18,22 @@
 package com.ancevt.util.args;
 /**
  * Exception thrown when argument parsing fails.
+ * <p>
+ * An exception may carry the source line and the offending span, see
+ * {@link #withSpan(String, int, int)}. In that case {@link #getMessage()}
+ * appends an excerpt of the source with a caret line under the span. The
+ * excerpt is only built when the message is actually read.
  */
 public class ArgsParseException extends RuntimeException {
 
+    private static final long serialVersionUID = 1L;
+
+    private static final int EXCERPT_WIDTH = 80;
+
+    private String source;
+    private int start = -1;
+    private int end = -1;
+
     public ArgsParseException() {
     }
 
@@ -39,4 +52,92 @@ public class ArgsParseException extends RuntimeException {
     public ArgsParseException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    /**
+     * Attaches the source line and the span of the offending input.
+     * Offsets are clamped to the source; an empty span is shown as a
+     * single caret.
+     *
+     * @param source source line
+     * @param start  start offset of the span
+     * @param end    exclusive end offset of the span
+     * @return this exception
+     */
+    public ArgsParseException withSpan(String source, int start, int end) {
+        if (source == null || start < 0) {
+            return this;
+        }
+        this.source = source;
+        this.start = Math.min(start, source.length());
+        this.end = Math.max(this.start, Math.min(end, source.length()));
+        return this;
+    }
+
+    /**
+     * Returns the source line attached with {@link #withSpan(String, int, int)}.
+     *
+     * @return source line, or null if no span is attached
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the start offset of the offending span in the source.
+     *
+     * @return start offset, or -1 if no span is attached
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the exclusive end offset of the offending span in the source.
+     *
+     * @return end offset, or -1 if no span is attached
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Returns an excerpt of the source around the offending span, followed
+     * by a line with carets under the span. Long sources are cut to a window
+     * of about 80 characters.
+     *
+     * @return excerpt, or null if no span is attached
+     */
+    public String getExcerpt() {
+        if (source == null) {
+            return null;
+        }
+        final int from = Math.max(0, start - EXCERPT_WIDTH / 2);
+        final int to = Math.min(source.length(), from + EXCERPT_WIDTH);
+        final String prefix = from > 0 ? "..." : "";
+        final String suffix = to < source.length() ? "..." : "";
+
+        final StringBuilder result = new StringBuilder("  ").append(prefix);
+        for (int i = from; i < to; i++) {
+            final char c = source.charAt(i);
+            result.append(Character.isWhitespace(c) || Character.isISOControl(c) ? ' ' : c);
+        }
+        result.append(suffix).append('\n').append("  ");
+        for (int i = -prefix.length(); i < start - from; i++) {
+            result.append(' ');
+        }
+        final int carets = Math.max(1, Math.min(end, to) - start);
+        for (int i = 0; i < carets; i++) {
+            result.append('^');
+        }
+        return result.toString();
+    }
+
+    @Override
+    public String getMessage() {
+        final String message = super.getMessage();
+        if (source == null) {
+            return message;
+        }
+        return (message == null ? "" : message + '\n') + getExcerpt();
+    }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Reads newline-delimited, UTF-8 encoded commands from a channel into a
+ * reusable direct buffer and returns them as {@link Args}.
+ * <p>
+ * Returned instances are backed by spans of the buffer: tokens become
+ * strings only when they are read, and option lookups compare bytes in
+ * place. Because the buffer is reused, an {@code Args} returned by
+ * {@link #next()} is only valid until the following call to {@code next()}.
+ * Call {@link Args#getElements()} to keep the tokens longer.
+ * <p>
+ * A partial frame left at the end of the buffer stays where it is until the
+ * buffer is full; only then is it moved to the front. Frames larger than the
+ * buffer cause an {@link ArgsParseException} and are skipped. The channel
+ * is expected to be in blocking mode.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsReader reader = new ArgsReader(Channels.newChannel(System.in));
+ *     Args args;
+ *     while ((args = reader.next()) != null) {
+ *         if (args.contains("--port")) ...
+ *     }
+ * </pre>
+ */
+public class ArgsReader implements Closeable {
+
+    /**
+     * Default maximum frame size in bytes.
+     */
+    public static final int DEFAULT_MAX_FRAME_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private int frameStart;
+    private int scanPosition;
+    private boolean endOfInput;
+    private boolean skipping;
+
+    /**
+     * Creates a reader with {@link #DEFAULT_MAX_FRAME_SIZE}.
+     *
+     * @param channel source channel
+     */
+    public ArgsReader(ReadableByteChannel channel) {
+        this(channel, DEFAULT_MAX_FRAME_SIZE);
+    }
+
+    /**
+     * Creates a reader whose buffer holds frames of up to {@code maxFrameSize} bytes.
+     *
+     * @param channel      source channel
+     * @param maxFrameSize maximum frame size in bytes, including the line terminator
+     */
+    public ArgsReader(ReadableByteChannel channel, int maxFrameSize) {
+        if (maxFrameSize <= 0) {
+            throw new IllegalArgumentException("maxFrameSize must be positive: " + maxFrameSize);
+        }
+        this.channel = channel;
+        buffer = ByteBuffer.allocateDirect(maxFrameSize);
+        buffer.limit(0);
+    }
+
+    /**
+     * Reads the next command. Blank lines produce empty {@code Args}.
+     *
+     * @return next command, valid until the next call, or null at end of input
+     * @throws IOException        if reading from the channel fails
+     * @throws ArgsParseException if a frame exceeds the maximum frame size;
+     *                            the frame is skipped and reading can continue
+     */
+    public Args next() throws IOException {
+        while (true) {
+            final int limit = buffer.limit();
+            for (int i = scanPosition; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    final int start = frameStart;
+                    frameStart = i + 1;
+                    scanPosition = i + 1;
+                    if (skipping) {
+                        skipping = false;
+                        continue;
+                    }
+                    return frame(start, i);
+                }
+            }
+            scanPosition = limit;
+
+            if (endOfInput) {
+                if (frameStart < limit && !skipping) {
+                    final int start = frameStart;
+                    frameStart = limit;
+                    return frame(start, limit);
+                }
+                return null;
+            }
+
+            if (frameStart == limit) {
+                // everything consumed, start over without copying
+                frameStart = 0;
+                scanPosition = 0;
+                buffer.limit(0);
+            } else if (limit == buffer.capacity()) {
+                if (frameStart == 0 || skipping) {
+                    // the whole buffer is one unterminated frame
+                    frameStart = 0;
+                    scanPosition = 0;
+                    buffer.limit(0);
+                    if (!skipping) {
+                        skipping = true;
+                        throw new ArgsParseException("Frame exceeds maximum size of " + buffer.capacity() + " bytes");
+                    }
+                } else {
+                    compact();
+                }
+            }
+            fill();
+        }
+    }
+
+    private Args frame(int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        return new Args(null, new BufferTokens(buffer, start, end));
+    }
+
+    private void compact() {
+        buffer.position(frameStart);
+        buffer.compact();
+        buffer.flip();
+        scanPosition -= frameStart;
+        frameStart = 0;
+    }
+
+    private void fill() throws IOException {
+        final int limit = buffer.limit();
+        buffer.position(limit);
+        buffer.limit(buffer.capacity());
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.limit(buffer.position());
+        if (read < 0) {
+            endOfInput = true;
+        }
+    }
+
+    /**
+     * Closes the underlying channel.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -17,26 +17,201 @@
  */
 package com.ancevt.util.args;
 
+import com.ancevt.util.args.metrics.ArgsEvents;
+import com.ancevt.util.args.metrics.ArgsMetrics;
+
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 class ArgsSplitHelper {
 
     private static final String SPACE_CHARS = "\n\t\r\b ";
 
+    /**
+     * Span flag: the token contains a quoted part.
+     */
+    static final int QUOTED = 1;
+
+    /**
+     * Span flag: the source ended inside quotes.
+     */
+    static final int UNTERMINATED = 2;
+
+    static final int SPAN_START = 0;
+    static final int SPAN_END = 1;
+    static final int SPAN_FLAGS = 2;
+
     private ArgsSplitHelper() {}
 
     static String[] split(final String source, char delimiterChar) {
+        return split(source, delimiterChar, ArgsLimits.NONE);
+    }
+
+    static String[] split(final String source, char delimiterChar, final ArgsLimits limits) {
+        return split(source, delimiterChar, null, limits, null);
+    }
+
+    static String[] split(final String source, final Dialect dialect, final ArgsLimits limits) {
+        return split(source, '\0', dialect, limits, null);
+    }
+
+    /**
+     * Splits the source like {@link #split(String, char, ArgsLimits)}, and
+     * stores start and exclusive end offsets of every token in
+     * {@code offsets[0]}, two entries per token.
+     */
+    static String[] split(final String source, char delimiterChar, final ArgsLimits limits, final int[][] offsets) {
+        return split(source, delimiterChar, null, limits, offsets);
+    }
+
+    /**
+     * Splits the source like {@link #split(String, Dialect, ArgsLimits)}, and
+     * stores token offsets as {@link #split(String, char, ArgsLimits, int[][])} does.
+     */
+    static String[] split(final String source, final Dialect dialect, final ArgsLimits limits, final int[][] offsets) {
+        return split(source, '\0', dialect, limits, offsets);
+    }
+
+    private static String[] split(final String source,
+                                  char delimiterChar,
+                                  final Dialect dialect,
+                                  final ArgsLimits limits,
+                                  final int[][] offsets) {
+        final ArgsMetrics metrics = ArgsMetrics.installed();
+        final Object event = ArgsEvents.beginParse();
+        if (metrics == null && event == null) {
+            return doSplit(source, delimiterChar, dialect, limits, offsets);
+        }
+
+        final long start = metrics != null ? System.nanoTime() : 0L;
+        String[] result = null;
+        Throwable failure = null;
+        try {
+            result = doSplit(source, delimiterChar, dialect, limits, offsets);
+            return result;
+        } catch (RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            final int tokenCount = result != null ? result.length : 0;
+            if (metrics != null && result != null) {
+                metrics.tokenized(source.length(), tokenCount, System.nanoTime() - start);
+            }
+            ArgsEvents.endParse(event, source.length(), tokenCount, failure);
+        }
+    }
+
+    private static String[] doSplit(final String source,
+                                    char delimiterChar,
+                                    final Dialect dialect,
+                                    final ArgsLimits limits,
+                                    final int[][] offsets) {
+        if (dialect != null) {
+            return dialect.split(source, limits, offsets);
+        }
+        if (source.length() > limits.getMaxSourceLength()) {
+            throw new ArgsParseException(String.format("Source length %d exceeds limit %d", source.length(), limits.getMaxSourceLength()));
+        }
+
         final List<String> result = new ArrayList<>();
         final StringBuilder buffer = new StringBuilder();
+        final int[] span = limits.isStrictQuotes() || offsets != null ? new int[3] : null;
+        final int maxTokens = limits.getMaxTokens();
+        int[] spans = offsets != null ? new int[16] : null;
+
+        int position = 0;
+        while ((position = nextToken(source, position, delimiterChar, buffer, span, limits.getMaxTokenLength())) >= 0) {
+            if (limits.isStrictQuotes() && (span[SPAN_FLAGS] & UNTERMINATED) != 0) {
+                throw new ArgsParseException("Unterminated quote at " + span[SPAN_START])
+                        .withSpan(source, span[SPAN_START], span[SPAN_END]);
+            }
+            if (result.size() == maxTokens) {
+                throw new ArgsParseException("Token count exceeds limit " + maxTokens);
+            }
+            if (spans != null) {
+                final int offset = result.size() * 2;
+                if (offset + 2 > spans.length) {
+                    spans = Arrays.copyOf(spans, spans.length * 2);
+                }
+                spans[offset] = span[SPAN_START];
+                spans[offset + 1] = span[SPAN_END];
+            }
+            result.add(buffer.toString());
+            buffer.setLength(0);
+        }
+        if (limits.isStrictQuotes() && (span[SPAN_FLAGS] & UNTERMINATED) != 0) {
+            throw new ArgsParseException("Unterminated quote");
+        }
+        if (offsets != null) {
+            offsets[0] = Arrays.copyOf(spans, result.size() * 2);
+        }
+
+        return result.toArray(new String[0]);
+    }
+
+    /**
+     * Scans one token starting at {@code position} into {@code buffer}.
+     * Leading delimiters are skipped.
+     *
+     * @return position right after the token and its delimiter,
+     * or -1 if there are no more tokens
+     */
+    static int nextToken(final String source, int position, char delimiterChar, final StringBuilder buffer) {
+        return nextToken(source, position, delimiterChar, buffer, null, Integer.MAX_VALUE);
+    }
 
+    static int nextToken(final String source, int position, char delimiterChar, final StringBuilder buffer, final int[] span) {
+        return nextToken(source, position, delimiterChar, buffer, span, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Same as {@link #nextToken(String, int, char, StringBuilder)}, additionally
+     * filling {@code span} with the raw token offsets and flags: start at
+     * {@link #SPAN_START}, exclusive end at {@link #SPAN_END} and
+     * {@link #QUOTED} / {@link #UNTERMINATED} at {@link #SPAN_FLAGS}.
+     * If no token is found, only the flags are meaningful.
+     *
+     * @throws ArgsParseException as soon as the token gets longer than {@code maxTokenLength}
+     */
+    static int nextToken(final String source,
+                         int position,
+                         char delimiterChar,
+                         final StringBuilder buffer,
+                         final int[] span,
+                         int maxTokenLength) {
         final int length = source.length();
         boolean insideQuotes = false;
         char quoteChar = 0;
+        int start = -1;
+        int flags = 0;
+
+        for (int i = position; i < length; ) {
+            if (buffer.length() > maxTokenLength) {
+                throw tokenTooLong(maxTokenLength);
+            }
+
+            // Copy runs without special characters at once, at most one character past the limit
+            final int remaining = maxTokenLength - buffer.length();
+            final int limit = remaining >= length - i ? length : i + remaining + 1;
+            final int runEnd = insideQuotes
+                    ? RunScanner.skipQuoted(source, i, limit, quoteChar)
+                    : RunScanner.skipPlain(source, i, limit, delimiterChar);
+            if (runEnd > i) {
+                if (start < 0 && span != null) {
+                    start = i;
+                }
+                buffer.append(source, i, runEnd);
+                i = runEnd;
+                continue;
+            }
 
-        for (int i = 0; i < length; ) {
             char current = source.charAt(i++);
 
+            if (start < 0 && span != null && !isDelimiter(current, delimiterChar)) {
+                start = i - 1;
+            }
+
             // Handle escaped characters
             if (current == '\\' && i < length) {
                 buffer.append(source.charAt(i++));
@@ -56,41 +231,68 @@ class ArgsSplitHelper {
             if (current == '"' || current == '\'') {
                 insideQuotes = true;
                 quoteChar = current;
+                flags |= QUOTED;
                 continue;
             }
 
             // Handle delimiters
-            boolean isDelimiter;
-            if (delimiterChar == '\0') {
-                isDelimiter = SPACE_CHARS.indexOf(current) != -1;
-            } else {
-                isDelimiter = current == delimiterChar;
-            }
-
-            if (isDelimiter) {
+            if (isDelimiter(current, delimiterChar)) {
                 if (buffer.length() > 0) {
-                    result.add(buffer.toString());
-                    buffer.setLength(0);
+                    if (span != null) {
+                        span[SPAN_START] = start;
+                        span[SPAN_END] = i - 1;
+                        span[SPAN_FLAGS] = flags;
+                    }
+                    return i;
                 }
+                start = -1;
+                flags = 0;
                 continue;
             }
 
             buffer.append(current);
         }
 
-        if (buffer.length() > 0) {
-            result.add(buffer.toString());
+        if (buffer.length() > maxTokenLength) {
+            throw tokenTooLong(maxTokenLength);
+        }
+        if (span != null) {
+            span[SPAN_START] = start;
+            span[SPAN_END] = length;
+            span[SPAN_FLAGS] = insideQuotes ? flags | UNTERMINATED : flags;
         }
+        return buffer.length() > 0 ? length : -1;
+    }
 
-        return result.toArray(new String[0]);
+    private static ArgsParseException tokenTooLong(int maxTokenLength) {
+        return new ArgsParseException("Token length exceeds limit " + maxTokenLength);
+    }
+
+    private static boolean isDelimiter(char c, char delimiterChar) {
+        if (delimiterChar == '\0') {
+            return SPACE_CHARS.indexOf(c) != -1;
+        }
+        return c == delimiterChar;
+    }
+
+    /**
+     * Removes quotes and escape characters from the raw text of a single token.
+     */
+    static String unescape(String rawToken) {
+        final String[] result = doSplit(rawToken, '\0', null, ArgsLimits.NONE, null);
+        return result.length == 0 ? "" : result[0];
     }
 
     public static String[] split(String source, String delimiterChar) {
+        return split(source, delimiterChar(delimiterChar));
+    }
+
+    static char delimiterChar(String delimiterChar) {
         if (delimiterChar == null || delimiterChar.length() != 1) {
             throw new ArgsParseException("delimiter string must contain one character");
         }
 
-        return split(source, delimiterChar.charAt(0));
+        return delimiterChar.charAt(0);
     }
 }
 
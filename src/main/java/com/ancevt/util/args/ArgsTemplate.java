@@ -0,0 +1,314 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Command line template with {@code ${name}} and {@code ${name:-default}}
+ * placeholders.
+ * <p>
+ * The template is tokenized once when compiled. Tokens without placeholders
+ * are kept as ready strings, the others as literal parts and variable slots,
+ * so rendering only fills in the slots. Quotes and escapes follow the rules
+ * of {@link Args#parse(String)}, with two additions:
+ * <ul>
+ *     <li>placeholders are not expanded inside single quotes, and {@code \$}
+ *     keeps a literal {@code $};</li>
+ *     <li>a resolved value is never split, it always stays part of the token
+ *     it appears in. Tokens that render empty are dropped.</li>
+ * </ul>
+ * The default is used when the resolver returns {@code null} or an empty
+ * string. A placeholder without a default that cannot be resolved is an error.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * <p>
+ * Example:
+ * <pre>
+ *     ArgsTemplate template = ArgsTemplate.compile("--out=${WORK}/run-${ID} --threads ${CPUS:-4}");
+ *     Args args = template.render(System::getenv);
+ * </pre>
+ *
+ * @see Args#parseResolved(String, Function)
+ */
+public final class ArgsTemplate {
+
+    private final String source;
+    /**
+     * Ready tokens, or null where the token has placeholders.
+     */
+    private final String[] constants;
+    /**
+     * Literal parts and {@link Slot}s of tokens with placeholders.
+     */
+    private final Object[][] parts;
+    private final Set<String> variables;
+
+    private ArgsTemplate(String source, String[] constants, Object[][] parts, Set<String> variables) {
+        this.source = source;
+        this.constants = constants;
+        this.parts = parts;
+        this.variables = variables;
+    }
+
+    /**
+     * Tokenizes the template and records its placeholders.
+     *
+     * @param template command line template
+     * @return compiled template
+     * @throws ArgsParseException if a placeholder is not closed or has no name
+     */
+    public static ArgsTemplate compile(String template) {
+        final Scanner scanner = new Scanner(template, null);
+        scanner.scan();
+
+        final int size = scanner.tokens.size();
+        final String[] constants = new String[size];
+        final Object[][] parts = new Object[size][];
+        final Set<String> variables = new LinkedHashSet<>();
+        for (int i = 0; i < size; i++) {
+            final Object[] token = scanner.tokens.get(i);
+            if (token.length == 1 && token[0] instanceof String) {
+                constants[i] = (String) token[0];
+            } else {
+                parts[i] = token;
+                for (Object part : token) {
+                    if (part instanceof Slot) {
+                        variables.add(((Slot) part).name);
+                    }
+                }
+            }
+        }
+        return new ArgsTemplate(template, constants, parts, Collections.unmodifiableSet(variables));
+    }
+
+    /**
+     * Tokenizes the source, expanding placeholders in the same pass.
+     */
+    static String[] expand(String source, Function<String, String> resolver) {
+        final Scanner scanner = new Scanner(source, resolver);
+        scanner.scan();
+        return scanner.strings.toArray(new String[0]);
+    }
+
+    /**
+     * Fills in the placeholders.
+     *
+     * @param resolver returns the value of a variable, or null if it is not set
+     * @return parsed arguments
+     * @throws ArgsParseException if a placeholder without a default is not resolved
+     */
+    public Args render(Function<String, String> resolver) {
+        final List<String> elements = new ArrayList<>(constants.length);
+        final StringBuilder buffer = new StringBuilder();
+        for (int i = 0; i < constants.length; i++) {
+            if (constants[i] != null) {
+                elements.add(constants[i]);
+                continue;
+            }
+
+            for (Object part : parts[i]) {
+                if (part instanceof Slot) {
+                    buffer.append(((Slot) part).resolve(resolver));
+                } else {
+                    buffer.append((String) part);
+                }
+            }
+            if (buffer.length() > 0) {
+                elements.add(buffer.toString());
+                buffer.setLength(0);
+            }
+        }
+        return new Args(null, elements.toArray(new String[0]));
+    }
+
+    /**
+     * Fills in the placeholders from a map.
+     *
+     * @param values variable values
+     * @return parsed arguments
+     * @throws ArgsParseException if a placeholder without a default is not resolved
+     */
+    public Args render(Map<String, String> values) {
+        return render(values::get);
+    }
+
+    /**
+     * Returns the names of all variables in the order of their first use.
+     *
+     * @return variable names
+     */
+    public Set<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Returns the template string.
+     *
+     * @return template source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    @Override
+    public String toString() {
+        return "ArgsTemplate[" + source + "]";
+    }
+
+    private static final class Slot {
+        final String name;
+        final String defaultValue;
+
+        Slot(String name, String defaultValue) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+
+        String resolve(Function<String, String> resolver) {
+            final String value = resolver.apply(name);
+            if (value != null && !value.isEmpty()) {
+                return value;
+            }
+            if (defaultValue != null) {
+                return defaultValue;
+            }
+            if (value != null) {
+                return value;
+            }
+            throw new ArgsParseException("Unresolved placeholder ${" + name + "}");
+        }
+    }
+
+    /**
+     * Tokenizer with placeholder recognition. With a resolver, values are
+     * appended to the token right away and tokens are collected as strings;
+     * without one, tokens are collected as parts and slots.
+     */
+    private static final class Scanner {
+        final String source;
+        final Function<String, String> resolver;
+        final List<String> strings = new ArrayList<>();
+        final List<Object[]> tokens = new ArrayList<>();
+        final List<Object> parts = new ArrayList<>();
+        final StringBuilder buffer = new StringBuilder();
+
+        Scanner(String source, Function<String, String> resolver) {
+            this.source = source;
+            this.resolver = resolver;
+        }
+
+        void scan() {
+            final int length = source.length();
+            char quoteChar = 0;
+
+            for (int i = 0; i < length; ) {
+                final char current = source.charAt(i++);
+
+                if (current == '\\' && i < length) {
+                    buffer.append(source.charAt(i++));
+                    continue;
+                }
+
+                if (current == '$' && quoteChar != '\'' && i < length && source.charAt(i) == '{') {
+                    i = placeholder(i + 1);
+                    continue;
+                }
+
+                if (quoteChar != 0) {
+                    if (current == quoteChar) {
+                        quoteChar = 0;
+                    } else {
+                        buffer.append(current);
+                    }
+                    continue;
+                }
+
+                if (current == '"' || current == '\'') {
+                    quoteChar = current;
+                    continue;
+                }
+
+                if (current == ' ' || current == '\n' || current == '\t' || current == '\r' || current == '\b') {
+                    endToken();
+                    continue;
+                }
+
+                buffer.append(current);
+            }
+            endToken();
+        }
+
+        /**
+         * Handles the placeholder body starting at {@code start}, right after {@code ${}.
+         *
+         * @return position after the closing brace
+         */
+        private int placeholder(int start) {
+            final int close = source.indexOf('}', start);
+            if (close < 0) {
+                throw new ArgsParseException("Unterminated placeholder at " + (start - 2));
+            }
+
+            final int separator = source.indexOf(":-", start);
+            final boolean hasDefault = separator >= 0 && separator < close;
+            final String name = source.substring(start, hasDefault ? separator : close);
+            if (name.isEmpty()) {
+                throw new ArgsParseException("Placeholder without a name at " + (start - 2));
+            }
+            final Slot slot = new Slot(name, hasDefault ? source.substring(separator + 2, close) : null);
+
+            if (resolver != null) {
+                buffer.append(slot.resolve(resolver));
+            } else {
+                flushLiteral();
+                parts.add(slot);
+            }
+            return close + 1;
+        }
+
+        private void flushLiteral() {
+            if (buffer.length() > 0) {
+                parts.add(buffer.toString());
+                buffer.setLength(0);
+            }
+        }
+
+        private void endToken() {
+            if (resolver != null) {
+                if (buffer.length() > 0) {
+                    strings.add(buffer.toString());
+                    buffer.setLength(0);
+                }
+                return;
+            }
+
+            flushLiteral();
+            if (!parts.isEmpty()) {
+                tokens.add(parts.toArray());
+                parts.clear();
+            }
+        }
+    }
+}
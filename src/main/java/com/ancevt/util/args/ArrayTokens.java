@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.Arrays;
+
+/**
+ * Tokens kept as a plain string array.
+ */
+final class ArrayTokens extends Tokens {
+
+    private final String[] elements;
+    private final boolean shared;
+
+    ArrayTokens(String[] elements) {
+        this(elements, false);
+    }
+
+    /**
+     * @param shared whether the array is shared with other instances, e.g. by
+     *               {@link ArgsCache}, so callers always get a copy of it
+     */
+    ArrayTokens(String[] elements, boolean shared) {
+        this.elements = elements;
+        this.shared = shared;
+    }
+
+    @Override
+    int size() {
+        return elements.length;
+    }
+
+    @Override
+    String get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    String[] toArray(int from, int to) {
+        if (from == 0 && to == elements.length && !shared) {
+            return elements;
+        }
+        return Arrays.copyOfRange(elements, from, to);
+    }
+}
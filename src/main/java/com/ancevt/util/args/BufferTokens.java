@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tokens stored as spans over a UTF-8 encoded {@link ByteBuffer}.
+ * <p>
+ * Strings are created only for tokens that are read, and cached afterwards.
+ * Spans of tokens without quotes or escapes are compared with option keys
+ * directly in the buffer. The buffer content must not change while the
+ * tokens are in use.
+ */
+final class BufferTokens extends Tokens {
+
+    private static final int ESCAPED = 1;
+
+    private final ByteBuffer buffer;
+    private final int sourceStart;
+    private final int sourceEnd;
+    private int[] spans;
+    private String[] strings;
+    private int size;
+
+    /**
+     * Tokenizes the frame {@code [start, end)} of the buffer.
+     */
+    BufferTokens(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        sourceStart = start;
+        sourceEnd = end;
+        spans = new int[24];
+        scan(start, end);
+        strings = new String[size];
+    }
+
+    /**
+     * Records start, end and flags of every token, following the same rules
+     * as {@link ArgsSplitHelper} with whitespace delimiters. Delimiters,
+     * quotes and the escape character are ASCII, so the UTF-8 bytes can be
+     * scanned without decoding.
+     */
+    private void scan(int start, int end) {
+        int tokenStart = -1;
+        int contentBytes = 0;
+        int flags = 0;
+        boolean insideQuotes = false;
+        byte quoteChar = 0;
+
+        for (int i = start; i < end; ) {
+            final byte current = buffer.get(i++);
+
+            if (current == '\\' && i < end) {
+                if (tokenStart < 0) tokenStart = i - 1;
+                i++;
+                contentBytes++;
+                flags = ESCAPED;
+                continue;
+            }
+
+            if (insideQuotes) {
+                if (current == quoteChar) {
+                    insideQuotes = false;
+                } else {
+                    contentBytes++;
+                }
+                continue;
+            }
+
+            if (current == '"' || current == '\'') {
+                if (tokenStart < 0) tokenStart = i - 1;
+                insideQuotes = true;
+                quoteChar = current;
+                flags = ESCAPED;
+                continue;
+            }
+
+            if (current == ' ' || current == '\n' || current == '\t' || current == '\r' || current == '\b') {
+                if (contentBytes > 0) {
+                    add(tokenStart, i - 1, flags);
+                }
+                tokenStart = -1;
+                contentBytes = 0;
+                flags = 0;
+                continue;
+            }
+
+            if (tokenStart < 0) tokenStart = i - 1;
+            contentBytes++;
+        }
+
+        if (contentBytes > 0) {
+            add(tokenStart, end, flags);
+        }
+    }
+
+    private void add(int start, int end, int flags) {
+        final int offset = size * 3;
+        if (offset + 3 > spans.length) {
+            final int[] grown = new int[spans.length * 2];
+            System.arraycopy(spans, 0, grown, 0, spans.length);
+            spans = grown;
+        }
+        spans[offset] = start;
+        spans[offset + 1] = end;
+        spans[offset + 2] = flags;
+        size++;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    String get(int index) {
+        String result = strings[index];
+        if (result == null) {
+            final int offset = index * 3;
+            result = decode(spans[offset], spans[offset + 1]);
+            if (spans[offset + 2] == ESCAPED) {
+                result = ArgsSplitHelper.unescape(result);
+            }
+            strings[index] = result;
+        }
+        return result;
+    }
+
+    @Override
+    int match(int index, String key) {
+        final int offset = index * 3;
+        if (spans[offset + 2] == ESCAPED || strings[index] != null) {
+            return super.match(index, key);
+        }
+
+        final int start = spans[offset];
+        final int length = spans[offset + 1] - start;
+        final int keyLength = key.length();
+        if (length < keyLength) {
+            return NO_MATCH;
+        }
+        for (int i = 0; i < keyLength; i++) {
+            final char c = key.charAt(i);
+            if (c >= 0x80) {
+                // non-ASCII keys are compared on decoded strings
+                return super.match(index, key);
+            }
+            if (buffer.get(start + i) != c) {
+                return NO_MATCH;
+            }
+        }
+        if (length == keyLength) {
+            return KEY;
+        }
+        return buffer.get(start + keyLength) == '=' ? KEY_VALUE : NO_MATCH;
+    }
+
+    @Override
+    String source() {
+        return decode(sourceStart, sourceEnd);
+    }
+
+    private String decode(int start, int end) {
+        final byte[] bytes = new byte[end - start];
+        final ByteBuffer slice = buffer.duplicate();
+        slice.limit(end).position(start);
+        slice.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, thread-safe parser compiled from a {@link CommandSchema}.
+ * <p>
+ * Every option and positional gets a fixed slot. Parsing classifies,
+ * validates and converts all tokens in a single pass and stores the results
+ * in the slots of a {@link ParsedCommand}. Slot numbers can be resolved once
+ * with {@link #slot(String)} to skip name lookups on hot paths.
+ * <p>
+ * Tokens starting with {@code -} are options unless they look like negative
+ * numbers. Options accept both {@code --key value} and {@code --key=value}.
+ *
+ * @see CommandSchema
+ */
+public final class CommandParser {
+
+    private static final String TERMINATOR = "--";
+
+    private final CommandSchema schema;
+    private final CommandSchema.Option[] options;
+    private final CommandSchema.Positional[] positionals;
+    private final Map<String, Integer> slots;
+    private final Map<String, Integer> optionIndex;
+    private final boolean terminator;
+    private final boolean rest;
+
+    CommandParser(CommandSchema schema) {
+        this.schema = schema;
+        options = schema.options();
+        positionals = schema.positionals();
+        terminator = schema.isTerminator();
+        rest = schema.isRest();
+
+        Map<String, Integer> names = new HashMap<>();
+        Map<String, Integer> optionNames = new HashMap<>();
+        for (int i = 0; i < options.length; i++) {
+            for (String name : options[i].names()) {
+                names.put(name, i);
+                optionNames.put(name, i);
+            }
+        }
+        for (int i = 0; i < positionals.length; i++) {
+            names.put(positionals[i].getName(), options.length + i);
+        }
+        slots = names;
+        optionIndex = optionNames;
+    }
+
+    /**
+     * Returns the schema this parser was compiled from.
+     *
+     * @return schema
+     */
+    public CommandSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Returns the number of slots: options first, then positionals.
+     *
+     * @return slot count
+     */
+    public int getSlotCount() {
+        return options.length + positionals.length;
+    }
+
+    /**
+     * Resolves an option name, alias or positional name to its slot.
+     *
+     * @param name option name, alias or positional name
+     * @return slot number
+     * @throws ArgsParseException if the name is not declared
+     */
+    public int slot(String name) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            throw new ArgsParseException("Unknown argument name: " + name);
+        }
+        return slot;
+    }
+
+    /**
+     * Parses a command line string split on whitespace.
+     *
+     * @param source command line
+     * @return parsed command
+     * @throws ArgsParseException if the command line does not match the schema
+     */
+    public ParsedCommand parse(String source) {
+        return parse(Args.parse(source));
+    }
+
+    /**
+     * Parses an array of arguments, e.g. from {@code main(String[])}.
+     *
+     * @param args arguments
+     * @return parsed command
+     * @throws ArgsParseException if the arguments do not match the schema
+     */
+    public ParsedCommand parse(String[] args) {
+        return parse(Args.parse(args));
+    }
+
+    /**
+     * Parses already tokenized arguments.
+     *
+     * @param args tokenized arguments
+     * @return parsed command
+     * @throws ArgsParseException if the arguments do not match the schema
+     */
+    public ParsedCommand parse(Args args) {
+        final int size = args.size();
+        final Object[] values = new Object[getSlotCount()];
+        final boolean[] present = new boolean[values.length];
+        List<String> extra = null;
+        int positionalCount = 0;
+        boolean optionsEnded = false;
+
+        for (int i = 0; i < size; i++) {
+            final String token = args.element(i);
+
+            if (!optionsEnded && isOption(token)) {
+                if (terminator && token.equals(TERMINATOR)) {
+                    optionsEnded = true;
+                    continue;
+                }
+
+                final int eq = token.indexOf('=');
+                final String name = eq == -1 ? token : token.substring(0, eq);
+                final Integer slot = optionIndex.get(name);
+                if (slot == null) {
+                    throw args.locate(new ArgsParseException("Unknown option " + name), i);
+                }
+
+                final CommandSchema.Option option = options[slot];
+                if (option.isFlag()) {
+                    values[slot] = eq == -1 ? Boolean.TRUE : convert(args, i, option, name, token.substring(eq + 1));
+                } else if (eq != -1) {
+                    values[slot] = convert(args, i, option, name, token.substring(eq + 1));
+                } else if (args.hasValueAfter(i)) {
+                    values[slot] = convert(args, i + 1, option, name, args.element(++i));
+                } else {
+                    throw args.locate(new ArgsParseException("Option " + name + " requires a value"), size);
+                }
+                present[slot] = true;
+                continue;
+            }
+
+            if (!args.isPositionalAt(i)) {
+                // e.g. a lower layer of merged arguments
+                continue;
+            }
+
+            if (positionalCount < positionals.length) {
+                final int slot = options.length + positionalCount;
+                final CommandSchema.Positional positional = positionals[positionalCount];
+                values[slot] = convert(args, i, positional, positional.getName(), token);
+                present[slot] = true;
+                positionalCount++;
+            } else if (rest) {
+                if (extra == null) {
+                    extra = new ArrayList<>();
+                }
+                extra.add(token);
+            } else {
+                throw args.locate(new ArgsParseException("Unexpected argument '" + token + "'"), i);
+            }
+        }
+
+        for (int slot = 0; slot < values.length; slot++) {
+            if (present[slot]) continue;
+
+            final CommandSchema.Argument argument = slot < options.length
+                    ? options[slot]
+                    : positionals[slot - options.length];
+            if (argument.isRequired()) {
+                throw args.locate(new ArgsParseException("Missing required argument " + describe(slot)), size);
+            }
+            values[slot] = argument.getDefaultValue();
+        }
+
+        return new ParsedCommand(this, values, present,
+                extra == null ? Collections.<String>emptyList() : Collections.unmodifiableList(extra));
+    }
+
+    String describe(int slot) {
+        if (slot < options.length) {
+            return options[slot].getNames().toString();
+        }
+        return "'" + positionals[slot - options.length].getName() + "'";
+    }
+
+    /**
+     * @param index index of the element holding the value, used to locate errors
+     */
+    private static Object convert(Args args, int index, CommandSchema.Argument argument, String name, String value) {
+        try {
+            return argument.convert(value);
+        } catch (ArgsParseException e) {
+            throw e.getSource() == null ? args.locate(e, index) : e;
+        } catch (RuntimeException e) {
+            throw args.locate(new ArgsParseException("Invalid value '" + value + "' for " + name, e), index);
+        }
+    }
+
+    static boolean isOption(String token) {
+        if (token.length() < 2 || token.charAt(0) != '-') {
+            return false;
+        }
+        final char c = token.charAt(1);
+        // negative numbers such as -5 or -.5 are values, not options
+        return !(c >= '0' && c <= '9') && c != '.';
+    }
+}
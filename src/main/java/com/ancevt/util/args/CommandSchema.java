@@ -0,0 +1,520 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import com.ancevt.util.args.reflection.ArgsConverter;
+import com.ancevt.util.args.reflection.CommandArgument;
+import com.ancevt.util.args.reflection.OptionArgument;
+import com.ancevt.util.args.reflection.OptionGroup;
+import com.ancevt.util.args.reflection.OptionGroups;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable declaration of a command: its options, positional arguments and
+ * how they are typed.
+ * <p>
+ * Unlike plain {@link Args}, a schema knows which options are flags and which
+ * take a value, so {@code --debug file.txt} is unambiguous and positional
+ * indexes do not count options. A schema is compiled once into a
+ * {@link CommandParser} which can then be shared between threads.
+ * <p>
+ * Example:
+ * <pre>
+ *     CommandParser parser = CommandSchema.builder()
+ *             .option(int.class, "--port", "-p").required()
+ *             .flag("--debug", "-d")
+ *             .positional("file", String.class)
+ *             .build()
+ *             .compile();
+ *
+ *     ParsedCommand command = parser.parse("--debug file.txt -p 8080");
+ *     int port = command.get(Integer.class, "--port");
+ * </pre>
+ * <p>
+ * A schema can also be derived from a class annotated with
+ * {@link OptionArgument} and {@link CommandArgument}, see {@link #of(Class)}.
+ */
+public final class CommandSchema {
+
+    private final Option[] options;
+    private final Positional[] positionals;
+    private final boolean terminator;
+    private final boolean rest;
+
+    private CommandSchema(Builder builder) {
+        options = builder.options.toArray(new Option[0]);
+        positionals = builder.positionals.toArray(new Positional[0]);
+        terminator = builder.terminator;
+        rest = builder.rest;
+    }
+
+    /**
+     * Creates a new schema builder.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Derives a schema from a class annotated for {@link com.ancevt.util.args.reflection.ArgsBinder}.
+     * <p>
+     * Boolean {@link OptionArgument} fields become flags, other option fields
+     * take one value. {@link CommandArgument} fields become positionals ordered
+     * by their {@code index}, which here counts positional arguments only.
+     * Options of {@link OptionGroup} fields are added with their prefixed names.
+     *
+     * @param type annotated class
+     * @return schema
+     * @throws ArgsParseException if a converter cannot be created
+     * @throws IllegalArgumentException if option groups are cyclic
+     */
+    public static CommandSchema of(Class<?> type) {
+        Builder builder = builder();
+
+        List<Field> positionalFields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            CommandArgument commandArgument = field.getDeclaredAnnotation(CommandArgument.class);
+            if (commandArgument != null) {
+                positionalFields.add(field);
+            }
+        }
+        final Set<Class<?>> path = new HashSet<>();
+        path.add(type);
+        addOptions(builder, type, "", path);
+
+        positionalFields.sort((a, b) -> Integer.compare(
+                a.getDeclaredAnnotation(CommandArgument.class).index(),
+                b.getDeclaredAnnotation(CommandArgument.class).index()));
+        for (Field field : positionalFields) {
+            builder.positional(field.getName(), field.getType());
+            if (!field.getDeclaredAnnotation(CommandArgument.class).required()) {
+                builder.optional();
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Adds the option fields of the type and, with their prefixes, of its
+     * {@link OptionGroup} fields.
+     *
+     * @param path types of the enclosing groups, used to detect cycles
+     */
+    private static void addOptions(Builder builder, Class<?> type, String prefix, Set<Class<?>> path) {
+        for (Field field : type.getDeclaredFields()) {
+            OptionGroup optionGroup = field.getDeclaredAnnotation(OptionGroup.class);
+            if (optionGroup != null) {
+                Class<?> groupType = OptionGroups.enter(path, type, field);
+                addOptions(builder, groupType, prefix + optionGroup.prefix(), path);
+                path.remove(groupType);
+                continue;
+            }
+
+            OptionArgument optionArgument = field.getDeclaredAnnotation(OptionArgument.class);
+            if (optionArgument == null || optionArgument.names().length == 0) {
+                continue;
+            }
+
+            String[] names = OptionGroups.prefixed(optionArgument.names(), prefix);
+
+            Class<?> fieldType = field.getType();
+            if (fieldType == boolean.class || fieldType == Boolean.class) {
+                builder.flag(names);
+            } else {
+                builder.option(fieldType, names);
+            }
+            if (optionArgument.required()) {
+                builder.required();
+            }
+            if (optionArgument.converter() != ArgsConverter.NoConverter.class) {
+                builder.converter(createConverter(optionArgument.converter(), field));
+            }
+        }
+    }
+
+    private static ArgsConverter<?> createConverter(Class<?> converterClass, Field field) {
+        try {
+            Constructor<?> constructor = converterClass.getDeclaredConstructor();
+            return (ArgsConverter<?>) constructor.newInstance();
+        } catch (Exception e) {
+            throw new ArgsParseException("Failed to create converter for field '" + field.getName() + "'", e);
+        }
+    }
+
+    /**
+     * Compiles this schema into a reusable parser.
+     *
+     * @return parser
+     */
+    public CommandParser compile() {
+        return new CommandParser(this);
+    }
+
+    /**
+     * Returns declared options, in declaration order.
+     *
+     * @return unmodifiable list of options
+     */
+    public List<Option> getOptions() {
+        return Collections.unmodifiableList(Arrays.asList(options));
+    }
+
+    /**
+     * Returns declared positional arguments, in order.
+     *
+     * @return unmodifiable list of positionals
+     */
+    public List<Positional> getPositionals() {
+        return Collections.unmodifiableList(Arrays.asList(positionals));
+    }
+
+    /**
+     * Checks whether {@code --} ends option processing.
+     *
+     * @return true if the terminator is recognized
+     */
+    public boolean isTerminator() {
+        return terminator;
+    }
+
+    /**
+     * Checks whether extra positional arguments are collected instead of
+     * being rejected.
+     *
+     * @return true if extra arguments are allowed
+     */
+    public boolean isRest() {
+        return rest;
+    }
+
+    Option[] options() {
+        return options;
+    }
+
+    Positional[] positionals() {
+        return positionals;
+    }
+
+    /**
+     * Base class of declared arguments.
+     */
+    public abstract static class Argument {
+        final Class<?> type;
+        boolean required;
+        Object defaultValue;
+        ArgsConverter<?> converter;
+
+        Argument(Class<?> type, boolean required) {
+            this.type = type;
+            this.required = required;
+        }
+
+        /**
+         * Returns the value type.
+         *
+         * @return type
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * Checks whether the argument must be present.
+         *
+         * @return true if required
+         */
+        public boolean isRequired() {
+            return required;
+        }
+
+        /**
+         * Returns the value used when the argument is absent.
+         *
+         * @return default value or null
+         */
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        Object convert(String value) {
+            if (converter != null) {
+                return converter.convert(value);
+            }
+            return Args.convertToType(value, type);
+        }
+    }
+
+    /**
+     * Declared option: a flag or an option taking one value.
+     */
+    public static final class Option extends Argument {
+        private final String[] names;
+        private final boolean flag;
+
+        Option(Class<?> type, String[] names, boolean flag) {
+            super(type, false);
+            this.names = names;
+            this.flag = flag;
+            if (flag) {
+                defaultValue = Boolean.FALSE;
+            }
+        }
+
+        /**
+         * Returns the option name followed by its aliases.
+         *
+         * @return names
+         */
+        public List<String> getNames() {
+            return Collections.unmodifiableList(Arrays.asList(names));
+        }
+
+        /**
+         * Returns the number of values the option takes: 0 for flags, otherwise 1.
+         *
+         * @return arity
+         */
+        public int getArity() {
+            return flag ? 0 : 1;
+        }
+
+        String[] names() {
+            return names;
+        }
+
+        boolean isFlag() {
+            return flag;
+        }
+    }
+
+    /**
+     * Declared positional argument.
+     */
+    public static final class Positional extends Argument {
+        private final String name;
+
+        Positional(String name, Class<?> type) {
+            super(type, true);
+            this.name = name;
+        }
+
+        /**
+         * Returns the positional argument name.
+         *
+         * @return name
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    /**
+     * Builder of {@link CommandSchema}. Modifiers such as {@link #required()}
+     * apply to the most recently declared option or positional.
+     */
+    public static final class Builder {
+        private final List<Option> options = new ArrayList<>();
+        private final List<Positional> positionals = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+        private Argument last;
+        private boolean built;
+        private boolean terminator = true;
+        private boolean rest;
+
+        private Builder() {
+        }
+
+        /**
+         * Declares a boolean flag which takes no value.
+         *
+         * @param names option name followed by aliases
+         * @return this builder
+         */
+        public Builder flag(String... names) {
+            checkNotBuilt();
+            Option option = new Option(Boolean.class, checkOptionNames(names), true);
+            options.add(option);
+            last = option;
+            return this;
+        }
+
+        /**
+         * Declares an option taking one value of the given type.
+         *
+         * @param type  value type
+         * @param names option name followed by aliases
+         * @return this builder
+         */
+        public Builder option(Class<?> type, String... names) {
+            checkNotBuilt();
+            Option option = new Option(type, checkOptionNames(names), false);
+            options.add(option);
+            last = option;
+            return this;
+        }
+
+        /**
+         * Declares the next positional argument. Positionals are required
+         * unless {@link #optional()} is called.
+         *
+         * @param name name used to look the value up
+         * @param type value type
+         * @return this builder
+         */
+        public Builder positional(String name, Class<?> type) {
+            checkNotBuilt();
+            if (name == null || name.isEmpty() || name.startsWith("-")) {
+                throw new IllegalArgumentException("Invalid positional name: " + name);
+            }
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Duplicate name: " + name);
+            }
+            Positional positional = new Positional(name, type);
+            positionals.add(positional);
+            last = positional;
+            return this;
+        }
+
+        /**
+         * Marks the last declared argument as required.
+         *
+         * @return this builder
+         */
+        public Builder required() {
+            lastArgument().required = true;
+            return this;
+        }
+
+        /**
+         * Marks the last declared argument as optional.
+         *
+         * @return this builder
+         */
+        public Builder optional() {
+            lastArgument().required = false;
+            return this;
+        }
+
+        /**
+         * Sets the value of the last declared argument used when it is absent.
+         *
+         * @param defaultValue default value
+         * @return this builder
+         */
+        public Builder defaultValue(Object defaultValue) {
+            lastArgument().defaultValue = defaultValue;
+            return this;
+        }
+
+        /**
+         * Sets a custom converter for the last declared argument.
+         *
+         * @param converter converter
+         * @return this builder
+         */
+        public Builder converter(ArgsConverter<?> converter) {
+            lastArgument().converter = converter;
+            return this;
+        }
+
+        /**
+         * Sets whether {@code --} ends option processing. Enabled by default.
+         *
+         * @param terminator true to recognize the terminator
+         * @return this builder
+         */
+        public Builder terminator(boolean terminator) {
+            checkNotBuilt();
+            this.terminator = terminator;
+            return this;
+        }
+
+        /**
+         * Sets whether positional arguments beyond the declared ones are
+         * collected into {@link ParsedCommand#getRest()} instead of being rejected.
+         *
+         * @param rest true to allow extra arguments
+         * @return this builder
+         */
+        public Builder rest(boolean rest) {
+            checkNotBuilt();
+            this.rest = rest;
+            return this;
+        }
+
+        /**
+         * Builds the immutable schema.
+         *
+         * @return schema
+         * @throws IllegalArgumentException if a required positional follows an optional one
+         */
+        public CommandSchema build() {
+            checkNotBuilt();
+            boolean optionalSeen = false;
+            for (Positional positional : positionals) {
+                if (positional.required && optionalSeen) {
+                    // an optional positional followed by a required one can never be filled correctly
+                    throw new IllegalArgumentException("Required positional '" + positional.getName() + "' after an optional one");
+                }
+                optionalSeen |= !positional.required;
+            }
+            built = true;
+            return new CommandSchema(this);
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("Schema is already built");
+            }
+        }
+
+        private Argument lastArgument() {
+            checkNotBuilt();
+            if (last == null) {
+                throw new IllegalStateException("No option or positional declared yet");
+            }
+            return last;
+        }
+
+        private String[] checkOptionNames(String[] optionNames) {
+            if (optionNames == null || optionNames.length == 0) {
+                throw new IllegalArgumentException("Option must have at least one name");
+            }
+            for (String name : optionNames) {
+                if (name == null || name.length() < 2 || name.charAt(0) != '-' || name.indexOf('=') != -1) {
+                    throw new IllegalArgumentException("Invalid option name: " + name);
+                }
+                if (!names.add(name)) {
+                    throw new IllegalArgumentException("Duplicate name: " + name);
+                }
+            }
+            return optionNames.clone();
+        }
+    }
+}
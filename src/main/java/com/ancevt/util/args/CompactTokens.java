@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tokens packed into one byte array with an offset table.
+ * <p>
+ * Characters are stored as Latin-1 if every token allows it, otherwise as
+ * UTF-16. Strings are created on every read and not cached, so the
+ * retained size stays at about one byte (or two) per character plus four
+ * bytes per token. Keys are compared directly in the array.
+ */
+final class CompactTokens extends Tokens {
+
+    private final byte[] data;
+    /**
+     * Start of every token in characters, followed by the end of the last one.
+     */
+    private final int[] offsets;
+    private final boolean latin1;
+
+    CompactTokens(Tokens tokens, int from, int to) {
+        final int size = to - from;
+        offsets = new int[size + 1];
+        boolean onlyLatin1 = true;
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            final String token = tokens.get(from + i);
+            offsets[i] = length;
+            length += token.length();
+            for (int j = 0; onlyLatin1 && j < token.length(); j++) {
+                onlyLatin1 = token.charAt(j) <= 0xFF;
+            }
+        }
+        offsets[size] = length;
+        latin1 = onlyLatin1;
+
+        data = new byte[latin1 ? length : length * 2];
+        for (int i = 0; i < size; i++) {
+            final String token = tokens.get(from + i);
+            final int start = offsets[i];
+            for (int j = 0; j < token.length(); j++) {
+                final char c = token.charAt(j);
+                if (latin1) {
+                    data[start + j] = (byte) c;
+                } else {
+                    data[(start + j) * 2] = (byte) (c >> 8);
+                    data[(start + j) * 2 + 1] = (byte) c;
+                }
+            }
+        }
+    }
+
+    @Override
+    int size() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    String get(int index) {
+        return string(offsets[index], offsets[index + 1]);
+    }
+
+    private String string(int start, int end) {
+        if (latin1) {
+            return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        // built from chars rather than decoded, unpaired surrogates are kept as they are
+        final char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = charAt(start + i);
+        }
+        return new String(chars);
+    }
+
+    private char charAt(int position) {
+        if (latin1) {
+            return (char) (data[position] & 0xFF);
+        }
+        return (char) ((data[position * 2] & 0xFF) << 8 | (data[position * 2 + 1] & 0xFF));
+    }
+
+    @Override
+    int match(int index, String key) {
+        final int start = offsets[index];
+        final int length = offsets[index + 1] - start;
+        final int keyLength = key.length();
+        if (length < keyLength) {
+            return NO_MATCH;
+        }
+        for (int i = 0; i < keyLength; i++) {
+            if (charAt(start + i) != key.charAt(i)) {
+                return NO_MATCH;
+            }
+        }
+        if (length == keyLength) {
+            return KEY;
+        }
+        return charAt(start + keyLength) == '=' ? KEY_VALUE : NO_MATCH;
+    }
+
+    @Override
+    CharSequence sequence(int index) {
+        return new Token(offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * Returns the number of bytes used for characters and offsets.
+     */
+    long retainedBytes() {
+        return data.length + offsets.length * 4L;
+    }
+
+    /**
+     * View over a range of the packed characters.
+     */
+    private final class Token implements CharSequence {
+        private final int start;
+        private final int end;
+
+        Token(int start, int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + (end - start));
+            }
+            return CompactTokens.this.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > end - start || from > to) {
+                throw new IndexOutOfBoundsException("range [" + from + ", " + to + "), length " + (end - start));
+            }
+            return new Token(start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return string(start, end);
+        }
+    }
+}
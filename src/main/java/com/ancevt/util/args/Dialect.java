@@ -0,0 +1,442 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Quoting and escaping rules used to split a command line into tokens.
+ * <p>
+ * Each dialect is compiled into a state-transition table: characters are
+ * mapped to a few character classes, and the table gives the next state and
+ * the actions (append, emit, ...) for each state and class. One generic
+ * scanner loop runs every table, so a new dialect adds a table, not
+ * branches in the loop.
+ * <p>
+ * Predefined dialects:
+ * <ul>
+ *     <li>{@link #DEFAULT} - the rules of {@link Args#parse(String)}: {@code '} and
+ *     {@code "} quotes, {@code \} escapes any character, also inside quotes,
+ *     empty tokens are dropped.</li>
+ *     <li>{@link #POSIX} - POSIX shell words: {@code '...'} without escapes,
+ *     {@code "..."} where {@code \} escapes only {@code $ ` " \} and newline,
+ *     {@code $'...'} with C-style escapes such as {@code \n} and {@code \t},
+ *     backslash-newline line continuation, empty quoted tokens are kept.
+ *     No expansions are performed.</li>
+ *     <li>{@link #WINDOWS} - {@code CommandLineToArgvW} / MSVC runtime rules:
+ *     only {@code "} quotes, backslashes are literal unless they precede a
+ *     quote, {@code 2n} backslashes and a quote give {@code n} backslashes and
+ *     a quote delimiter, {@code 2n+1} give {@code n} backslashes and a literal
+ *     quote, {@code ""} inside quotes is a literal quote.</li>
+ * </ul>
+ * <p>
+ * Any dialect can additionally expand clustered short options, see
+ * {@link #withShortOptionClustering(String)}.
+ * <p>
+ * Example:
+ * <pre>
+ *     Args args = Args.parseDialect("copy 'C:\\Program Files' -rv", Dialect.POSIX.withShortOptionClustering(""));
+ * </pre>
+ */
+public final class Dialect {
+
+    private static final int APPEND = 1;
+    private static final int EMIT = 1 << 1;
+    private static final int MARK = 1 << 2;
+    private static final int RETRY = 1 << 3;
+    private static final int APPEND_PREVIOUS = 1 << 4;
+    private static final int COUNT_BACKSLASH = 1 << 5;
+    private static final int HALF_BACKSLASHES = 1 << 6;
+    private static final int ALL_BACKSLASHES = 1 << 7;
+    private static final int ANSI_ESCAPE = 1 << 8;
+    private static final int UNTERMINATED = 1 << 9;
+
+    /**
+     * Rules of {@link Args#parse(String)}.
+     */
+    public static final Dialect DEFAULT = new Dialect("default", defaultTable(), null);
+
+    /**
+     * POSIX shell quoting rules, without expansions.
+     */
+    public static final Dialect POSIX = new Dialect("posix", posixTable(), null);
+
+    /**
+     * Windows {@code CommandLineToArgvW} quoting rules.
+     */
+    public static final Dialect WINDOWS = new Dialect("windows", windowsTable(), null);
+
+    private final String name;
+    private final Table table;
+    private final String clusterValueOptions;
+
+    private Dialect(String name, Table table, String clusterValueOptions) {
+        this.name = name;
+        this.table = table;
+        this.clusterValueOptions = clusterValueOptions;
+    }
+
+    /**
+     * Returns a dialect with the same quoting rules that also expands
+     * clustered short options: {@code -abc} becomes {@code -a -b -c}.
+     * <p>
+     * Letters of a cluster are flags until one listed in
+     * {@code optionsWithValue}, the rest of the token is its value:
+     * with {@code "p"}, {@code -vp8080} becomes {@code -v -p 8080}. A character
+     * that is not an ASCII letter also starts the value of the preceding
+     * option, so {@code -p8080} works without listing {@code p}, and a
+     * following {@code =} is skipped. Tokens such as {@code --long},
+     * {@code -5} or {@code -x} are left as they are.
+     *
+     * @param optionsWithValue letters of short options that take a value
+     * @return dialect with clustering
+     */
+    public Dialect withShortOptionClustering(String optionsWithValue) {
+        if (optionsWithValue == null) {
+            throw new IllegalArgumentException("optionsWithValue must not be null");
+        }
+        return new Dialect(name + "+clusters", table, optionsWithValue);
+    }
+
+    /**
+     * Returns the dialect name.
+     *
+     * @return name
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "Dialect[" + name + "]";
+    }
+
+    /**
+     * Splits the source into tokens.
+     *
+     * @throws ArgsParseException if a limit is exceeded
+     */
+    String[] split(String source, ArgsLimits limits) {
+        return split(source, limits, null);
+    }
+
+    /**
+     * Splits the source into tokens, and stores start and exclusive end
+     * offsets of every token in {@code offsets[0]}, two entries per token, if
+     * {@code offsets} is not null. Tokens expanded from one short option
+     * cluster share its offsets.
+     *
+     * @throws ArgsParseException if a limit is exceeded
+     */
+    String[] split(String source, ArgsLimits limits, int[][] offsets) {
+        if (source.length() > limits.getMaxSourceLength()) {
+            throw new ArgsParseException(String.format("Source length %d exceeds limit %d", source.length(), limits.getMaxSourceLength()));
+        }
+
+        final int[] transitions = table.transitions;
+        final byte[] classes = table.classes;
+        final int classCount = table.classCount;
+        final int otherClass = table.otherClass;
+        final int maxTokenLength = limits.getMaxTokenLength();
+        final int length = source.length();
+
+        final List<String> result = new ArrayList<>();
+        final StringBuilder buffer = new StringBuilder();
+        boolean marked = false;
+        int backslashes = 0;
+        int state = 0;
+        int tokenStart = 0;
+        int[] spans = offsets != null ? new int[16] : null;
+
+        for (int i = 0; i < length; ) {
+            final char c = source.charAt(i);
+            if (state == 0) {
+                // state 0 is outside of a token in every table
+                tokenStart = i;
+            }
+            final int entry = transitions[state * classCount + (c < 128 ? classes[c] : otherClass)];
+            state = entry >>> 16;
+            final int actions = entry & 0xFFFF;
+
+            if (actions != APPEND) {
+                if ((actions & (HALF_BACKSLASHES | ALL_BACKSLASHES)) != 0) {
+                    appendBackslashes(buffer, (actions & HALF_BACKSLASHES) != 0 ? backslashes / 2 : backslashes);
+                    backslashes = 0;
+                }
+                if ((actions & COUNT_BACKSLASH) != 0) backslashes++;
+                if ((actions & APPEND_PREVIOUS) != 0) buffer.append(source.charAt(i - 1));
+                if ((actions & ANSI_ESCAPE) != 0) appendAnsiEscape(buffer, c);
+                if ((actions & MARK) != 0) marked = true;
+                if ((actions & EMIT) != 0) {
+                    final int emitted = result.size();
+                    emit(buffer, marked, result, limits);
+                    spans = span(spans, emitted, result.size(), tokenStart, i);
+                    marked = false;
+                }
+                if ((actions & RETRY) != 0) continue;
+            }
+            if ((actions & APPEND) != 0) {
+                buffer.append(c);
+                if (buffer.length() > maxTokenLength) {
+                    throw new ArgsParseException("Token length exceeds limit " + maxTokenLength);
+                }
+            }
+            i++;
+        }
+
+        final int end = table.endActions[state];
+        if ((end & UNTERMINATED) != 0 && limits.isStrictQuotes()) {
+            throw new ArgsParseException("Unterminated quote").withSpan(source, tokenStart, length);
+        }
+        if ((end & ALL_BACKSLASHES) != 0) appendBackslashes(buffer, backslashes);
+        if ((end & APPEND_PREVIOUS) != 0) buffer.append(source.charAt(length - 1));
+        if (buffer.length() > maxTokenLength) {
+            throw new ArgsParseException("Token length exceeds limit " + maxTokenLength);
+        }
+        final int emitted = result.size();
+        emit(buffer, marked, result, limits);
+        spans = span(spans, emitted, result.size(), tokenStart, length);
+
+        if (offsets != null) {
+            offsets[0] = Arrays.copyOf(spans, result.size() * 2);
+        }
+        return result.toArray(new String[0]);
+    }
+
+    /**
+     * Records the same offsets for tokens {@code [from, to)}.
+     */
+    private static int[] span(int[] spans, int from, int to, int start, int end) {
+        if (spans == null || from == to) {
+            return spans;
+        }
+        if (to * 2 > spans.length) {
+            spans = Arrays.copyOf(spans, Math.max(spans.length * 2, to * 2));
+        }
+        for (int t = from; t < to; t++) {
+            spans[t * 2] = start;
+            spans[t * 2 + 1] = end;
+        }
+        return spans;
+    }
+
+    private void emit(StringBuilder buffer, boolean marked, List<String> result, ArgsLimits limits) {
+        if (buffer.length() == 0 && !marked) {
+            return;
+        }
+
+        final String token = buffer.toString();
+        buffer.setLength(0);
+        if (clusterValueOptions != null && isCluster(token)) {
+            expandCluster(token, result, limits);
+        } else {
+            add(token, result, limits);
+        }
+    }
+
+    private static void add(String token, List<String> result, ArgsLimits limits) {
+        if (result.size() == limits.getMaxTokens()) {
+            throw new ArgsParseException("Token count exceeds limit " + limits.getMaxTokens());
+        }
+        result.add(token);
+    }
+
+    private static boolean isCluster(String token) {
+        return token.length() > 2 && token.charAt(0) == '-' && isLetter(token.charAt(1));
+    }
+
+    private void expandCluster(String token, List<String> result, ArgsLimits limits) {
+        for (int i = 1; i < token.length(); i++) {
+            final char c = token.charAt(i);
+            if (!isLetter(c)) {
+                final int valueStart = c == '=' ? i + 1 : i;
+                add(token.substring(valueStart), result, limits);
+                return;
+            }
+
+            add("-" + c, result, limits);
+            if (clusterValueOptions.indexOf(c) >= 0 && i + 1 < token.length()) {
+                final int valueStart = token.charAt(i + 1) == '=' ? i + 2 : i + 1;
+                add(token.substring(valueStart), result, limits);
+                return;
+            }
+        }
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static void appendBackslashes(StringBuilder buffer, int count) {
+        for (int i = 0; i < count; i++) {
+            buffer.append('\\');
+        }
+    }
+
+    private static void appendAnsiEscape(StringBuilder buffer, char c) {
+        switch (c) {
+            case 'n': buffer.append('\n'); break;
+            case 't': buffer.append('\t'); break;
+            case 'r': buffer.append('\r'); break;
+            case 'a': buffer.append('\u0007'); break;
+            case 'b': buffer.append('\b'); break;
+            case 'e':
+            case 'E': buffer.append('\u001B'); break;
+            case 'f': buffer.append('\f'); break;
+            case 'v': buffer.append('\u000B'); break;
+            case '\\':
+            case '\'':
+            case '"':
+            case '?': buffer.append(c); break;
+            default: buffer.append('\\').append(c);
+        }
+    }
+
+    private static Table defaultTable() {
+        final int space = 0, backslash = 1, singleQuote = 2, doubleQuote = 3, other = 4;
+        final int out = 0, word = 1, escape = 2, single = 3, singleEscape = 4, dbl = 5, doubleEscape = 6;
+
+        final Table t = new Table(7, 5, other);
+        t.classOf("\n\t\r\b ", space).classOf("\\", backslash).classOf("'", singleQuote).classOf("\"", doubleQuote);
+
+        t.any(out, word, APPEND).on(out, space, out, 0).on(out, backslash, escape, 0)
+                .on(out, singleQuote, single, 0).on(out, doubleQuote, dbl, 0);
+        t.any(word, word, APPEND).on(word, space, out, EMIT).on(word, backslash, escape, 0)
+                .on(word, singleQuote, single, 0).on(word, doubleQuote, dbl, 0);
+        t.any(escape, word, APPEND);
+        t.any(single, single, APPEND).on(single, singleQuote, word, 0).on(single, backslash, singleEscape, 0);
+        t.any(singleEscape, single, APPEND);
+        t.any(dbl, dbl, APPEND).on(dbl, doubleQuote, word, 0).on(dbl, backslash, doubleEscape, 0);
+        t.any(doubleEscape, dbl, APPEND);
+
+        t.end(escape, APPEND_PREVIOUS).end(single, UNTERMINATED).end(dbl, UNTERMINATED)
+                .end(singleEscape, APPEND_PREVIOUS | UNTERMINATED).end(doubleEscape, APPEND_PREVIOUS | UNTERMINATED);
+        return t;
+    }
+
+    private static Table posixTable() {
+        final int space = 0, newline = 1, backslash = 2, singleQuote = 3, doubleQuote = 4,
+                dollar = 5, backtick = 6, other = 7;
+        final int out = 0, word = 1, escape = 2, single = 3, dbl = 4, doubleEscape = 5,
+                dollarSeen = 6, ansi = 7, ansiEscape = 8;
+
+        final Table t = new Table(9, 8, other);
+        t.classOf(" \t", space).classOf("\n", newline).classOf("\\", backslash).classOf("'", singleQuote)
+                .classOf("\"", doubleQuote).classOf("$", dollar).classOf("`", backtick);
+
+        t.any(out, word, APPEND).on(out, space, out, 0).on(out, newline, out, 0).on(out, backslash, escape, 0)
+                .on(out, singleQuote, single, MARK).on(out, doubleQuote, dbl, MARK).on(out, dollar, dollarSeen, 0);
+        t.any(word, word, APPEND).on(word, space, out, EMIT).on(word, newline, out, EMIT)
+                .on(word, backslash, escape, 0).on(word, singleQuote, single, MARK)
+                .on(word, doubleQuote, dbl, MARK).on(word, dollar, dollarSeen, 0);
+        // backslash-newline is a line continuation
+        t.any(escape, word, APPEND).on(escape, newline, word, 0);
+        t.any(single, single, APPEND).on(single, singleQuote, word, 0);
+        t.any(dbl, dbl, APPEND).on(dbl, doubleQuote, word, 0).on(dbl, backslash, doubleEscape, 0);
+        t.any(doubleEscape, dbl, APPEND_PREVIOUS | APPEND).on(doubleEscape, newline, dbl, 0)
+                .on(doubleEscape, dollar, dbl, APPEND).on(doubleEscape, backtick, dbl, APPEND)
+                .on(doubleEscape, doubleQuote, dbl, APPEND).on(doubleEscape, backslash, dbl, APPEND);
+        t.any(dollarSeen, word, APPEND_PREVIOUS | RETRY).on(dollarSeen, singleQuote, ansi, MARK);
+        t.any(ansi, ansi, APPEND).on(ansi, singleQuote, word, 0).on(ansi, backslash, ansiEscape, 0);
+        t.any(ansiEscape, ansi, ANSI_ESCAPE);
+
+        t.end(escape, APPEND_PREVIOUS).end(dollarSeen, APPEND_PREVIOUS).end(single, UNTERMINATED)
+                .end(dbl, UNTERMINATED).end(doubleEscape, APPEND_PREVIOUS | UNTERMINATED)
+                .end(ansi, UNTERMINATED).end(ansiEscape, APPEND_PREVIOUS | UNTERMINATED);
+        return t;
+    }
+
+    private static Table windowsTable() {
+        final int space = 0, backslash = 1, doubleQuote = 2, other = 3;
+        final int out = 0, word = 1, quoted = 2, quoteEnd = 3,
+                oddWord = 4, evenWord = 5, oddQuoted = 6, evenQuoted = 7;
+
+        final Table t = new Table(8, 4, other);
+        t.classOf(" \t\r\n", space).classOf("\\", backslash).classOf("\"", doubleQuote);
+
+        t.any(out, word, APPEND).on(out, space, out, 0).on(out, backslash, oddWord, COUNT_BACKSLASH)
+                .on(out, doubleQuote, quoted, MARK);
+        t.any(word, word, APPEND).on(word, space, out, EMIT).on(word, backslash, oddWord, COUNT_BACKSLASH)
+                .on(word, doubleQuote, quoted, MARK);
+        t.any(quoted, quoted, APPEND).on(quoted, doubleQuote, quoteEnd, 0)
+                .on(quoted, backslash, oddQuoted, COUNT_BACKSLASH);
+        // "" inside quotes is a literal quote, anything else continues unquoted
+        t.any(quoteEnd, word, RETRY).on(quoteEnd, doubleQuote, quoted, APPEND);
+
+        t.any(oddWord, word, ALL_BACKSLASHES | RETRY).on(oddWord, backslash, evenWord, COUNT_BACKSLASH)
+                .on(oddWord, doubleQuote, word, HALF_BACKSLASHES | APPEND);
+        t.any(evenWord, word, ALL_BACKSLASHES | RETRY).on(evenWord, backslash, oddWord, COUNT_BACKSLASH)
+                .on(evenWord, doubleQuote, quoted, HALF_BACKSLASHES | MARK);
+        t.any(oddQuoted, quoted, ALL_BACKSLASHES | RETRY).on(oddQuoted, backslash, evenQuoted, COUNT_BACKSLASH)
+                .on(oddQuoted, doubleQuote, quoted, HALF_BACKSLASHES | APPEND);
+        t.any(evenQuoted, quoted, ALL_BACKSLASHES | RETRY).on(evenQuoted, backslash, oddQuoted, COUNT_BACKSLASH)
+                .on(evenQuoted, doubleQuote, quoteEnd, HALF_BACKSLASHES);
+
+        t.end(quoted, UNTERMINATED).end(oddWord, ALL_BACKSLASHES).end(evenWord, ALL_BACKSLASHES)
+                .end(oddQuoted, ALL_BACKSLASHES | UNTERMINATED).end(evenQuoted, ALL_BACKSLASHES | UNTERMINATED);
+        return t;
+    }
+
+    /**
+     * Compiled state-transition table. Entries hold the next state in the
+     * high and the actions in the low 16 bits. State 0 is the initial state,
+     * between tokens.
+     */
+    private static final class Table {
+        final byte[] classes = new byte[128];
+        final int classCount;
+        final int otherClass;
+        final int[] transitions;
+        final int[] endActions;
+
+        Table(int stateCount, int classCount, int otherClass) {
+            this.classCount = classCount;
+            this.otherClass = otherClass;
+            transitions = new int[stateCount * classCount];
+            endActions = new int[stateCount];
+            Arrays.fill(classes, (byte) otherClass);
+        }
+
+        Table classOf(String chars, int characterClass) {
+            for (int i = 0; i < chars.length(); i++) {
+                classes[chars.charAt(i)] = (byte) characterClass;
+            }
+            return this;
+        }
+
+        Table any(int state, int next, int actions) {
+            for (int c = 0; c < classCount; c++) {
+                on(state, c, next, actions);
+            }
+            return this;
+        }
+
+        Table on(int state, int characterClass, int next, int actions) {
+            transitions[state * classCount + characterClass] = next << 16 | actions;
+            return this;
+        }
+
+        Table end(int state, int actions) {
+            endActions[state] = actions;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tokens stored as spans over a buffer in the {@link ArgsCodec} encoding.
+ * <p>
+ * Strings are created only for tokens that are read, and cached afterwards.
+ * Option keys are compared with Latin-1 spans, and ASCII keys with UTF-8
+ * spans, directly in the buffer. The buffer content must not change while
+ * the tokens are in use.
+ */
+final class EncodedTokens extends Tokens {
+
+    private final ByteBuffer buffer;
+    private final int[] spans;
+    private final String[] keys;
+    private final String[] strings;
+
+    /**
+     * @param spans tag, position and length (or dictionary key id) of every token
+     */
+    EncodedTokens(ByteBuffer buffer, int[] spans, String[] keys) {
+        this.buffer = buffer;
+        this.spans = spans;
+        this.keys = keys;
+        strings = new String[spans.length / 3];
+    }
+
+    @Override
+    int size() {
+        return strings.length;
+    }
+
+    @Override
+    String get(int index) {
+        String result = strings[index];
+        if (result == null) {
+            final int offset = index * 3;
+            final int tag = spans[offset];
+            if (tag == ArgsCodec.KEY) {
+                result = keys[spans[offset + 2]];
+            } else {
+                final byte[] bytes = new byte[spans[offset + 2]];
+                final ByteBuffer slice = buffer.duplicate();
+                slice.position(spans[offset + 1]);
+                slice.get(bytes);
+                result = new String(bytes, tag == ArgsCodec.LATIN_1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+            }
+            strings[index] = result;
+        }
+        return result;
+    }
+
+    @Override
+    int match(int index, String key) {
+        final int offset = index * 3;
+        final int tag = spans[offset];
+        if (tag == ArgsCodec.KEY || strings[index] != null) {
+            return super.match(index, key);
+        }
+
+        final int start = spans[offset + 1];
+        final int length = spans[offset + 2];
+        final int keyLength = key.length();
+        if (length < keyLength) {
+            return NO_MATCH;
+        }
+        final int limit = tag == ArgsCodec.LATIN_1 ? 0xFF : 0x7F;
+        for (int i = 0; i < keyLength; i++) {
+            final char c = key.charAt(i);
+            if (c > limit) {
+                return tag == ArgsCodec.LATIN_1 ? NO_MATCH : super.match(index, key);
+            }
+            if ((buffer.get(start + i) & 0xFF) != c) {
+                return NO_MATCH;
+            }
+        }
+        if (length == keyLength) {
+            return KEY;
+        }
+        return buffer.get(start + keyLength) == '=' ? KEY_VALUE : NO_MATCH;
+    }
+}
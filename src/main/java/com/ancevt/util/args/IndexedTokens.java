@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tokens kept as a string array together with a key index, so option lookups
+ * do not scan the tokens.
+ * <p>
+ * Every token is indexed as a key, and so is each part of it before an
+ * {@code =}, which is exactly what {@link Tokens#match(int, String)} accepts.
+ * Only the first matching token is kept per key.
+ * <p>
+ * Tokens merged from several sources keep the end of each source, so an
+ * option at the end of one source never takes the first token of the next
+ * as its value.
+ */
+final class IndexedTokens extends Tokens {
+
+    private final String[] elements;
+    private final Map<String, Integer> index;
+    private final int[] layerEnds;
+    private final int[] ranks;
+    private final int positionals;
+
+    IndexedTokens(String[] elements) {
+        this(elements, index(elements, elements.length));
+    }
+
+    /**
+     * Creates storage over an index built with {@link #register(Map, String, int)}.
+     */
+    IndexedTokens(String[] elements, Map<String, Integer> index) {
+        this(elements, index, new int[]{elements.length}, new int[]{0}, elements.length);
+    }
+
+    /**
+     * Creates storage over tokens merged from several layers.
+     *
+     * @param layerEnds   exclusive end of each layer in storage order, ascending
+     * @param ranks       precedence of each layer in storage order, 0 for the highest
+     * @param positionals number of leading tokens holding positional arguments
+     */
+    IndexedTokens(String[] elements, Map<String, Integer> index, int[] layerEnds, int[] ranks, int positionals) {
+        this.elements = elements;
+        this.index = index;
+        this.layerEnds = layerEnds;
+        this.ranks = ranks;
+        this.positionals = positionals;
+    }
+
+    static Map<String, Integer> index(String[] elements, int count) {
+        final Map<String, Integer> index = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            register(index, elements[i], i);
+        }
+        return index;
+    }
+
+    /**
+     * Adds keys matched by the token unless an earlier token already matches them.
+     */
+    static void register(Map<String, Integer> index, String token, int i) {
+        index.putIfAbsent(token, i);
+        for (int eq = token.indexOf('='); eq >= 0; eq = token.indexOf('=', eq + 1)) {
+            index.putIfAbsent(token.substring(0, eq), i);
+        }
+    }
+
+    @Override
+    int size() {
+        return elements.length;
+    }
+
+    @Override
+    String get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    int indexOf(String key) {
+        final Integer i = index.get(key);
+        return i != null ? i : -1;
+    }
+
+    @Override
+    int layerEnd(int index) {
+        final int layer = layer(index);
+        return layer >= 0 ? layerEnds[layer] : elements.length;
+    }
+
+    @Override
+    int rank(int index) {
+        final int layer = layer(index);
+        return layer >= 0 ? ranks[layer] : 0;
+    }
+
+    private int layer(int index) {
+        for (int i = 0; i < layerEnds.length; i++) {
+            if (index < layerEnds[i]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    int positionals() {
+        return positionals;
+    }
+
+    @Override
+    String[] toArray(int from, int to) {
+        if (from == 0 && to == elements.length) {
+            return elements;
+        }
+        return Arrays.copyOfRange(elements, from, to);
+    }
+}
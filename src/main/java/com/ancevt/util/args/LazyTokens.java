@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.Arrays;
+
+/**
+ * Tokens split from a source string on demand.
+ * <p>
+ * The source is scanned only as far as reads require, so checking the
+ * first element of a long command line does not tokenize the rest of it.
+ * Once the whole source has been scanned, the storage behaves like
+ * {@link ArrayTokens}. Only extending the scan takes a lock; tokens already
+ * scanned are read without one.
+ */
+final class LazyTokens extends Tokens {
+
+    private static final String[] NO_ELEMENTS = new String[0];
+
+    private final String source;
+    private final char delimiterChar;
+    private final StringBuilder buffer = new StringBuilder();
+    private int position;
+
+    // written under the lock and read without it: a reader that sees count
+    // also sees the first count elements, which later copies keep
+    private volatile String[] elements = NO_ELEMENTS;
+    private volatile int count;
+    private volatile boolean complete;
+
+    LazyTokens(String source, char delimiterChar) {
+        this.source = source;
+        this.delimiterChar = delimiterChar;
+        position = source.isEmpty() ? -1 : 0;
+        complete = position < 0;
+    }
+
+    /**
+     * Scans tokens until the one at {@code index} is available or the source
+     * ends. Callers hold the lock.
+     *
+     * @return true if the token exists
+     */
+    private boolean ensure(int index) {
+        int n = count;
+        while (index >= n && position >= 0) {
+            position = ArgsSplitHelper.nextToken(source, position, delimiterChar, buffer);
+            if (position < 0) {
+                if (elements.length != n) {
+                    elements = Arrays.copyOf(elements, n);
+                }
+                complete = true;
+                break;
+            }
+
+            String[] array = elements;
+            if (n == array.length) {
+                array = Arrays.copyOf(array, Math.max(8, n * 2));
+                elements = array;
+            }
+            array[n] = buffer.toString();
+            count = ++n;
+            buffer.setLength(0);
+        }
+        return index < n;
+    }
+
+    @Override
+    boolean has(int index) {
+        if (index < count) {
+            return true;
+        }
+        if (complete) {
+            return false;
+        }
+        synchronized (this) {
+            return ensure(index);
+        }
+    }
+
+    @Override
+    int size() {
+        if (!complete) {
+            synchronized (this) {
+                ensure(Integer.MAX_VALUE);
+            }
+        }
+        return count;
+    }
+
+    @Override
+    String get(int index) {
+        if (index >= 0 && index < count) {
+            return elements[index];
+        }
+        synchronized (this) {
+            if (!ensure(index)) {
+                throw new ArrayIndexOutOfBoundsException(index);
+            }
+            return elements[index];
+        }
+    }
+
+    /**
+     * Returns the number of tokens scanned so far.
+     */
+    int scanned() {
+        return count;
+    }
+
+    @Override
+    String source() {
+        return source;
+    }
+
+    @Override
+    String[] toArray(int from, int to) {
+        size();
+        final String[] array = elements;
+        if (from == 0 && to == array.length) {
+            return array;
+        }
+        return Arrays.copyOfRange(array, from, to);
+    }
+}
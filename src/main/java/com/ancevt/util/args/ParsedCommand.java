@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.List;
+
+/**
+ * Result of {@link CommandParser#parse(Args)}: converted values stored in
+ * fixed slots, one per declared option or positional argument.
+ * <p>
+ * Absent arguments hold their declared default value, flags default to
+ * {@code false}. Instances are immutable.
+ */
+public final class ParsedCommand {
+
+    private final CommandParser parser;
+    private final Object[] values;
+    private final boolean[] present;
+    private final List<String> rest;
+
+    ParsedCommand(CommandParser parser, Object[] values, boolean[] present, List<String> rest) {
+        this.parser = parser;
+        this.values = values;
+        this.present = present;
+        this.rest = rest;
+    }
+
+    /**
+     * Returns the value in the given slot.
+     *
+     * @param slot slot number from {@link CommandParser#slot(String)}
+     * @return converted value or default
+     */
+    public Object get(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Returns the value in the given slot cast to the given type.
+     *
+     * @param type expected type, primitives are not supported
+     * @param slot slot number from {@link CommandParser#slot(String)}
+     * @param <T>  type parameter
+     * @return converted value or default
+     */
+    public <T> T get(Class<T> type, int slot) {
+        return type.cast(values[slot]);
+    }
+
+    /**
+     * Returns the value of the named option or positional.
+     *
+     * @param name option name, alias or positional name
+     * @return converted value or default
+     * @throws ArgsParseException if the name is not declared
+     */
+    public Object get(String name) {
+        return values[parser.slot(name)];
+    }
+
+    /**
+     * Returns the value of the named option or positional cast to the given type.
+     *
+     * @param type expected type, primitives are not supported
+     * @param name option name, alias or positional name
+     * @param <T>  type parameter
+     * @return converted value or default
+     * @throws ArgsParseException if the name is not declared
+     */
+    public <T> T get(Class<T> type, String name) {
+        return type.cast(values[parser.slot(name)]);
+    }
+
+    /**
+     * Checks whether the argument in the given slot was present on the command line.
+     *
+     * @param slot slot number
+     * @return true if present
+     */
+    public boolean contains(int slot) {
+        return present[slot];
+    }
+
+    /**
+     * Checks whether the named argument was present on the command line.
+     *
+     * @param name option name, alias or positional name
+     * @return true if present
+     * @throws ArgsParseException if the name is not declared
+     */
+    public boolean contains(String name) {
+        return present[parser.slot(name)];
+    }
+
+    /**
+     * Returns positional arguments beyond the declared ones, when the schema
+     * allows them.
+     *
+     * @return unmodifiable list, empty if there are none
+     */
+    public List<String> getRest() {
+        return rest;
+    }
+
+    /**
+     * Returns the parser that produced this result.
+     *
+     * @return parser
+     */
+    public CommandParser getParser() {
+        return parser;
+    }
+}
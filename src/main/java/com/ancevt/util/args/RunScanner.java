@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+/**
+ * Finds the end of runs of characters the tokenizer copies unchanged, so
+ * they can be appended in bulk instead of character by character.
+ * <p>
+ * This is the scalar implementation. The Java 21 layer of the multi-release
+ * JAR replaces it with one that scans long runs with the Vector API.
+ */
+final class RunScanner {
+
+    private RunScanner() {}
+
+    /**
+     * Returns the index of the first quote, backslash or delimiter in
+     * {@code [from, to)}, or {@code to}.
+     *
+     * @param delimiterChar delimiter, or {@code '\0'} for whitespace
+     */
+    static int skipPlain(String source, int from, int to, char delimiterChar) {
+        for (int i = from; i < to; i++) {
+            if (isSpecial(source.charAt(i), delimiterChar)) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Returns the index of the first {@code quoteChar} or backslash in
+     * {@code [from, to)}, or {@code to}.
+     */
+    static int skipQuoted(String source, int from, int to, char quoteChar) {
+        for (int i = from; i < to; i++) {
+            final char c = source.charAt(i);
+            if (c == quoteChar || c == '\\') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Checks whether long runs are scanned with vectors. Java 8 version: always false.
+     */
+    static boolean isVectorized() {
+        return false;
+    }
+
+    static boolean isSpecial(char c, char delimiterChar) {
+        if (c == '"' || c == '\'' || c == '\\') {
+            return true;
+        }
+        if (delimiterChar == '\0') {
+            return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\b';
+        }
+        return c == delimiterChar;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import java.util.Arrays;
+
+/**
+ * Tokens kept as a plain string array together with their offsets in the
+ * source. Used only when diagnostics are enabled, see
+ * {@link ArgsLimits.Builder#diagnostics(boolean)}.
+ */
+final class SpannedTokens extends Tokens {
+
+    private final String source;
+    private final String[] elements;
+    private final int[] offsets;
+
+    /**
+     * @param offsets start and exclusive end offset of every token, two entries per token
+     */
+    SpannedTokens(String source, String[] elements, int[] offsets) {
+        this.source = source;
+        this.elements = elements;
+        this.offsets = offsets;
+    }
+
+    @Override
+    int size() {
+        return elements.length;
+    }
+
+    @Override
+    String get(int index) {
+        return elements[index];
+    }
+
+    @Override
+    int start(int index) {
+        return offsets[index * 2];
+    }
+
+    @Override
+    int end(int index) {
+        return offsets[index * 2 + 1];
+    }
+
+    @Override
+    String source() {
+        return source;
+    }
+
+    @Override
+    String[] toArray(int from, int to) {
+        if (from == 0 && to == elements.length) {
+            return elements;
+        }
+        return Arrays.copyOfRange(elements, from, to);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+/**
+ * Storage of the tokens behind an {@link Args} instance.
+ * <p>
+ * Implementations may keep tokens as strings or as spans over some other
+ * representation, creating strings only when a token is actually read.
+ */
+abstract class Tokens {
+
+    static final int NO_MATCH = 0;
+    static final int KEY = 1;
+    static final int KEY_VALUE = 2;
+
+    /**
+     * Returns the number of tokens.
+     */
+    abstract int size();
+
+    /**
+     * Checks whether a token exists at the given index. Unlike {@link #size()},
+     * this does not force lazy storage to produce all tokens.
+     */
+    boolean has(int index) {
+        return index < size();
+    }
+
+    /**
+     * Returns the token at the given index.
+     */
+    abstract String get(int index);
+
+    /**
+     * Returns the token at the given index as a character sequence, which
+     * storage may implement as a view without creating a string.
+     */
+    CharSequence sequence(int index) {
+        return get(index);
+    }
+
+    /**
+     * Checks how the token at the given index matches an option key:
+     * {@link #KEY} for the key itself, {@link #KEY_VALUE} for
+     * {@code key=value}, otherwise {@link #NO_MATCH}.
+     */
+    int match(int index, String key) {
+        final String token = get(index);
+        final int keyLength = key.length();
+        if (token.length() == keyLength) {
+            return token.equals(key) ? KEY : NO_MATCH;
+        }
+        if (token.length() > keyLength && token.charAt(keyLength) == '=' && token.startsWith(key)) {
+            return KEY_VALUE;
+        }
+        return NO_MATCH;
+    }
+
+    /**
+     * Returned by {@link #indexOf(String)} when tokens have to be scanned.
+     */
+    static final int UNINDEXED = -2;
+
+    /**
+     * Returns the index of the first token matching the key as in
+     * {@link #match(int, String)}, -1 if no token matches, or
+     * {@link #UNINDEXED} if the storage keeps no key index.
+     */
+    int indexOf(String key) {
+        return UNINDEXED;
+    }
+
+    /**
+     * Returns the exclusive end of the layer holding the token at the given
+     * index. An option value is never taken from beyond it.
+     */
+    int layerEnd(int index) {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the precedence of the layer holding the token at the given
+     * index, 0 for the highest.
+     */
+    int rank(int index) {
+        return 0;
+    }
+
+    /**
+     * Returns the number of leading tokens that can be read as positional
+     * arguments.
+     */
+    int positionals() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the start offset of the token in {@link #source()}, or -1 if
+     * the storage does not track offsets.
+     */
+    int start(int index) {
+        return -1;
+    }
+
+    /**
+     * Returns the exclusive end offset of the token in {@link #source()},
+     * or -1 if the storage does not track offsets.
+     */
+    int end(int index) {
+        return -1;
+    }
+
+    /**
+     * Returns the original source of all tokens, or null if it is not known
+     * and has to be rebuilt from the tokens.
+     */
+    String source() {
+        return null;
+    }
+
+    /**
+     * Copies tokens in range {@code [from, to)} into a new array.
+     */
+    String[] toArray(int from, int to) {
+        final String[] result = new String[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.metrics;
+
+/**
+ * Bridge to JDK Flight Recorder events emitted while parsing and binding.
+ * <p>
+ * This Java 8 version is a no-op. The multi-release JAR ships a Java 11+
+ * version of this class that emits {@code com.ancevt.args.Parse} and
+ * {@code com.ancevt.args.Bind} events. Events are only created while they
+ * are enabled in the running recording, otherwise {@code begin*} methods
+ * return {@code null}.
+ * <p>
+ * Used internally by the library; not intended to be called by applications.
+ */
+public final class ArgsEvents {
+
+    private ArgsEvents() {}
+
+    /**
+     * Checks whether parse events are enabled in a running recording. Callers
+     * that could defer work past the end of a parse event use this to do the
+     * work up front instead.
+     *
+     * @return true if parse events are recorded
+     */
+    public static boolean isParseEnabled() {
+        return false;
+    }
+
+    /**
+     * Starts a parse event.
+     *
+     * @return event handle or null if the event is disabled
+     */
+    public static Object beginParse() {
+        return null;
+    }
+
+    /**
+     * Commits a parse event started by {@link #beginParse()}.
+     *
+     * @param event        event handle, may be null
+     * @param sourceLength length of the parsed source
+     * @param tokenCount   number of produced tokens
+     * @param failure      parse error or null
+     */
+    public static void endParse(Object event, int sourceLength, int tokenCount, Throwable failure) {
+    }
+
+    /**
+     * Starts a bind event.
+     *
+     * @return event handle or null if the event is disabled
+     */
+    public static Object beginBind() {
+        return null;
+    }
+
+    /**
+     * Commits a bind event started by {@link #beginBind()}.
+     *
+     * @param event      event handle, may be null
+     * @param targetType bound class
+     * @param failure    binding error or null
+     */
+    public static void endBind(Object event, Class<?> targetType, Throwable failure) {
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.metrics;
+
+/**
+ * Listener SPI receiving parse and bind measurements from the library.
+ * <p>
+ * At most one listener is installed process-wide through
+ * {@link #install(ArgsMetrics)}. While none is installed, instrumented code
+ * only performs a single volatile read and skips all timing.
+ * <p>
+ * Implementations are called on the parsing or binding thread and must be
+ * thread-safe and cheap. All methods have empty default implementations, so
+ * a listener overrides only what it needs.
+ * <p>
+ * Example:
+ * <pre>
+ *     DefaultArgsMetrics metrics = new DefaultArgsMetrics();
+ *     ArgsMetrics.install(metrics);
+ *     ...
+ *     long tokens = metrics.getTokenCount();
+ * </pre>
+ *
+ * @see DefaultArgsMetrics
+ */
+public interface ArgsMetrics {
+
+    /**
+     * Called after a source string has been split into tokens.
+     *
+     * @param sourceLength length of the source string
+     * @param tokenCount   number of produced tokens
+     * @param nanos        time spent tokenizing, in nanoseconds
+     */
+    default void tokenized(int sourceLength, int tokenCount, long nanos) {
+    }
+
+    /**
+     * Called for every key lookup ({@code contains} or {@code get} by key).
+     */
+    default void lookup() {
+    }
+
+    /**
+     * Called when a value cannot be converted to the requested type.
+     *
+     * @param type  requested type
+     * @param cause conversion error
+     */
+    default void conversionFailed(Class<?> type, Throwable cause) {
+    }
+
+    /**
+     * Called after an object has been bound by the binder.
+     *
+     * @param type    bound class
+     * @param nanos   time spent binding, in nanoseconds
+     * @param success false if binding ended with an exception
+     */
+    default void bound(Class<?> type, long nanos, boolean success) {
+    }
+
+    /**
+     * Installs the process-wide listener, replacing the previous one.
+     *
+     * @param metrics listener, or null to disable instrumentation
+     */
+    static void install(ArgsMetrics metrics) {
+        ArgsMetricsHolder.current = metrics;
+    }
+
+    /**
+     * Removes the installed listener.
+     */
+    static void uninstall() {
+        ArgsMetricsHolder.current = null;
+    }
+
+    /**
+     * Returns the installed listener.
+     *
+     * @return listener or null if instrumentation is disabled
+     */
+    static ArgsMetrics installed() {
+        return ArgsMetricsHolder.current;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.metrics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default lock-free {@link ArgsMetrics} implementation.
+ * <p>
+ * Counters are {@link LongAdder}s and latencies go into fixed-bucket
+ * {@link LatencyHistogram}s, so recording never blocks. Getters return
+ * current sums and are meant to be polled by an exporter.
+ */
+public class DefaultArgsMetrics implements ArgsMetrics {
+
+    private final LongAdder tokenizeCount = new LongAdder();
+    private final LongAdder tokenCount = new LongAdder();
+    private final LongAdder sourceChars = new LongAdder();
+    private final LatencyHistogram tokenizeLatency = new LatencyHistogram();
+    private final LongAdder lookupCount = new LongAdder();
+    private final ConcurrentMap<Class<?>, LongAdder> conversionFailures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<?>, LatencyHistogram> bindLatencies = new ConcurrentHashMap<>();
+    private final LongAdder bindFailures = new LongAdder();
+
+    @Override
+    public void tokenized(int sourceLength, int tokenCount, long nanos) {
+        tokenizeCount.increment();
+        this.tokenCount.add(tokenCount);
+        sourceChars.add(sourceLength);
+        tokenizeLatency.record(nanos);
+    }
+
+    @Override
+    public void lookup() {
+        lookupCount.increment();
+    }
+
+    @Override
+    public void conversionFailed(Class<?> type, Throwable cause) {
+        LongAdder counter = conversionFailures.get(type);
+        if (counter == null) {
+            counter = conversionFailures.computeIfAbsent(type, t -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    @Override
+    public void bound(Class<?> type, long nanos, boolean success) {
+        LatencyHistogram histogram = bindLatencies.get(type);
+        if (histogram == null) {
+            histogram = bindLatencies.computeIfAbsent(type, t -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+        if (!success) {
+            bindFailures.increment();
+        }
+    }
+
+    /**
+     * Returns the number of tokenized source strings.
+     *
+     * @return tokenize call count
+     */
+    public long getTokenizeCount() {
+        return tokenizeCount.sum();
+    }
+
+    /**
+     * Returns the total number of produced tokens.
+     *
+     * @return token count
+     */
+    public long getTokenCount() {
+        return tokenCount.sum();
+    }
+
+    /**
+     * Returns the total length of tokenized source strings.
+     *
+     * @return character count
+     */
+    public long getSourceChars() {
+        return sourceChars.sum();
+    }
+
+    /**
+     * Returns the tokenize time histogram.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram getTokenizeLatency() {
+        return tokenizeLatency;
+    }
+
+    /**
+     * Returns the number of key lookups.
+     *
+     * @return lookup count
+     */
+    public long getLookupCount() {
+        return lookupCount.sum();
+    }
+
+    /**
+     * Returns conversion failure counts by requested type.
+     *
+     * @return snapshot map
+     */
+    public Map<Class<?>, Long> getConversionFailures() {
+        Map<Class<?>, Long> result = new HashMap<>();
+        conversionFailures.forEach((type, counter) -> result.put(type, counter.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Returns the bind latency histogram of the given class.
+     *
+     * @param type bound class
+     * @return histogram or null if nothing was bound to the class
+     */
+    public LatencyHistogram getBindLatency(Class<?> type) {
+        return bindLatencies.get(type);
+    }
+
+    /**
+     * Returns bind latency histograms by bound class.
+     *
+     * @return unmodifiable live view
+     */
+    public Map<Class<?>, LatencyHistogram> getBindLatencies() {
+        return Collections.unmodifiableMap(bindLatencies);
+    }
+
+    /**
+     * Returns the number of bindings that ended with an exception.
+     *
+     * @return failure count
+     */
+    public long getBindFailures() {
+        return bindFailures.sum();
+    }
+}
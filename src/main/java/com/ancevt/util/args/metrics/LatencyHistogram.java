@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed power-of-two buckets.
+ * <p>
+ * Bucket {@code i} counts values in {@code [2^i, 2^(i+1))} nanoseconds,
+ * bucket 0 also takes zero and negative values. Recording is a single
+ * {@link LongAdder} increment, so concurrent writers do not contend.
+ * Percentiles are approximate: they report the upper bound of the bucket
+ * containing the requested rank.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of buckets.
+     */
+    public static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one measurement.
+     *
+     * @param nanos measured time in nanoseconds
+     */
+    public void record(long nanos) {
+        buckets[bucketOf(nanos)].increment();
+        count.increment();
+        if (nanos > 0) {
+            totalNanos.add(nanos);
+        }
+    }
+
+    /**
+     * Returns the number of recorded measurements.
+     *
+     * @return measurement count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of all recorded measurements.
+     *
+     * @return total nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Returns the number of measurements in the given bucket.
+     *
+     * @param bucket bucket index, {@code 0..BUCKET_COUNT-1}
+     * @return measurement count
+     */
+    public long getBucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Returns the exclusive upper bound of the given bucket.
+     *
+     * @param bucket bucket index, {@code 0..BUCKET_COUNT-1}
+     * @return upper bound in nanoseconds
+     */
+    public static long getBucketUpperBound(int bucket) {
+        return bucket >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << (bucket + 1);
+    }
+
+    /**
+     * Returns an approximate percentile.
+     *
+     * @param percentile value in range {@code (0, 100]}
+     * @return upper bound of the bucket holding the percentile, or 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return getBucketUpperBound(i);
+            }
+        }
+        return getBucketUpperBound(BUCKET_COUNT - 1);
+    }
+
+    private static int bucketOf(long nanos) {
+        if (nanos <= 1) {
+            return 0;
+        }
+        return 63 - Long.numberOfLeadingZeros(nanos);
+    }
+}
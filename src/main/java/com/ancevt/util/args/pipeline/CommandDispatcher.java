@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.pipeline;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.metrics.LatencyHistogram;
+import com.ancevt.util.args.reflection.ArgsBinder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Routes commands to handlers by their first token.
+ * <p>
+ * The remaining tokens are bound to the registered command type through
+ * {@link ArgsBinder}'s cached plans, or handed to the handler as {@link Args}.
+ * Registration and lookup do not lock: routes are kept in a
+ * {@link ConcurrentHashMap}, so commands can be added and removed while
+ * others are being dispatched.
+ * <p>
+ * Every command has its own {@link CommandStats} with invocation and failure
+ * counts and a latency histogram of binding plus handling. The counters are
+ * {@link LongAdder}s, so concurrent dispatches do not contend on them.
+ * <p>
+ * Example:
+ * <pre>
+ *     CommandDispatcher dispatcher = new CommandDispatcher()
+ *             .register("deploy", DeployCommand.class, command -&gt; deploy(command))
+ *             .register("status", args -&gt; printStatus());
+ *
+ *     dispatcher.dispatch("deploy --env prod");
+ *     dispatcher.getSlowest(99, 5).forEach(System.out::println);
+ * </pre>
+ * A dispatcher can serve as the handler of a {@link CommandPipeline}
+ * built with {@link CommandPipeline#builder()}.
+ */
+public final class CommandDispatcher {
+
+    private final ConcurrentMap<String, Route<?>> routes = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a command whose arguments are bound to a new instance of
+     * {@code commandType}.
+     *
+     * @param name        command name, matched against the first token
+     * @param commandType annotated command class
+     * @param handler     handler of bound commands
+     * @param <T>         command type
+     * @return this dispatcher
+     * @throws IllegalArgumentException if the name is already registered
+     */
+    public <T> CommandDispatcher register(String name, Class<T> commandType, Consumer<? super T> handler) {
+        return add(name, new Route<>(name, args -> {
+            try {
+                return ArgsBinder.convert(args, commandType);
+            } catch (ReflectiveOperationException e) {
+                throw new ArgsParseException("Failed to bind " + commandType.getName(), e);
+            }
+        }, handler));
+    }
+
+    /**
+     * Registers a command whose handler receives the arguments after the
+     * command name without binding.
+     *
+     * @param name    command name, matched against the first token
+     * @param handler handler of the remaining arguments
+     * @return this dispatcher
+     * @throws IllegalArgumentException if the name is already registered
+     */
+    public CommandDispatcher register(String name, Consumer<Args> handler) {
+        return add(name, new Route<>(name, Function.identity(), handler));
+    }
+
+    private CommandDispatcher add(String name, Route<?> route) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Command name must not be empty");
+        }
+        if (routes.putIfAbsent(name, route) != null) {
+            throw new IllegalArgumentException("Command already registered: " + name);
+        }
+        return this;
+    }
+
+    /**
+     * Removes a command together with its statistics. Dispatches that have
+     * already looked up the command complete normally.
+     *
+     * @param name command name
+     * @return true if the command was registered
+     */
+    public boolean unregister(String name) {
+        return routes.remove(name) != null;
+    }
+
+    /**
+     * Checks whether a command is registered.
+     *
+     * @param name command name
+     * @return true if registered
+     */
+    public boolean isRegistered(String name) {
+        return routes.containsKey(name);
+    }
+
+    /**
+     * Returns the names of the registered commands in natural order.
+     *
+     * @return command names
+     */
+    public Set<String> getCommands() {
+        return Collections.unmodifiableSet(new TreeSet<>(routes.keySet()));
+    }
+
+    /**
+     * Parses the line and dispatches it.
+     *
+     * @param line command line
+     * @throws ArgsParseException if the line is empty, the command is unknown or binding fails
+     */
+    public void dispatch(String line) {
+        dispatch(Args.parse(line));
+    }
+
+    /**
+     * Dispatches a command by its first element. Exceptions of the handler
+     * are counted as failures and rethrown.
+     *
+     * @param args command name followed by its arguments
+     * @throws ArgsParseException if there are no elements, the command is unknown or binding fails
+     */
+    public void dispatch(Args args) {
+        if (args.isEmpty()) {
+            throw new ArgsParseException("No command given");
+        }
+
+        final String name = args.get(String.class, 0);
+        final Route<?> route = routes.get(name);
+        if (route == null) {
+            throw new ArgsParseException("Unknown command: " + name);
+        }
+        route.invoke(args.tail(1));
+    }
+
+    /**
+     * Returns the statistics of a registered command.
+     *
+     * @param name command name
+     * @return statistics, or null if the command is not registered
+     */
+    public CommandStats getStats(String name) {
+        final Route<?> route = routes.get(name);
+        return route != null ? route.stats : null;
+    }
+
+    /**
+     * Returns the statistics of all registered commands, ordered by name.
+     *
+     * @return statistics
+     */
+    public List<CommandStats> getStats() {
+        final List<CommandStats> result = new ArrayList<>();
+        for (Route<?> route : routes.values()) {
+            result.add(route.stats);
+        }
+        result.sort(Comparator.comparing(CommandStats::getName));
+        return result;
+    }
+
+    /**
+     * Returns the commands with the highest latency at the given percentile.
+     * Commands that were never invoked are skipped.
+     *
+     * @param percentile value in range {@code (0, 100]}
+     * @param limit      maximum number of commands
+     * @return statistics, slowest first
+     */
+    public List<CommandStats> getSlowest(double percentile, int limit) {
+        // snapshot the percentiles first, histograms keep changing under load
+        final Map<CommandStats, Long> latencies = new HashMap<>();
+        for (Route<?> route : routes.values()) {
+            if (route.stats.getInvocationCount() > 0) {
+                latencies.put(route.stats, route.stats.latency.getPercentile(percentile));
+            }
+        }
+
+        final List<CommandStats> result = new ArrayList<>(latencies.keySet());
+        result.sort(Comparator.comparing((CommandStats stats) -> latencies.get(stats)).reversed()
+                .thenComparing(CommandStats::getName));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static final class Route<T> {
+        final Function<Args, T> binder;
+        final Consumer<? super T> handler;
+        final CommandStats stats;
+
+        Route(String name, Function<Args, T> binder, Consumer<? super T> handler) {
+            if (handler == null) {
+                throw new IllegalArgumentException("Handler must not be null");
+            }
+            this.binder = binder;
+            this.handler = handler;
+            stats = new CommandStats(name);
+        }
+
+        void invoke(Args args) {
+            final long start = System.nanoTime();
+            try {
+                handler.accept(binder.apply(args));
+            } catch (RuntimeException | Error e) {
+                stats.failures.increment();
+                throw e;
+            } finally {
+                stats.latency.record(System.nanoTime() - start);
+                stats.invocations.increment();
+            }
+        }
+    }
+
+    /**
+     * Invocation statistics of one command.
+     */
+    public static final class CommandStats {
+        private final String name;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private CommandStats(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Returns the command name.
+         *
+         * @return name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the number of dispatches, including failed ones.
+         *
+         * @return invocation count
+         */
+        public long getInvocationCount() {
+            return invocations.sum();
+        }
+
+        /**
+         * Returns the number of dispatches whose binding or handling failed.
+         *
+         * @return failure count
+         */
+        public long getFailureCount() {
+            return failures.sum();
+        }
+
+        /**
+         * Returns the latency of binding plus handling.
+         *
+         * @return histogram
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d calls, %d failed, p50 %d ns, p99 %d ns", name,
+                    getInvocationCount(), getFailureCount(), latency.getPercentile(50), latency.getPercentile(99));
+        }
+    }
+}
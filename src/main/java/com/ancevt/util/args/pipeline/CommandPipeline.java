@@ -0,0 +1,513 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.pipeline;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.metrics.LatencyHistogram;
+import com.ancevt.util.args.reflection.ArgsBinder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Reads newline-framed commands, parses and binds them, and dispatches them
+ * to a handler running on an executor.
+ * <p>
+ * Stages:
+ * <ol>
+ *     <li>reader: reads a line and tokenizes it into {@link Args} on the calling thread;</li>
+ *     <li>bind: converts {@link Args} to the command type through {@link ArgsBinder}'s cached plans;</li>
+ *     <li>handle: calls the handler.</li>
+ * </ol>
+ * Bind and handle run on the handler executor. At most {@code queueCapacity}
+ * commands are in flight; when the limit is reached the reader blocks, which
+ * propagates backpressure to the input. With a session key, commands of the
+ * same session are handled in arrival order.
+ * <p>
+ * By default handlers run on a fixed platform thread pool, or on virtual
+ * threads when the library runs on Java 21 or newer.
+ * <p>
+ * Example:
+ * <pre>
+ *     try (CommandPipeline&lt;DeployCommand&gt; pipeline = CommandPipeline.builder(DeployCommand.class)
+ *             .handler(command -&gt; deploy(command))
+ *             .queueCapacity(256)
+ *             .build()) {
+ *         pipeline.run(System.in);
+ *     }
+ * </pre>
+ *
+ * @param <T> type of commands passed to the handler
+ */
+public final class CommandPipeline<T> implements AutoCloseable {
+
+    private final Function<Args, T> binder;
+    private final Consumer<? super T> handler;
+    private final BiConsumer<String, Throwable> errorHandler;
+    private final Function<Args, ?> sessionKey;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final SerialExecutor[] lanes;
+    private final Semaphore permits;
+    private final int queueCapacity;
+    private final Charset charset;
+
+    private final LatencyHistogram tokenizeLatency = new LatencyHistogram();
+    private final LatencyHistogram queueLatency = new LatencyHistogram();
+    private final LatencyHistogram bindLatency = new LatencyHistogram();
+    private final LatencyHistogram handleLatency = new LatencyHistogram();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean closed;
+
+    private CommandPipeline(Builder<T> builder) {
+        binder = builder.binder;
+        handler = builder.handler;
+        errorHandler = builder.errorHandler;
+        sessionKey = builder.sessionKey;
+        queueCapacity = builder.queueCapacity;
+        charset = builder.charset;
+        permits = new Semaphore(queueCapacity);
+
+        if (builder.executor != null) {
+            executor = builder.executor;
+            ownedExecutor = null;
+        } else {
+            ownedExecutor = PipelineExecutors.newDefaultExecutor();
+            executor = ownedExecutor;
+        }
+
+        if (sessionKey != null) {
+            lanes = new SerialExecutor[builder.sessionLanes];
+            for (int i = 0; i < lanes.length; i++) {
+                lanes[i] = new SerialExecutor(executor, (task, e) -> ((CommandPipeline<?>.Command) task).reject(e));
+            }
+        } else {
+            lanes = null;
+        }
+    }
+
+    /**
+     * Creates a builder of a pipeline that binds every command to a new
+     * instance of {@code commandType}.
+     *
+     * @param commandType annotated command class
+     * @param <T>         command type
+     * @return builder
+     */
+    public static <T> Builder<T> builder(Class<T> commandType) {
+        return new Builder<>(args -> {
+            try {
+                return ArgsBinder.convert(args, commandType);
+            } catch (ReflectiveOperationException e) {
+                throw new ArgsParseException("Failed to bind " + commandType.getName(), e);
+            }
+        });
+    }
+
+    /**
+     * Creates a builder of a pipeline that hands parsed {@link Args} to the
+     * handler without binding.
+     *
+     * @return builder
+     */
+    public static Builder<Args> builder() {
+        return new Builder<>(Function.identity());
+    }
+
+    /**
+     * Reads commands from the stream until end of input, then waits until all
+     * of them are handled. The stream is not closed.
+     *
+     * @param in input stream of newline-separated commands
+     * @throws IOException          if reading fails
+     * @throws InterruptedException if interrupted while waiting for queue space
+     */
+    public void run(InputStream in) throws IOException, InterruptedException {
+        run(new InputStreamReader(in, charset));
+    }
+
+    /**
+     * Reads commands from the channel until end of input, then waits until
+     * all of them are handled. The channel is not closed.
+     *
+     * @param channel channel of newline-separated commands
+     * @throws IOException          if reading fails
+     * @throws InterruptedException if interrupted while waiting for queue space
+     */
+    public void run(ReadableByteChannel channel) throws IOException, InterruptedException {
+        run(Channels.newReader(channel, charset.newDecoder(), -1));
+    }
+
+    private void run(Reader reader) throws IOException, InterruptedException {
+        BufferedReader bufferedReader = new BufferedReader(reader);
+        String line;
+        while (!closed && (line = bufferedReader.readLine()) != null) {
+            submit(line);
+        }
+        awaitIdle();
+    }
+
+    /**
+     * Tokenizes a single command on the calling thread and queues it for
+     * handling. Blocks while the queue is full. Blank lines are ignored.
+     * A command whose session key cannot be extracted is passed to the
+     * error handler like any other failed command.
+     *
+     * @param line command line
+     * @throws InterruptedException if interrupted while waiting for queue space
+     * @throws IllegalStateException if the pipeline is closed
+     */
+    public void submit(String line) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Pipeline is closed");
+        }
+
+        final long start = System.nanoTime();
+        final Args args = Args.parse(line);
+        // tokenize the whole line here rather than lazily on the handler thread
+        final int size = args.size();
+        tokenizeLatency.record(System.nanoTime() - start);
+        if (size == 0) {
+            return;
+        }
+
+        // resolved before taking a permit, the session key function may throw
+        final Executor target;
+        try {
+            target = executorFor(args);
+        } catch (RuntimeException e) {
+            fail(line, e);
+            return;
+        }
+        permits.acquire();
+        final Command task = new Command(line, args, System.nanoTime());
+        try {
+            target.execute(task);
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Executor executorFor(Args args) {
+        if (lanes == null) {
+            return executor;
+        }
+        Object key = sessionKey.apply(args);
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        return lanes[(hash & 0x7fffffff) % lanes.length];
+    }
+
+    private void process(String line, Args args, long queuedAt) {
+        try {
+            long start = System.nanoTime();
+            queueLatency.record(start - queuedAt);
+
+            T command = binder.apply(args);
+            long bound = System.nanoTime();
+            bindLatency.record(bound - start);
+
+            handler.accept(command);
+            handleLatency.record(System.nanoTime() - bound);
+            processed.increment();
+        } catch (Throwable e) {
+            fail(line, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void fail(String line, Throwable e) {
+        failed.increment();
+        try {
+            errorHandler.accept(line, e);
+        } catch (RuntimeException ignored) {
+            // NO-OP, the error handler must not stop the pipeline
+        }
+    }
+
+    /**
+     * A queued command holding a permit until it is processed or rejected.
+     */
+    private final class Command implements Runnable {
+        private final String line;
+        private final Args args;
+        private final long queuedAt;
+
+        Command(String line, Args args, long queuedAt) {
+            this.line = line;
+            this.args = args;
+            this.queuedAt = queuedAt;
+        }
+
+        @Override
+        public void run() {
+            process(line, args, queuedAt);
+        }
+
+        /**
+         * Fails a command that was queued in a session lane but could not be
+         * scheduled on the executor.
+         */
+        void reject(Throwable e) {
+            try {
+                fail(line, e);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Blocks until every submitted command has been handled.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitIdle() throws InterruptedException {
+        permits.acquire(queueCapacity);
+        permits.release(queueCapacity);
+    }
+
+    /**
+     * Stops accepting commands, waits for in-flight commands and shuts down
+     * the default executor. A caller-supplied executor is left running.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            awaitIdle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Checks whether the default executor runs handlers on virtual threads.
+     *
+     * @return true on Java 21+ with the default executor
+     */
+    public boolean isVirtualThreads() {
+        return ownedExecutor != null && PipelineExecutors.isVirtual();
+    }
+
+    /**
+     * Returns the number of commands currently queued or being handled.
+     *
+     * @return in-flight command count
+     */
+    public int getInFlight() {
+        return queueCapacity - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of successfully handled commands.
+     *
+     * @return processed command count
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Returns the number of commands whose binding or handling failed.
+     *
+     * @return failed command count
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the reader stage tokenize latency.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram getTokenizeLatency() {
+        return tokenizeLatency;
+    }
+
+    /**
+     * Returns the time commands wait between queueing and the start of binding.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram getQueueLatency() {
+        return queueLatency;
+    }
+
+    /**
+     * Returns the bind stage latency.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram getBindLatency() {
+        return bindLatency;
+    }
+
+    /**
+     * Returns the handler latency.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram getHandleLatency() {
+        return handleLatency;
+    }
+
+    /**
+     * Builder of {@link CommandPipeline}.
+     *
+     * @param <T> type of commands passed to the handler
+     */
+    public static final class Builder<T> {
+        private final Function<Args, T> binder;
+        private Consumer<? super T> handler;
+        private BiConsumer<String, Throwable> errorHandler = (line, error) -> {
+        };
+        private Function<Args, ?> sessionKey;
+        private int sessionLanes = 64;
+        private Executor executor;
+        private int queueCapacity = 1024;
+        private Charset charset = StandardCharsets.UTF_8;
+
+        private Builder(Function<Args, T> binder) {
+            this.binder = binder;
+        }
+
+        /**
+         * Sets the command handler. Required.
+         *
+         * @param handler handler called for every command
+         * @return this builder
+         */
+        public Builder<T> handler(Consumer<? super T> handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        /**
+         * Sets the callback for commands whose binding or handling failed.
+         * By default failures are only counted.
+         *
+         * @param errorHandler callback receiving the source line and the error
+         * @return this builder
+         */
+        public Builder<T> errorHandler(BiConsumer<String, Throwable> errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * Enables per-session ordering. Commands with equal keys are handled
+         * one at a time in arrival order; different sessions run in parallel.
+         *
+         * @param sessionKey function extracting the session key from a command
+         * @return this builder
+         */
+        public Builder<T> sessionKey(Function<Args, ?> sessionKey) {
+            this.sessionKey = sessionKey;
+            return this;
+        }
+
+        /**
+         * Sets the number of serial lanes sessions are hashed to. Sessions
+         * sharing a lane are serialized with each other. Defaults to 64.
+         *
+         * @param sessionLanes lane count
+         * @return this builder
+         */
+        public Builder<T> sessionLanes(int sessionLanes) {
+            if (sessionLanes <= 0) {
+                throw new IllegalArgumentException("sessionLanes must be positive: " + sessionLanes);
+            }
+            this.sessionLanes = sessionLanes;
+            return this;
+        }
+
+        /**
+         * Sets the executor running bind and handle stages. The pipeline does
+         * not shut it down. By default a pipeline-owned executor is used.
+         *
+         * @param executor executor
+         * @return this builder
+         */
+        public Builder<T> executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of commands in flight. Defaults to 1024.
+         *
+         * @param queueCapacity maximum in-flight commands
+         * @return this builder
+         */
+        public Builder<T> queueCapacity(int queueCapacity) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("queueCapacity must be positive: " + queueCapacity);
+            }
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the charset of streams and channels. Defaults to UTF-8.
+         *
+         * @param charset charset
+         * @return this builder
+         */
+        public Builder<T> charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * Builds the pipeline.
+         *
+         * @return pipeline
+         * @throws IllegalStateException if no handler is set
+         */
+        public CommandPipeline<T> build() {
+            if (handler == null) {
+                throw new IllegalStateException("handler is not set");
+            }
+            return new CommandPipeline<>(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.pipeline;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs submitted tasks one at a time, in submission order, on a delegate executor.
+ * <p>
+ * A rejection by the delegate is thrown to the submitter. When the lane is
+ * rescheduled from a pool thread instead, nobody could catch it, so the tasks
+ * still queued are passed to the rejection handler.
+ */
+final class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Executor delegate;
+    private final BiConsumer<Runnable, Throwable> rejectionHandler;
+
+    SerialExecutor(Executor delegate, BiConsumer<Runnable, Throwable> rejectionHandler) {
+        this.delegate = delegate;
+        this.rejectionHandler = rejectionHandler;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer(task);
+        try {
+            schedule();
+        } catch (RuntimeException | Error e) {
+            tasks.remove(task);
+            throw e;
+        }
+    }
+
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                delegate.execute(this::drain);
+            } catch (RuntimeException | Error e) {
+                // the lane is not running, let the next task schedule it again
+                scheduled.set(false);
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        } finally {
+            scheduled.set(false);
+            // a task may have been offered after the last poll
+            try {
+                schedule();
+            } catch (RuntimeException | Error e) {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    rejectionHandler.accept(task, e);
+                }
+            }
+        }
+    }
+}
@@ -21,10 +21,16 @@ package com.ancevt.util.args.reflection;
 import com.ancevt.util.args.Args;
 import com.ancevt.util.args.ArgsParseException;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utility class that binds parsed {@link Args} to fields of a target object
@@ -45,11 +51,16 @@ import java.util.Arrays;
  * // cmd.name == "hello"
  * // cmd.count == 5
  * </pre>
+ * <p>
+ * Annotations, accessible fields and converter instances are resolved once
+ * per class and cached, so repeated binding to the same class does not
+ * rescan it.
  */
 public class ArgsBinder {
 
     /**
      * Fills fields of an existing object with values from {@link Args}.
+     * Fields whose arguments are not present keep their current values.
      *
      * @param args         parsed arguments
      * @param objectToFill existing instance to bind values into
@@ -60,90 +71,36 @@ public class ArgsBinder {
      */
     @SuppressWarnings("unchecked")
     public static <T> T convert(Args args, T objectToFill) throws IllegalAccessException {
-        Class<T> type = (Class<T>) objectToFill.getClass();
-
-        for (Field field : type.getDeclaredFields()) {
-
-            CommandArgument commandArgumentAnnotation = field.getDeclaredAnnotation(CommandArgument.class);
-            if (commandArgumentAnnotation != null) {
-                int index = 0;
-                try {
-                    index = commandArgumentAnnotation.index();
-                } catch (Exception ignored) {
-                }
-
-                Class<?> t = field.getType();
-                field.setAccessible(true);
-
-                Object value = args.get(t, index);
-                if (value == null && commandArgumentAnnotation.required()) {
-                    throw new ArgsParseException("Missing required positional argument at index " + index);
-                }
-
-                field.set(objectToFill, value);
-                continue;
-            }
-
-            OptionArgument optionArgumentAnnotation = field.getDeclaredAnnotation(OptionArgument.class);
-            if (optionArgumentAnnotation != null) {
-
-                boolean found = false;
-                String[] names = optionArgumentAnnotation.names();
-
-                if (names != null) {
-                    for (String name : names) {
-                        if (args.contains(name)) {
-                            field.setAccessible(true);
-                            Class<?> fieldType = field.getType();
-
-                            Class<?> converterClass = null;
-                            try {
-                                converterClass = optionArgumentAnnotation.converter();
-                            } catch (Exception ignored) {
-                                // NO-OP
-                            }
-
-                            ArgsConverter<?> converterInstance = null;
-                            if (converterClass != null
-                                    && converterClass != ArgsConverter.NoConverter.class) {
-                                try {
-                                    converterInstance = (ArgsConverter<?>) converterClass.getDeclaredConstructor().newInstance();
-                                } catch (Exception e) {
-                                    throw new ArgsParseException(
-                                            "Failed to create converter for field '" + field.getName() + "'", e);
-                                }
-                            }
-
-                            Object rawValue;
-                            if (fieldType == boolean.class || fieldType == Boolean.class) {
-                                rawValue = true;
-                            } else {
-                                rawValue = args.get(fieldType, name);
-                            }
-
-                            Object finalValue = converterInstance != null
-                                    ? converterInstance.convert(String.valueOf(rawValue))
-                                    : rawValue;
-
-                            field.set(objectToFill, finalValue);
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-
-                if (optionArgumentAnnotation.required() && !found) {
-                    throw new ArgsParseException(
-                            "Required parameter " + Arrays.toString(names) + " not found");
-                }
-
-                continue;
-            }
-        }
-
+        BindingPlan<T> plan = BindingPlan.of((Class<T>) objectToFill.getClass());
+        plan.bind(args, objectToFill, false);
         return objectToFill;
     }
 
+    /**
+     * Restores all bound fields of an existing object to their default values
+     * and then fills them with values from {@link Args}.
+     * <p>
+     * Unlike {@link #convert(Args, Object)}, values left over from a previous
+     * binding never leak into the next one, so pooled or thread-local command
+     * objects can be reused without allocating a new instance per command.
+     * <p>
+     * Defaults are captured once per class from an instance created by the
+     * no-arg constructor; classes without one are reset to {@code null} and
+     * primitive zero values.
+     *
+     * @param args         parsed arguments
+     * @param objectToFill existing instance to reset and bind values into
+     * @param <T>          type of target object
+     * @return same instance with bound values
+     * @throws IllegalAccessException if a field is not accessible
+     * @throws ArgsParseException     if a required option argument is missing
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T rebind(Args args, T objectToFill) throws IllegalAccessException {
+        BindingPlan<T> plan = BindingPlan.of((Class<T>) objectToFill.getClass());
+        plan.bind(args, objectToFill, true);
+        return objectToFill;
+    }
 
     /**
      * Creates a new instance of the given class (using no-arg constructor),
@@ -165,9 +122,117 @@ public class ArgsBinder {
             InstantiationException,
             IllegalAccessException {
 
-        Constructor<T> constructor = type.getDeclaredConstructor();
-        constructor.setAccessible(true);
-        return convert(args, constructor.newInstance());
+        BindingPlan<T> plan = BindingPlan.of(type);
+        T instance = plan.newInstance();
+        plan.bind(args, instance, false);
+        return instance;
+    }
+
+    /**
+     * Binds every element of {@code argsList} to a new instance of the given
+     * class, spreading the work across the common fork-join pool.
+     *
+     * @param argsList parsed arguments, one element per command
+     * @param type     class to instantiate and bind
+     * @param <T>      type of target object
+     * @return results in input order
+     * @see #convertAll(List, Class, Executor)
+     */
+    public static <T> List<BindResult<T>> convertAll(List<Args> argsList, Class<T> type) {
+        return convertAll(argsList, type, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Binds every element of {@code argsList} to a new instance of the given
+     * class, spreading the work across {@code executor}.
+     * <p>
+     * The binding plan is built once for the whole batch. The input is split
+     * into contiguous chunks, one task per chunk. Failures are recorded per
+     * item in the returned {@link BindResult} and never fail the whole batch.
+     *
+     * @param argsList parsed arguments, one element per command
+     * @param type     class to instantiate and bind
+     * @param executor executor running the chunk tasks
+     * @param <T>      type of target object
+     * @return results in input order
+     */
+    public static <T> List<BindResult<T>> convertAll(List<Args> argsList, Class<T> type, Executor executor) {
+        return bindAll(argsList, Function.identity(), type, executor);
+    }
+
+    /**
+     * Parses and binds every command string of {@code sources} to a new
+     * instance of the given class, using the common fork-join pool.
+     *
+     * @param sources command strings
+     * @param type    class to instantiate and bind
+     * @param <T>     type of target object
+     * @return results in input order
+     * @see #convertAll(Stream, Class, Executor)
+     */
+    public static <T> List<BindResult<T>> convertAll(Stream<String> sources, Class<T> type) {
+        return convertAll(sources, type, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses and binds every command string of {@code sources} to a new
+     * instance of the given class. Parsing runs inside the chunk tasks, so it
+     * is parallelized together with binding.
+     *
+     * @param sources  command strings
+     * @param type     class to instantiate and bind
+     * @param executor executor running the chunk tasks
+     * @param <T>      type of target object
+     * @return results in input order
+     */
+    public static <T> List<BindResult<T>> convertAll(Stream<String> sources, Class<T> type, Executor executor) {
+        return bindAll(sources.collect(Collectors.toList()), Args::parse, type, executor);
+    }
+
+    private static <I, T> List<BindResult<T>> bindAll(List<I> items,
+                                                     Function<I, Args> parser,
+                                                     Class<T> type,
+                                                     Executor executor) {
+        final BindingPlan<T> plan = BindingPlan.of(type);
+        final int size = items.size();
+        @SuppressWarnings("unchecked")
+        final BindResult<T>[] results = (BindResult<T>[]) new BindResult<?>[size];
+
+        int chunkCount = Math.min(size, Runtime.getRuntime().availableProcessors() * 4);
+        if (chunkCount <= 1) {
+            bindRange(plan, items, parser, results, 0, size);
+            return Arrays.asList(results);
+        }
+
+        int chunkSize = (size + chunkCount - 1) / chunkCount;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunkCount);
+        for (int start = 0; start < size; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(size, start + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> bindRange(plan, items, parser, results, from, to), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+
+        return Arrays.asList(results);
+    }
+
+    private static <I, T> void bindRange(BindingPlan<T> plan,
+                                         List<I> items,
+                                         Function<I, Args> parser,
+                                         BindResult<T>[] results,
+                                         int from,
+                                         int to) {
+        for (int i = from; i < to; i++) {
+            try {
+                T instance = plan.newInstance();
+                plan.bind(parser.apply(items.get(i)), instance, false);
+                results[i] = new BindResult<>(i, instance, null);
+            } catch (InvocationTargetException e) {
+                results[i] = new BindResult<>(i, null, e.getCause());
+            } catch (Exception e) {
+                results[i] = new BindResult<>(i, null, e);
+            }
+        }
     }
 
 }
@@ -119,6 +119,11 @@ public interface ArgsConverter<T> {
      * In case of an invalid format or conversion failure, implementations
      * should throw a {@link RuntimeException} (e.g., {@link IllegalArgumentException}).
      *
+     * When binding an {@link OptionArgument}, the input is the option value
+     * as written, before any built-in conversion, or the string
+     * {@code "null"} if the option is given without a value. A converter of a
+     * boolean flag receives {@code "true"} or {@code "false"}.
+     *
      * @param input the raw string value provided by the user
      * @return a converted and type-safe object representation of the input
      * @throws RuntimeException if conversion fails
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import com.ancevt.util.args.ArgsParseException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by {@link ArgsBinder} when bound values violate {@link Range},
+ * {@link Pattern}, {@link OneOf} or {@link Exclusive} constraints.
+ * All violations found during binding are reported together.
+ */
+public class ArgsValidationException extends ArgsParseException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> violations;
+
+    public ArgsValidationException(List<String> violations) {
+        super(String.join("; ", violations));
+        this.violations = Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * Returns the messages of all violations, in binding order.
+     *
+     * @return violation messages
+     */
+    public List<String> getViolations() {
+        return violations;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+/**
+ * Outcome of binding one item of a batch passed to
+ * {@link ArgsBinder#convertAll(java.util.List, Class)}.
+ * <p>
+ * Holds either the bound object or the error that prevented binding,
+ * together with the position of the item in the input.
+ *
+ * @param <T> type of the bound object
+ */
+public final class BindResult<T> {
+
+    private final int index;
+    private final T value;
+    private final Throwable error;
+
+    BindResult(int index, T value, Throwable error) {
+        this.index = index;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Returns the position of the item in the input batch.
+     *
+     * @return input index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Checks whether the item was bound successfully.
+     *
+     * @return true if there is no error
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Returns the bound object.
+     *
+     * @return bound object or null if binding failed
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the error that occurred while parsing or binding this item.
+     *
+     * @return Throwable or null
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BindResult{" +
+                "index=" + index +
+                (error == null ? ", value=" + value : ", error=" + error) +
+                '}';
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsMatch;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.metrics.ArgsEvents;
+import com.ancevt.util.args.metrics.ArgsMetrics;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cached, per-class description of how {@link ArgsBinder} fills an object.
+ * <p>
+ * Annotations are scanned, fields are made accessible and converters are
+ * instantiated once per class. The plan is immutable apart from the lazily
+ * captured default snapshot and can be shared between threads.
+ *
+ * @param <T> bound type
+ */
+final class BindingPlan<T> {
+
+    /**
+     * Plans are attached to their classes, so caching a plan does not keep
+     * the class loader of the class alive.
+     */
+    private static final ClassValue<BindingPlan<?>> PLANS = new ClassValue<BindingPlan<?>>() {
+        @Override
+        protected BindingPlan<?> computeValue(Class<?> type) {
+            return new BindingPlan<>(type);
+        }
+    };
+
+    private final Class<T> type;
+    private final FieldBinding[] bindings;
+    private final OptionGroupTree groups;
+    private final boolean validated;
+    private volatile Constructor<T> constructor;
+    private volatile Object[] defaults;
+
+    private BindingPlan(Class<T> type) {
+        this.type = type;
+
+        List<FieldBinding> result = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            CommandArgument commandArgument = field.getDeclaredAnnotation(CommandArgument.class);
+            if (commandArgument != null) {
+                field.setAccessible(true);
+                result.add(new PositionalBinding(field, commandArgument));
+                continue;
+            }
+
+            OptionArgument optionArgument = field.getDeclaredAnnotation(OptionArgument.class);
+            if (optionArgument != null) {
+                field.setAccessible(true);
+                result.add(new OptionBinding(field, optionArgument));
+            }
+        }
+        bindings = result.toArray(new FieldBinding[0]);
+        groups = OptionGroupTree.of(type);
+
+        boolean constrained = groups != null && groups.isValidated();
+        for (FieldBinding binding : bindings) {
+            constrained |= binding.isValidated();
+        }
+        validated = constrained;
+    }
+
+    /**
+     * Returns the cached plan for the given class, building it on first use.
+     *
+     * @param type bound class
+     * @param <T>  bound type
+     * @return binding plan
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BindingPlan<T> of(Class<T> type) {
+        return (BindingPlan<T>) PLANS.get(type);
+    }
+
+    Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Creates a new instance through the (possibly private) no-arg constructor.
+     */
+    T newInstance() throws NoSuchMethodException,
+            InvocationTargetException,
+            InstantiationException,
+            IllegalAccessException {
+
+        Constructor<T> c = constructor;
+        if (c == null) {
+            c = type.getDeclaredConstructor();
+            c.setAccessible(true);
+            constructor = c;
+        }
+        return c.newInstance();
+    }
+
+    /**
+     * Binds values from {@code args} into {@code target}.
+     *
+     * @param args   parsed arguments
+     * @param target object to fill
+     * @param reset  whether bound fields are first restored to their defaults
+     */
+    void bind(Args args, T target, boolean reset) throws IllegalAccessException {
+        final ArgsMetrics metrics = ArgsMetrics.installed();
+        final Object event = ArgsEvents.beginBind();
+        if (metrics == null && event == null) {
+            doBind(args, target, reset);
+            return;
+        }
+
+        final long start = metrics != null ? System.nanoTime() : 0L;
+        Throwable failure = null;
+        try {
+            doBind(args, target, reset);
+        } catch (IllegalAccessException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (metrics != null) {
+                metrics.bound(type, System.nanoTime() - start, failure == null);
+            }
+            ArgsEvents.endBind(event, type, failure);
+        }
+    }
+
+    private void doBind(Args args, T target, boolean reset) throws IllegalAccessException {
+        if (reset) {
+            Object[] snapshot = defaults();
+            for (int i = 0; i < bindings.length; i++) {
+                bindings[i].field.set(target, snapshot[i]);
+            }
+        }
+
+        final Validation validation = validated ? new Validation() : null;
+        for (FieldBinding binding : bindings) {
+            binding.bind(args, target, validation);
+        }
+        if (groups != null) {
+            groups.bind(args, target, reset, validation);
+        }
+        if (validation != null) {
+            validation.complete(args);
+        }
+    }
+
+    /**
+     * Returns default values of bound fields, in binding order.
+     * <p>
+     * Defaults are read once from an instance created by the no-arg
+     * constructor. Types without one fall back to {@code null} and primitive
+     * zero values. The snapshot is shallow: mutable default values are shared
+     * between all objects reset from it.
+     */
+    private Object[] defaults() {
+        Object[] snapshot = defaults;
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        snapshot = new Object[bindings.length];
+        Object prototype = null;
+        try {
+            prototype = newInstance();
+        } catch (ReflectiveOperationException ignored) {
+            // NO-OP, zero values are used
+        }
+
+        for (int i = 0; i < bindings.length; i++) {
+            Field field = bindings[i].field;
+            if (prototype != null) {
+                try {
+                    snapshot[i] = field.get(prototype);
+                } catch (IllegalAccessException e) {
+                    throw new ArgsParseException("Failed to read default value of field '" + field.getName() + "'", e);
+                }
+            } else {
+                snapshot[i] = zeroValue(field.getType());
+            }
+        }
+
+        defaults = snapshot;
+        return snapshot;
+    }
+
+    private static Object zeroValue(Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        return '\0';
+    }
+
+    abstract static class FieldBinding {
+        final Field field;
+        private final Constraint[] constraints;
+        private final String exclusive;
+
+        FieldBinding(Field field) {
+            this.field = field;
+            constraints = Constraint.of(field);
+            Exclusive exclusiveAnnotation = field.getDeclaredAnnotation(Exclusive.class);
+            exclusive = exclusiveAnnotation != null ? exclusiveAnnotation.value() : null;
+        }
+
+        /**
+         * @param validation collector of violations, null if the plan has no constraints
+         */
+        abstract void bind(Args args, Object target, Validation validation) throws IllegalAccessException;
+
+        boolean isValidated() {
+            return constraints.length > 0 || exclusive != null;
+        }
+
+        /**
+         * Checks a value bound from the element at the given index.
+         */
+        void validate(Object value, String label, int index, Validation validation) {
+            if (validation == null) {
+                return;
+            }
+            if (exclusive != null) {
+                validation.present(exclusive, label, index);
+            }
+            if (value == null) {
+                return;
+            }
+            for (Constraint constraint : constraints) {
+                final String violation = constraint.check(value, label);
+                if (violation != null) {
+                    validation.violation(violation, index);
+                }
+            }
+        }
+    }
+
+    private static final class PositionalBinding extends FieldBinding {
+        private final int index;
+        private final boolean required;
+
+        PositionalBinding(Field field, CommandArgument annotation) {
+            super(field);
+            index = annotation.index();
+            required = annotation.required();
+        }
+
+        @Override
+        void bind(Args args, Object target, Validation validation) throws IllegalAccessException {
+            Object value = args.get(field.getType(), index);
+            if (value == null && required) {
+                throw args.locate(new ArgsParseException("Missing required positional argument at index " + index), index);
+            }
+
+            field.set(target, value);
+            if (value != null) {
+                validate(value, "Positional argument " + index, index, validation);
+            }
+        }
+    }
+
+    static final class OptionBinding extends FieldBinding {
+        final String[] names;
+        final boolean required;
+        private final boolean flag;
+        private final ArgsConverter<?> converter;
+        private final Exception converterProblem;
+
+        OptionBinding(Field field, OptionArgument annotation) {
+            this(field, annotation, annotation.names());
+        }
+
+        /**
+         * Creates a binding matching the given names instead of the annotated ones.
+         */
+        OptionBinding(Field field, OptionArgument annotation, String[] names) {
+            super(field);
+            this.names = names;
+            required = annotation.required();
+
+            Class<?> fieldType = field.getType();
+            flag = fieldType == boolean.class || fieldType == Boolean.class;
+
+            ArgsConverter<?> converterInstance = null;
+            Exception problem = null;
+            Class<?> converterClass = annotation.converter();
+            if (converterClass != ArgsConverter.NoConverter.class) {
+                try {
+                    Constructor<?> c = converterClass.getDeclaredConstructor();
+                    converterInstance = (ArgsConverter<?>) c.newInstance();
+                } catch (Exception e) {
+                    // reported only when the option is actually present
+                    problem = e;
+                }
+            }
+            converter = converterInstance;
+            converterProblem = problem;
+        }
+
+        /**
+         * Binds the first declared alias present, except that with layered
+         * arguments an alias from a higher layer wins over any lower one.
+         */
+        @Override
+        void bind(Args args, Object target, Validation validation) throws IllegalAccessException {
+            ArgsMatch chosen = null;
+            for (String name : names) {
+                final ArgsMatch match = args.match(name);
+                if (match.isPresent() && (chosen == null || match.getLayer() < chosen.getLayer())) {
+                    chosen = match;
+                }
+            }
+
+            if (chosen != null) {
+                assign(chosen, target, validation);
+            } else {
+                checkRequired(args);
+            }
+        }
+
+        /**
+         * Converts the value of a present option and stores it in the field.
+         */
+        void assign(ArgsMatch match, Object target, Validation validation) throws IllegalAccessException {
+            if (converterProblem != null) {
+                throw new ArgsParseException(
+                        "Failed to create converter for field '" + field.getName() + "'", converterProblem);
+            }
+
+            Object value;
+            if (flag) {
+                // an explicit --flag=false, e.g. from a layered source, turns the flag off
+                final boolean enabled = !(match.isInline() && "false".equalsIgnoreCase(match.getValue()));
+                value = converter != null ? converter.convert(String.valueOf(enabled)) : enabled;
+            } else if (converter != null) {
+                // the raw value, or "null" for an option without one, as before
+                value = converter.convert(String.valueOf(match.getValue()));
+            } else {
+                value = match.get(field.getType());
+            }
+
+            field.set(target, value);
+            validate(value, names[0], flag || match.isInline() ? match.getIndex() : match.getIndex() + 1, validation);
+        }
+
+        void checkRequired(Args args) {
+            if (required) {
+                throw args.locate(new ArgsParseException("Required parameter " + Arrays.toString(names) + " not found"), args.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Validation constraint of a bound field, compiled once from its
+ * {@link Range}, {@link Pattern} and {@link OneOf} annotations.
+ */
+abstract class Constraint {
+
+    private static final Constraint[] NONE = new Constraint[0];
+
+    /**
+     * Checks a bound, non-null value.
+     *
+     * @param label option name or argument description used in the message
+     * @return violation message, or null if the value is valid
+     */
+    abstract String check(Object value, String label);
+
+    /**
+     * Compiles the constraints declared on the field.
+     *
+     * @throws IllegalArgumentException if a constraint does not fit the field type
+     */
+    static Constraint[] of(Field field) {
+        final Range range = field.getDeclaredAnnotation(Range.class);
+        final Pattern pattern = field.getDeclaredAnnotation(Pattern.class);
+        final OneOf oneOf = field.getDeclaredAnnotation(OneOf.class);
+        if (range == null && pattern == null && oneOf == null) {
+            return NONE;
+        }
+
+        final List<Constraint> result = new ArrayList<>(3);
+        final Class<?> type = field.getType();
+        if (range != null) {
+            if (!isNumeric(type)) {
+                throw new IllegalArgumentException("@Range requires a numeric field: " + field.getName());
+            }
+            if (range.min() > range.max()) {
+                throw new IllegalArgumentException("@Range min is greater than max: " + field.getName());
+            }
+            result.add(new RangeConstraint(range.min(), range.max(), type));
+        }
+        if (pattern != null) {
+            if (!CharSequence.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("@Pattern requires a String field: " + field.getName());
+            }
+            result.add(new PatternConstraint(java.util.regex.Pattern.compile(pattern.regex())));
+        }
+        if (oneOf != null) {
+            result.add(new OneOfConstraint(oneOf.value(), oneOf.ignoreCase()));
+        }
+        return result.toArray(NONE);
+    }
+
+    /**
+     * Checks for primitive and boxed numbers, and for {@link BigInteger} and
+     * {@link BigDecimal}, which are compared exactly. Other {@link Number}
+     * types, such as {@code AtomicLong}, are not accepted.
+     */
+    private static boolean isNumeric(Class<?> type) {
+        return isIntegral(type) || isFloating(type) || type == BigInteger.class || type == BigDecimal.class;
+    }
+
+    private static boolean isIntegral(Class<?> type) {
+        return type == int.class || type == long.class || type == short.class || type == byte.class
+                || type == Integer.class || type == Long.class || type == Short.class || type == Byte.class;
+    }
+
+    private static boolean isFloating(Class<?> type) {
+        return type == float.class || type == double.class || type == Float.class || type == Double.class;
+    }
+
+    private static final class RangeConstraint extends Constraint {
+        private final long min;
+        private final long max;
+        private final boolean integral;
+        private final boolean floating;
+
+        RangeConstraint(long min, long max, Class<?> type) {
+            this.min = min;
+            this.max = max;
+            integral = isIntegral(type);
+            floating = isFloating(type);
+        }
+
+        @Override
+        String check(Object value, String label) {
+            final boolean valid;
+            if (integral) {
+                final long number = ((Number) value).longValue();
+                valid = number >= min && number <= max;
+            } else if (floating) {
+                final double number = ((Number) value).doubleValue();
+                valid = number >= min && number <= max;
+            } else {
+                final BigDecimal number = value instanceof BigInteger
+                        ? new BigDecimal((BigInteger) value)
+                        : (BigDecimal) value;
+                valid = number.compareTo(BigDecimal.valueOf(min)) >= 0 && number.compareTo(BigDecimal.valueOf(max)) <= 0;
+            }
+            if (valid) {
+                return null;
+            }
+            if (min == Long.MIN_VALUE) {
+                return label + " must be at most " + max + ", was " + value;
+            }
+            if (max == Long.MAX_VALUE) {
+                return label + " must be at least " + min + ", was " + value;
+            }
+            return label + " must be between " + min + " and " + max + ", was " + value;
+        }
+    }
+
+    private static final class PatternConstraint extends Constraint {
+        private final java.util.regex.Pattern pattern;
+
+        PatternConstraint(java.util.regex.Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        String check(Object value, String label) {
+            if (pattern.matcher((CharSequence) value).matches()) {
+                return null;
+            }
+            return label + " must match " + pattern.pattern() + ", was '" + value + "'";
+        }
+    }
+
+    private static final class OneOfConstraint extends Constraint {
+        private final String[] allowed;
+        private final Set<String> values;
+        private final boolean ignoreCase;
+
+        OneOfConstraint(String[] allowed, boolean ignoreCase) {
+            this.allowed = allowed.clone();
+            this.ignoreCase = ignoreCase;
+            values = new HashSet<>();
+            for (String value : allowed) {
+                values.add(ignoreCase ? value.toLowerCase(Locale.ROOT) : value);
+            }
+        }
+
+        @Override
+        String check(Object value, String label) {
+            String text = value instanceof Enum ? ((Enum<?>) value).name() : String.valueOf(value);
+            if (ignoreCase) {
+                text = text.toLowerCase(Locale.ROOT);
+            }
+            if (values.contains(text)) {
+                return null;
+            }
+            return label + " must be one of " + Arrays.toString(allowed) + ", was '" + value + "'";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+
+/**
+ * Makes {@link OptionArgument} fields with the same group name mutually
+ * exclusive: at most one of them may be present in the arguments. Groups
+ * are shared by the bound class and its {@link OptionGroup}s.
+ * <p>
+ * Example:
+ * <pre>
+ * {@literal @}OptionArgument(names = "--json")
+ * {@literal @}Exclusive("format")
+ * boolean json;
+ *
+ * {@literal @}OptionArgument(names = "--xml")
+ * {@literal @}Exclusive("format")
+ * boolean xml;
+ * </pre>
+ *
+ * @see ArgsValidationException
+ */
+@Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+@Target({FIELD})
+public @interface Exclusive {
+
+    /**
+     * Name of the group of exclusive options.
+     */
+    String value();
+}
@@ -77,7 +77,8 @@ import static java.lang.annotation.ElementType.FIELD;
  * <h3>3. Boolean flags</h3>
  * When the field type is {@code boolean} or {@code Boolean},
  * the argument is considered a <b>flag</b> — its presence means {@code true}.
- * No explicit value is required.
+ * No explicit value is required. An explicit {@code --debug=false}
+ * turns the flag off.
  *
  * <pre>{@code
  * class Example {
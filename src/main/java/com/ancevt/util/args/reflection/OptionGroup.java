@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+
+/**
+ * Marks a field as a <b>group of options</b> bound to a nested object.
+ * <p>
+ * The field type is bound like a command class: its {@link OptionArgument}
+ * fields become options whose names get the group prefix inserted after the
+ * leading dashes, so {@code --host} in a group with prefix {@code "db."} is
+ * matched as {@code --db.host}. Groups can be nested, prefixes add up.
+ * Positional arguments are not supported inside groups.
+ * <p>
+ * If the field is {@code null}, a new instance is created through the no-arg
+ * constructor of the field type.
+ * <p>
+ * Example:
+ * <pre>
+ * class Pool {
+ *     {@literal @}OptionArgument(names = "--max")
+ *     int max = 8;
+ * }
+ *
+ * class Database {
+ *     {@literal @}OptionArgument(names = "--host", required = true)
+ *     String host;
+ *
+ *     {@literal @}OptionGroup(prefix = "pool.")
+ *     Pool pool;
+ * }
+ *
+ * class Service {
+ *     {@literal @}OptionGroup(prefix = "db.")
+ *     Database db;
+ * }
+ *
+ * Args args = Args.parse("--db.host localhost --db.pool.max 32");
+ * Service service = ArgsBinder.convert(args, Service.class);
+ * // service.db.host == "localhost", service.db.pool.max == 32
+ * </pre>
+ */
+@Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+@Target({FIELD})
+public @interface OptionGroup {
+
+    /**
+     * Prefix inserted after the leading dashes of every option name in the group,
+     * including its separator, e.g. {@code "db."}.
+     */
+    String prefix();
+}
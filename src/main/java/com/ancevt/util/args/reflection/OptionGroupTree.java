@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsMatch;
+import com.ancevt.util.args.ArgsParseException;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binding of the {@link OptionGroup} fields of one root class.
+ * <p>
+ * The full names of all grouped options, nested groups included, are kept
+ * in a prefix tree built once per root class. Binding walks the elements
+ * once and routes each of them through the tree to its option, instead of
+ * looking up every grouped option separately.
+ */
+final class OptionGroupTree {
+
+    private final Group[] groups;
+    private final Leaf[] leaves;
+    private final Node root;
+    private final int slotCount;
+
+    private OptionGroupTree(List<Group> groups, List<Leaf> leaves) {
+        this.groups = groups.toArray(new Group[0]);
+        this.leaves = leaves.toArray(new Leaf[0]);
+
+        root = new Node();
+        final Set<String> seen = new HashSet<>();
+        int slot = 0;
+        for (Leaf leaf : this.leaves) {
+            final String[] names = leaf.option.names;
+            leaf.slots = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                if (!seen.add(names[i])) {
+                    throw new IllegalArgumentException("Duplicate option name in option groups: " + names[i]);
+                }
+                leaf.slots[i] = slot;
+                root.insert(names[i], slot++);
+            }
+        }
+        slotCount = slot;
+    }
+
+    /**
+     * Collects the option groups of the given class.
+     *
+     * @return tree, or null if the class has no option groups
+     * @throws IllegalArgumentException if groups are cyclic, contain positional
+     *                                  arguments or repeat an option name
+     */
+    static OptionGroupTree of(Class<?> type) {
+        final List<Group> groups = new ArrayList<>();
+        final List<Leaf> leaves = new ArrayList<>();
+        final Set<Class<?>> path = new HashSet<>();
+        path.add(type);
+        collectGroups(type, -1, "", path, groups, leaves);
+        return groups.isEmpty() ? null : new OptionGroupTree(groups, leaves);
+    }
+
+    private static void collectGroups(Class<?> type, int parent, String prefix, Set<Class<?>> path,
+                                      List<Group> groups, List<Leaf> leaves) {
+        for (Field field : type.getDeclaredFields()) {
+            final OptionGroup optionGroup = field.getDeclaredAnnotation(OptionGroup.class);
+            if (optionGroup == null) {
+                continue;
+            }
+
+            final Class<?> groupType = OptionGroups.enter(path, type, field);
+            field.setAccessible(true);
+            final int index = groups.size();
+            final String groupPrefix = prefix + optionGroup.prefix();
+            groups.add(new Group(field, parent));
+            collectOptions(groupType, index, groupPrefix, leaves);
+            collectGroups(groupType, index, groupPrefix, path, groups, leaves);
+            path.remove(groupType);
+        }
+    }
+
+    private static void collectOptions(Class<?> type, int group, String prefix, List<Leaf> leaves) {
+        for (Field field : type.getDeclaredFields()) {
+            if (field.getDeclaredAnnotation(CommandArgument.class) != null) {
+                throw new IllegalArgumentException("Positional argument '" + field.getName()
+                        + "' is not supported in option group " + type.getName());
+            }
+
+            final OptionArgument optionArgument = field.getDeclaredAnnotation(OptionArgument.class);
+            if (optionArgument == null) {
+                continue;
+            }
+
+            final String[] names = OptionGroups.prefixed(optionArgument.names(), prefix);
+            field.setAccessible(true);
+            leaves.add(new Leaf(new BindingPlan.OptionBinding(field, optionArgument, names), group));
+        }
+    }
+
+    /**
+     * Creates or reuses the group objects and binds the grouped options.
+     *
+     * @param reset      whether group objects are always created anew
+     * @param validation collector of violations, null if the root plan has no constraints
+     */
+    void bind(Args args, Object target, boolean reset, Validation validation) throws IllegalAccessException {
+        final Object[] instances = new Object[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            final Group group = groups[i];
+            final Object owner = group.parent < 0 ? target : instances[group.parent];
+            Object instance = reset ? null : group.field.get(owner);
+            if (instance == null) {
+                instance = group.newInstance();
+                group.field.set(owner, instance);
+            }
+            instances[i] = instance;
+        }
+
+        final int[] first = new int[slotCount];
+        Arrays.fill(first, -1);
+        final String[] elements = args.getElements();
+        for (int i = 0; i < elements.length; i++) {
+            final int slot = root.find(elements[i]);
+            if (slot >= 0 && first[slot] < 0) {
+                first[slot] = i;
+            }
+        }
+
+        for (Leaf leaf : leaves) {
+            final Object owner = instances[leaf.group];
+            // aliases are resolved as in flat binding
+            ArgsMatch chosen = null;
+            for (int i = 0; i < leaf.slots.length; i++) {
+                final int index = first[leaf.slots[i]];
+                if (index >= 0) {
+                    // the first element may come from a lower layer than the
+                    // indexed one; elements of the highest layer need no lookup
+                    ArgsMatch match = args.matchAt(index, leaf.option.names[i]);
+                    if (match.getLayer() > 0) {
+                        match = args.match(leaf.option.names[i]);
+                    }
+                    if (chosen == null || match.getLayer() < chosen.getLayer()) {
+                        chosen = match;
+                    }
+                }
+            }
+            if (chosen != null) {
+                leaf.option.assign(chosen, owner, validation);
+            } else {
+                leaf.option.checkRequired(args);
+            }
+        }
+    }
+
+    /**
+     * Checks whether any grouped option has constraints.
+     */
+    boolean isValidated() {
+        for (Leaf leaf : leaves) {
+            if (leaf.option.isValidated()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Group {
+        final Field field;
+        final int parent;
+
+        Group(Field field, int parent) {
+            this.field = field;
+            this.parent = parent;
+        }
+
+        Object newInstance() {
+            try {
+                // looked up here, plans must not be created while another plan is being built
+                return BindingPlan.of(field.getType()).newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new ArgsParseException("Failed to create option group '" + field.getName() + "'", e);
+            }
+        }
+    }
+
+    private static final class Leaf {
+        final BindingPlan.OptionBinding option;
+        final int group;
+        int[] slots;
+
+        Leaf(BindingPlan.OptionBinding option, int group) {
+            this.option = option;
+            this.group = group;
+        }
+    }
+
+    /**
+     * Prefix tree node. Children are kept in parallel arrays sorted by character.
+     */
+    private static final class Node {
+        char[] chars = new char[0];
+        Node[] children = new Node[0];
+        int slot = -1;
+
+        void insert(String name, int slot) {
+            Node node = this;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.childOrCreate(name.charAt(i));
+            }
+            node.slot = slot;
+        }
+
+        /**
+         * Returns the slot of the option the element consists of, alone or
+         * followed by {@code =value}, or -1.
+         */
+        int find(String element) {
+            Node node = this;
+            for (int i = 0; i < element.length(); i++) {
+                final char c = element.charAt(i);
+                if (c == '=' && node.slot >= 0) {
+                    return node.slot;
+                }
+                final int position = Arrays.binarySearch(node.chars, c);
+                if (position < 0) {
+                    return -1;
+                }
+                node = node.children[position];
+            }
+            return node.slot;
+        }
+
+        private Node childOrCreate(char c) {
+            int position = Arrays.binarySearch(chars, c);
+            if (position >= 0) {
+                return children[position];
+            }
+
+            position = -position - 1;
+            final char[] grownChars = new char[chars.length + 1];
+            final Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, grownChars, 0, position);
+            System.arraycopy(children, 0, grownChildren, 0, position);
+            System.arraycopy(chars, position, grownChars, position + 1, chars.length - position);
+            System.arraycopy(children, position, grownChildren, position + 1, children.length - position);
+            grownChars[position] = c;
+            grownChildren[position] = new Node();
+            chars = grownChars;
+            children = grownChildren;
+            return grownChildren[position];
+        }
+    }
+}
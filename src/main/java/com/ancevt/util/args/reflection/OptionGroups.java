@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+
+/**
+ * Naming and nesting rules of {@link OptionGroup} fields, shared by
+ * {@link ArgsBinder} and {@link com.ancevt.util.args.CommandSchema#of(Class)}.
+ * <p>
+ * Used internally by the library; not intended to be called by applications.
+ */
+public final class OptionGroups {
+
+    private OptionGroups() {}
+
+    /**
+     * Inserts the group prefix after the leading dashes of every name, so
+     * {@code --host} with prefix {@code db.} becomes {@code --db.host}.
+     *
+     * @param names  option names
+     * @param prefix accumulated group prefix
+     * @return new array of prefixed names
+     */
+    public static String[] prefixed(String[] names, String prefix) {
+        final String[] result = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i];
+            int dashes = 0;
+            while (dashes < name.length() && name.charAt(dashes) == '-') {
+                dashes++;
+            }
+            result[i] = name.substring(0, dashes) + prefix + name.substring(dashes);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the type of a group field to the path of groups being visited.
+     * The caller removes it again after visiting the group.
+     *
+     * @param path  types of the enclosing groups, the root type included
+     * @param owner type declaring the field
+     * @param field group field
+     * @return type of the group
+     * @throws IllegalArgumentException if the group type is already on the path
+     */
+    public static Class<?> enter(Set<Class<?>> path, Class<?> owner, Field field) {
+        final Class<?> groupType = field.getType();
+        if (!path.add(groupType)) {
+            throw new IllegalArgumentException("Cyclic option group '" + field.getName() + "' in " + owner.getName());
+        }
+        return groupType;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+
+/**
+ * Restricts a numeric {@link OptionArgument} or {@link CommandArgument}
+ * field to an inclusive range.
+ * <p>
+ * Checked by {@link ArgsBinder} for values bound from the arguments; field
+ * defaults are not checked. The field must be a primitive or boxed number,
+ * a {@link java.math.BigInteger} or a {@link java.math.BigDecimal}.
+ * Floating point values are compared as {@code double}, big numbers exactly.
+ * <p>
+ * Example:
+ * <pre>
+ * {@literal @}OptionArgument(names = "--port")
+ * {@literal @}Range(min = 1, max = 65535)
+ * int port;
+ * </pre>
+ *
+ * @see ArgsValidationException
+ */
+@Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+@Target({FIELD})
+public @interface Range {
+
+    long min() default Long.MIN_VALUE;
+
+    long max() default Long.MAX_VALUE;
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.reflection;
+
+import com.ancevt.util.args.Args;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Violations collected during one binding pass.
+ */
+final class Validation {
+
+    private List<String> violations;
+    private Map<String, ExclusiveGroup> exclusive;
+    private int index = -1;
+
+    /**
+     * @param index index of the offending element
+     */
+    void violation(String message, int index) {
+        if (violations == null) {
+            violations = new ArrayList<>();
+            this.index = index;
+        }
+        violations.add(message);
+    }
+
+    /**
+     * Records a present option of an {@link Exclusive} group.
+     */
+    void present(String group, String label, int index) {
+        if (exclusive == null) {
+            exclusive = new LinkedHashMap<>();
+        }
+        final ExclusiveGroup present = exclusive.computeIfAbsent(group, key -> new ExclusiveGroup());
+        present.labels.add(label);
+        if (present.labels.size() == 2) {
+            present.conflict = index;
+        }
+    }
+
+    /**
+     * Adds violations of exclusive groups and throws if anything was violated.
+     * The exception points at the element of the first violation.
+     *
+     * @throws ArgsValidationException with all violations
+     */
+    void complete(Args args) {
+        if (exclusive != null) {
+            for (ExclusiveGroup group : exclusive.values()) {
+                if (group.labels.size() > 1) {
+                    violation(String.join(", ", group.labels) + " are mutually exclusive", group.conflict);
+                }
+            }
+        }
+        if (violations != null) {
+            throw args.locate(new ArgsValidationException(violations), index);
+        }
+    }
+
+    private static final class ExclusiveGroup {
+        final List<String> labels = new ArrayList<>(2);
+        int conflict;
+    }
+}
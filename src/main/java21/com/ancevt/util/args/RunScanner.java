@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+/**
+ * Finds the end of runs of characters the tokenizer copies unchanged, so
+ * they can be appended in bulk instead of character by character.
+ * <p>
+ * Java 21 implementation: runs that are still plain after a short scalar
+ * probe are scanned by {@link VectorRunScanner} in SIMD-width blocks, if
+ * the {@code jdk.incubator.vector} module is enabled, e.g. with
+ * {@code --add-modules jdk.incubator.vector}. Otherwise the scalar loop is used.
+ */
+final class RunScanner {
+
+    /**
+     * Characters checked one by one before switching to vectors, so that
+     * short tokens do not pay for the block setup.
+     */
+    private static final int PROBE_LENGTH = 32;
+
+    private static final boolean VECTOR = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private RunScanner() {}
+
+    /**
+     * Returns the index of the first quote, backslash or delimiter in
+     * {@code [from, to)}, or {@code to}.
+     *
+     * @param delimiterChar delimiter, or {@code '\0'} for whitespace
+     */
+    static int skipPlain(String source, int from, int to, char delimiterChar) {
+        final int probeEnd = VECTOR ? Math.min(to, from + PROBE_LENGTH) : to;
+        for (int i = from; i < probeEnd; i++) {
+            if (isSpecial(source.charAt(i), delimiterChar)) {
+                return i;
+            }
+        }
+        return probeEnd < to ? VectorRunScanner.skipPlain(source, probeEnd, to, delimiterChar) : to;
+    }
+
+    /**
+     * Returns the index of the first {@code quoteChar} or backslash in
+     * {@code [from, to)}, or {@code to}.
+     */
+    static int skipQuoted(String source, int from, int to, char quoteChar) {
+        final int probeEnd = VECTOR ? Math.min(to, from + PROBE_LENGTH) : to;
+        for (int i = from; i < probeEnd; i++) {
+            final char c = source.charAt(i);
+            if (c == quoteChar || c == '\\') {
+                return i;
+            }
+        }
+        return probeEnd < to ? VectorRunScanner.skipQuoted(source, probeEnd, to, quoteChar) : to;
+    }
+
+    /**
+     * Checks whether long runs are scanned with vectors. True when the {@code jdk.incubator.vector} module is enabled.
+     */
+    static boolean isVectorized() {
+        return VECTOR;
+    }
+
+    static boolean isSpecial(char c, char delimiterChar) {
+        if (c == '"' || c == '\'' || c == '\\') {
+            return true;
+        }
+        if (delimiterChar == '\0') {
+            return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\b';
+        }
+        return c == delimiterChar;
+    }
+}
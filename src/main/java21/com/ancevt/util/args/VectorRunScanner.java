@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation of the {@link RunScanner} searches.
+ * <p>
+ * The source is copied block by block into a per-thread char array, which
+ * is then compared {@link #SPECIES} lanes at a time. Only loaded by
+ * {@link RunScanner} when the {@code jdk.incubator.vector} module is present.
+ */
+final class VectorRunScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    private static final int BLOCK_LENGTH = 1024;
+
+    private static final ThreadLocal<char[]> BLOCKS = ThreadLocal.withInitial(() -> new char[BLOCK_LENGTH]);
+
+    private VectorRunScanner() {}
+
+    static int skipPlain(String source, int from, int to, char delimiterChar) {
+        final char[] block = BLOCKS.get();
+        for (int position = from; position < to; position += BLOCK_LENGTH) {
+            final int length = Math.min(BLOCK_LENGTH, to - position);
+            source.getChars(position, position + length, block, 0);
+
+            final int upper = SPECIES.loopBound(length);
+            int i = 0;
+            for (; i < upper; i += SPECIES.length()) {
+                final ShortVector v = ShortVector.fromCharArray(SPECIES, block, i);
+                VectorMask<Short> special = v.eq((short) '"').or(v.eq((short) '\'')).or(v.eq((short) '\\'));
+                if (delimiterChar == '\0') {
+                    // '\b', '\t' and '\n' are adjacent, 8..10
+                    special = special.or(v.eq((short) ' ')).or(v.eq((short) '\r'))
+                            .or(v.compare(VectorOperators.GE, (short) '\b').and(v.compare(VectorOperators.LE, (short) '\n')));
+                } else {
+                    special = special.or(v.eq((short) delimiterChar));
+                }
+                if (special.anyTrue()) {
+                    return position + i + special.firstTrue();
+                }
+            }
+            for (; i < length; i++) {
+                if (RunScanner.isSpecial(block[i], delimiterChar)) {
+                    return position + i;
+                }
+            }
+        }
+        return to;
+    }
+
+    static int skipQuoted(String source, int from, int to, char quoteChar) {
+        final char[] block = BLOCKS.get();
+        for (int position = from; position < to; position += BLOCK_LENGTH) {
+            final int length = Math.min(BLOCK_LENGTH, to - position);
+            source.getChars(position, position + length, block, 0);
+
+            final int upper = SPECIES.loopBound(length);
+            int i = 0;
+            for (; i < upper; i += SPECIES.length()) {
+                final ShortVector v = ShortVector.fromCharArray(SPECIES, block, i);
+                final VectorMask<Short> special = v.eq((short) quoteChar).or(v.eq((short) '\\'));
+                if (special.anyTrue()) {
+                    return position + i + special.firstTrue();
+                }
+            }
+            for (; i < length; i++) {
+                if (block[i] == quoteChar || block[i] == '\\') {
+                    return position + i;
+                }
+            }
+        }
+        return to;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.pipeline;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the default handler executor of {@link CommandPipeline}.
+ * <p>
+ * Java 21+ version of the class from the multi-release JAR: every task runs
+ * on its own virtual thread, so blocking handlers do not tie up platform
+ * threads. Concurrency is still bounded by the pipeline queue capacity.
+ */
+final class PipelineExecutors {
+
+    private PipelineExecutors() {}
+
+    static ExecutorService newDefaultExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("args-pipeline-", 1).factory());
+    }
+
+    static boolean isVirtual() {
+        return true;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsCacheTest {
+
+    @Test
+    public void testHitReusesTokensAndKeepsSource() {
+        ArgsCache cache = new ArgsCache(16);
+
+        Args first = Args.parseCached("say \"hello world\" --loud", cache);
+        Args second = cache.parse("say \"hello world\" --loud");
+
+        assertArrayEquals(new String[]{"say", "hello world", "--loud"}, second.getElements());
+        first.getElements()[0] = "changed";
+        assertEquals("say", second.get(String.class, 0));
+        assertEquals("say", cache.parse("say \"hello world\" --loud").getElements()[0]);
+        assertEquals("say \"hello world\" --loud", second.getSource());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2 / 3.0, cache.getHitRatio(), 0.0001);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLruEvictsLeastRecentlyUsedEntry() {
+        ArgsCache cache = new ArgsCache(2);
+
+        cache.parse("a");
+        cache.parse("b");
+        cache.parse("a");
+        cache.parse("c");
+        cache.parse("a");
+        cache.parse("b");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testFifoIgnoresAccessOrder() {
+        ArgsCache cache = new ArgsCache(2, ArgsCache.EvictionPolicy.FIFO);
+
+        cache.parse("a");
+        cache.parse("b");
+        cache.parse("a");
+        cache.parse("c");
+        cache.parse("a");
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testClearAndInvalidArguments() {
+        ArgsCache cache = new ArgsCache(8);
+        cache.parse("one two");
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertTrue(cache.parse("").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new ArgsCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new ArgsCache(1, null));
+    }
+
+    @Test
+    public void testConcurrentParsingStaysBounded() throws Exception {
+        ArgsCache cache = new ArgsCache(100);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        Args args = cache.parse("cmd --n " + (i % 300));
+                        assertEquals(String.valueOf(i % 300), args.get("--n"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // 300 distinct strings fill every segment, and capacities add up to the maximum
+        assertEquals(100, cache.size());
+        assertEquals(8000, cache.getHitCount() + cache.getMissCount());
+
+        ArgsCache uneven = new ArgsCache(1001);
+        for (int i = 0; i < 20_000; i++) {
+            uneven.parse("cmd " + i);
+        }
+        assertEquals(1001, uneven.size());
+    }
+}
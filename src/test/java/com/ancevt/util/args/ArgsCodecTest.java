@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsCodecTest {
+
+    @Test
+    public void testRoundTripThroughBuffer() {
+        Args args = Args.parse("say 'hello world' --to Zoë --emoji \"😀 ok\"");
+        ByteBuffer buffer = ByteBuffer.allocate(ArgsCodec.DEFAULT.encodedSize(args) + 4);
+
+        args.writeTo(buffer);
+        assertEquals(ArgsCodec.DEFAULT.encodedSize(args), buffer.position());
+        buffer.flip();
+        Args decoded = Args.readFrom(buffer);
+
+        assertArrayEquals(args.getElements(), decoded.getElements());
+        assertEquals("Zoë", decoded.get("--to"));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testStreamOfInstancesWithDictionary() throws Exception {
+        ArgsCodec codec = new ArgsCodec("--user", "--amount");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        codec.encode(Args.parse("transfer --user bob --amount 10"), out);
+        codec.encode(Args.parse("--user alice").tail(1), out);
+        assertTrue(codec.toBytes(Args.parse("--user --amount")).length < ArgsCodec.DEFAULT.toBytes(Args.parse("--user --amount")).length);
+
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals(10, codec.decode(in).get(Integer.class, "--amount").intValue());
+        assertArrayEquals(new String[]{"alice"}, codec.decode(in).getElements());
+        assertNull(codec.decode(in));
+    }
+
+    @Test
+    public void testMalformedInputIsRejected() {
+        byte[] bytes = new ArgsCodec("--user").toBytes(Args.parse("--user bob"));
+
+        assertThrows(ArgsParseException.class, () -> Args.readFrom(ByteBuffer.wrap(bytes)));
+        assertThrows(ArgsParseException.class,
+                () -> new ArgsCodec("--user").decode(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1))));
+        assertThrows(EOFException.class,
+                () -> new ArgsCodec("--user").decode(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+        assertThrows(BufferOverflowException.class, () -> Args.parse("too long").writeTo(ByteBuffer.allocate(4)));
+        assertThrows(IllegalArgumentException.class, () -> new ArgsCodec("--a", "--a"));
+    }
+
+    @Test
+    public void testMalformedHeadersDoNotAllocateAnnouncedSizes() throws Exception {
+        byte[] hugeCount = {1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        byte[] hugeToken = {1, 0, 1, (byte) 0xFD, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'a'};
+        ArgsLimits limits = ArgsLimits.builder().maxTokens(100).maxTokenLength(1024).build();
+
+        assertThrows(EOFException.class, () -> Args.readFrom(new ByteArrayInputStream(hugeCount)));
+        assertThrows(EOFException.class, () -> Args.readFrom(new ByteArrayInputStream(hugeToken)));
+        assertThrows(ArgsParseException.class, () -> Args.readFrom(new ByteArrayInputStream(hugeCount), limits));
+        assertThrows(ArgsParseException.class, () -> Args.readFrom(new ByteArrayInputStream(hugeToken), limits));
+
+        byte[] bytes = ArgsCodec.DEFAULT.toBytes(Args.parse("a bb ccc"));
+        assertArrayEquals(new String[]{"a", "bb", "ccc"}, Args.readFrom(new ByteArrayInputStream(bytes), limits).getElements());
+        ArgsLimits shortTokens = ArgsLimits.builder().maxTokenLength(2).build();
+        assertThrows(ArgsParseException.class, () -> Args.readFrom(new ByteArrayInputStream(bytes), shortTokens));
+    }
+}
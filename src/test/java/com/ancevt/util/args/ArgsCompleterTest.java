@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import com.ancevt.util.args.reflection.CommandArgument;
+import com.ancevt.util.args.reflection.OptionArgument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsCompleterTest {
+
+    enum Environment {
+        DEV,
+        PROD,
+        PREVIEW
+    }
+
+    static class DeployCommand {
+        @CommandArgument
+        String service;
+
+        @OptionArgument(names = {"--env", "-e"})
+        Environment environment;
+
+        @OptionArgument(names = "--host")
+        String host;
+
+        @OptionArgument(names = "--force")
+        boolean force;
+    }
+
+    static class StatusCommand {
+        @CommandArgument
+        Environment environment;
+
+        @OptionArgument(names = "--verbose")
+        boolean verbose;
+    }
+
+    private final ArgsCompleter completer = ArgsCompleter.builder()
+            .command("deploy", DeployCommand.class)
+            .command("delete", CommandSchema.builder().flag("--all").build())
+            .command("status", StatusCommand.class)
+            .provider(context -> "--host".equals(context.getOption() != null ? context.getOption().getNames().get(0) : null)
+                    ? Arrays.asList("alpha", "beta")
+                    : Collections.emptyList())
+            .build();
+
+    @Test
+    public void testCompletesCommandNames() {
+        assertEquals(Arrays.asList("delete", "deploy"), completer.complete("de", 2));
+        assertEquals(Arrays.asList("delete", "deploy", "status"), completer.complete("", 0));
+        assertEquals(Collections.emptyList(), completer.complete("unknown --x", 11));
+    }
+
+    @Test
+    public void testCompletesOptionNamesAndEnumValues() {
+        assertEquals(Arrays.asList("--env", "--force"), completer.complete("deploy --", 9).subList(0, 2));
+        assertEquals(Arrays.asList("preview", "prod"), completer.complete("deploy api --env p", 18));
+        assertEquals(Arrays.asList("--env=preview", "--env=prod"), completer.complete("deploy --env=PR", 15));
+        assertEquals(Arrays.asList("dev", "preview", "prod"), completer.complete("status ", 7));
+        assertEquals(Collections.emptyList(), completer.complete("status dev ", 11));
+        assertEquals(Collections.emptyList(), completer.complete("deploy --force ", 15));
+    }
+
+    @Test
+    public void testUsesProviderAndCursorPosition() {
+        assertEquals(Collections.singletonList("beta"), completer.complete("deploy --host b", 15));
+        assertEquals(Arrays.asList("alpha", "beta"), completer.complete("deploy --host \"", 15));
+        assertEquals(Arrays.asList("delete", "deploy"), completer.complete("deploy --host b", 2));
+
+        ArgsLine line = new ArgsLine("deploy --env p --force");
+        assertEquals(Arrays.asList("preview", "prod"), completer.complete(line, 14));
+        assertThrows(ArgsParseException.class, () -> completer.complete("x", 5));
+    }
+
+    @Test
+    public void testRootSchemaWithoutCommands() {
+        ArgsCompleter root = ArgsCompleter.builder().root(DeployCommand.class).build();
+
+        List<String> candidates = root.complete("api -", 5);
+        assertEquals(Arrays.asList("--env", "--force", "--host", "-e"), candidates);
+        assertEquals(Arrays.asList("dev"), root.complete("api -e d", 8));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import com.ancevt.util.args.reflection.ArgsBinder;
+import com.ancevt.util.args.reflection.ArgsValidationException;
+import com.ancevt.util.args.reflection.CommandArgument;
+import com.ancevt.util.args.reflection.OptionArgument;
+import com.ancevt.util.args.reflection.Range;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsDiagnosticsTest {
+
+    private static final ArgsLimits DIAGNOSTICS = ArgsLimits.builder().diagnostics(true).build();
+
+    private static final CommandParser PARSER = CommandSchema.builder()
+            .option(Integer.class, "--port").required()
+            .positional("file", String.class)
+            .build()
+            .compile();
+
+    static class Server {
+        @CommandArgument(required = true)
+        String name;
+
+        @OptionArgument(names = "--port")
+        @Range(min = 1, max = 65535)
+        int port;
+    }
+
+    @Test
+    public void testOffsetsAreRecordedOnlyWhenEnabled() {
+        Args plain = Args.parse("run 'a b' --x");
+        assertEquals(-1, plain.getStartOffset(1));
+        assertEquals(-1, plain.getEndOffset(1));
+
+        Args args = Args.parseLimited("  run 'a b'\t--x", DIAGNOSTICS);
+        assertArrayEquals(new String[]{"run", "a b", "--x"}, args.getElements());
+        assertEquals(2, args.getStartOffset(0));
+        assertEquals(5, args.getEndOffset(0));
+        assertEquals(6, args.getStartOffset(1));
+        assertEquals(11, args.getEndOffset(1));
+        assertEquals(12, args.tail(2).getStartOffset(0));
+        assertThrows(ArgsParseException.class, () -> args.getStartOffset(3));
+
+        // other callers are not affected
+        assertEquals(-1, Args.parse("run 'a b' --x").getStartOffset(1));
+        assertEquals(-1, Args.parseLimited("run 'a b' --x", ArgsLimits.NONE).getStartOffset(1));
+    }
+
+    @Test
+    public void testDialectOffsets() {
+        Args posix = Args.parseDialect("cp $'a\\tb' \"c d\"e", Dialect.POSIX, DIAGNOSTICS);
+        assertArrayEquals(new String[]{"cp", "a\tb", "c de"}, posix.getElements());
+        assertEquals(3, posix.getStartOffset(1));
+        assertEquals(10, posix.getEndOffset(1));
+        assertEquals(11, posix.getStartOffset(2));
+        assertEquals(17, posix.getEndOffset(2));
+
+        Args clustered = Args.parseDialect("ls -vp8080", Dialect.DEFAULT.withShortOptionClustering("p"), DIAGNOSTICS);
+        assertArrayEquals(new String[]{"ls", "-v", "-p", "8080"}, clustered.getElements());
+        assertEquals(3, clustered.getStartOffset(3));
+        assertEquals(10, clustered.getEndOffset(3));
+
+        assertEquals(-1, Args.parseDialect("cp a", Dialect.POSIX).getStartOffset(1));
+        ArgsParseException unterminated = assertThrows(ArgsParseException.class,
+                () -> Args.parseDialect("say 'open", Dialect.POSIX, ArgsLimits.builder().strictQuotes(true).build()));
+        assertEquals(4, unterminated.getStart());
+    }
+
+    @Test
+    public void testMessageIsUnchangedWithoutDiagnostics() {
+        ArgsParseException exception = assertThrows(ArgsParseException.class, () -> PARSER.parse("in.txt --port 80 --verbose"));
+
+        assertEquals("Unknown option --verbose", exception.getMessage());
+        assertNull(exception.getSource());
+        assertNull(exception.getExcerpt());
+        assertEquals(-1, exception.getStart());
+    }
+
+    @Test
+    public void testParserErrorsPointAtToken() {
+        ArgsParseException unknown = assertThrows(ArgsParseException.class, () -> PARSER.parse(Args.parseLimited("in.txt --port 80 --verbose", DIAGNOSTICS)));
+        assertEquals(17, unknown.getStart());
+        assertEquals(26, unknown.getEnd());
+        assertEquals("Unknown option --verbose\n"
+                + "  in.txt --port 80 --verbose\n"
+                + "                   ^^^^^^^^^", unknown.getMessage());
+
+        ArgsParseException invalid = assertThrows(ArgsParseException.class, () -> PARSER.parse(Args.parseLimited("in.txt --port eighty", DIAGNOSTICS)));
+        assertEquals("  in.txt --port eighty\n"
+                + "                ^^^^^^", invalid.getExcerpt());
+
+        ArgsParseException missing = assertThrows(ArgsParseException.class, () -> PARSER.parse(Args.parseLimited("in.txt --port", DIAGNOSTICS)));
+        assertEquals("  in.txt --port\n"
+                + "               ^", missing.getExcerpt());
+    }
+
+    @Test
+    public void testBindingErrorsPointAtToken() {
+        ArgsValidationException range = assertThrows(ArgsValidationException.class,
+                () -> ArgsBinder.convert(Args.parseLimited("api --port 0", DIAGNOSTICS), Server.class));
+        assertEquals(11, range.getStart());
+        assertEquals(12, range.getEnd());
+
+        ArgsParseException missing = assertThrows(ArgsParseException.class,
+                () -> ArgsBinder.convert(Args.parseLimited("   ", DIAGNOSTICS), Server.class));
+        assertEquals(3, missing.getStart());
+    }
+
+    @Test
+    public void testUnterminatedQuoteIsLocated() {
+        ArgsLimits strict = ArgsLimits.builder().strictQuotes(true).build();
+
+        ArgsParseException exception = assertThrows(ArgsParseException.class, () -> Args.parseLimited("say 'open", strict));
+        assertEquals(4, exception.getStart());
+        assertEquals("  say 'open\n"
+                + "      ^^^^^", exception.getExcerpt());
+    }
+
+    @Test
+    public void testLongSourceIsCut() {
+        String padding = String.join(" ", Collections.nCopies(40, "in"));
+
+        ArgsParseException exception = assertThrows(ArgsParseException.class,
+                () -> PARSER.parse(Args.parseLimited("--port 1 --bad " + padding, DIAGNOSTICS)));
+        String[] lines = exception.getExcerpt().split("\n");
+        assertTrue(lines[0].startsWith("  --port 1 --bad in"));
+        assertTrue(lines[0].endsWith("..."));
+        assertEquals("  " + String.join("", Collections.nCopies(9, " ")) + "^^^^^", lines[1]);
+
+        exception = assertThrows(ArgsParseException.class, () -> PARSER.parse(Args.parseLimited("--port 1 " + padding.replace(' ', '-') + " --bad", DIAGNOSTICS)));
+        lines = exception.getExcerpt().split("\n");
+        assertTrue(lines[0].startsWith("  ..."));
+        assertEquals(lines[0].indexOf("--bad"), lines[1].indexOf('^'));
+    }
+
+    @Test
+    public void testArgsLineKeepsOffsets() {
+        ArgsLine line = new ArgsLine("copy a");
+        line.edit(6, 0, " \"b c\"");
+
+        assertEquals(-1, line.toArgs().getStartOffset(2));
+        Args args = line.toArgs(true);
+        assertEquals(7, args.getStartOffset(2));
+        assertEquals(12, args.getEndOffset(2));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ArgsJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppendAndReplayInOrderAcrossSegments() throws IOException {
+        ArgsCodec codec = new ArgsCodec("--user", "--amount");
+        try (ArgsJournal journal = new ArgsJournal(directory, 256, codec)) {
+            for (int i = 0; i < 40; i++) {
+                journal.append(Args.parse("transfer --user u" + i + " --amount " + i), 1000L + i);
+            }
+        }
+        assertTrue(segments().size() > 1);
+
+        List<String> users = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+        long count = ArgsJournal.replay(directory, codec, (timestamp, args) -> {
+            assertTrue(args.contains("--amount"));
+            users.add(args.get("--user"));
+            timestamps.add(timestamp);
+        });
+
+        assertEquals(40, count);
+        assertEquals("u0", users.get(0));
+        assertEquals("u39", users.get(39));
+        assertEquals(Long.valueOf(1039L), timestamps.get(39));
+    }
+
+    @Test
+    public void testReplayParallelVisitsEveryEntry() throws IOException {
+        try (ArgsJournal journal = new ArgsJournal(directory, 128, ArgsCodec.DEFAULT)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(Args.parse("cmd " + i));
+            }
+        }
+
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        long count = ArgsJournal.replayParallel(directory, ArgsCodec.DEFAULT,
+                (timestamp, args) -> values.add(args.get(Integer.class, 1)));
+
+        assertEquals(100, count);
+        Collections.sort(values);
+        assertEquals(Integer.valueOf(0), values.get(0));
+        assertEquals(Integer.valueOf(99), values.get(99));
+    }
+
+    @Test
+    public void testReopenContinuesAfterDamagedEntry() throws IOException {
+        try (ArgsJournal journal = new ArgsJournal(directory)) {
+            journal.append(Args.parse("first"));
+            journal.append(Args.parse("second"));
+        }
+
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            // corrupt the payload of the second entry
+            ByteBuffer first = ByteBuffer.allocate(4);
+            channel.read(first, 4);
+            int secondPayload = 4 + 16 + first.getInt(0) + 16;
+            channel.write(ByteBuffer.wrap(new byte[]{0x7F}), secondPayload + 3);
+        }
+
+        try (ArgsJournal journal = new ArgsJournal(directory)) {
+            journal.append(Args.parse("third"));
+        }
+
+        List<String> commands = new ArrayList<>();
+        ArgsJournal.replay(directory, (timestamp, args) -> commands.add(args.getElements()[0]));
+        assertEquals(Arrays.asList("first", "third"), commands);
+    }
+
+    @Test
+    public void testOversizedEntryIsRejected() throws IOException {
+        try (ArgsJournal journal = new ArgsJournal(directory, 64, ArgsCodec.DEFAULT)) {
+            assertThrows(ArgsParseException.class,
+                    () -> journal.append(Args.parse("a-very-long-token-that-does-not-fit-into-a-tiny-segment-file")));
+        }
+    }
+
+    @Test
+    public void testForeignFilesAreNotTakenForSegments() throws IOException {
+        try (ArgsJournal journal = new ArgsJournal(directory, 128, ArgsCodec.DEFAULT)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(Args.parse("cmd " + i));
+            }
+        }
+        Files.write(directory.resolve("notes.argsj"), new byte[]{1, 2, 3});
+        Files.write(directory.resolve("1.argsj"), new byte[]{1, 2, 3});
+        Files.write(directory.resolve("000000000000000x.argsj"), new byte[]{1, 2, 3});
+
+        try (ArgsJournal journal = new ArgsJournal(directory, 128, ArgsCodec.DEFAULT)) {
+            journal.append(Args.parse("cmd 10"));
+        }
+
+        List<Integer> values = new ArrayList<>();
+        ArgsJournal.replay(directory, (timestamp, args) -> values.add(args.get(Integer.class, 1)));
+        assertEquals(11, values.size());
+        assertEquals(Integer.valueOf(10), values.get(10));
+    }
+
+    @Test
+    public void testSegmentsAreUnmappedOnRolloverAndClose() throws IOException {
+        Path maps = Paths.get("/proc/self/maps");
+        assumeTrue(Files.isReadable(maps));
+
+        try (ArgsJournal journal = new ArgsJournal(directory, 128, ArgsCodec.DEFAULT)) {
+            for (int i = 0; i < 20; i++) {
+                journal.append(Args.parse("cmd " + i));
+            }
+            assertEquals(1, mappedSegments(maps));
+        }
+        assertTrue(segments().size() > 1);
+        assertEquals(0, mappedSegments(maps));
+    }
+
+    private long mappedSegments(Path maps) throws IOException {
+        String prefix = directory.toRealPath().toString();
+        try (Stream<String> lines = Files.lines(maps)) {
+            return lines.filter(line -> line.contains(prefix)).count();
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import com.ancevt.util.args.reflection.ArgsBinder;
+import com.ancevt.util.args.reflection.CommandArgument;
+import com.ancevt.util.args.reflection.OptionArgument;
+import com.ancevt.util.args.reflection.OptionGroup;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsLayersTest {
+
+    static class ServiceConfig {
+        @CommandArgument
+        String mode;
+
+        @OptionArgument(names = "--db-url", required = true)
+        String dbUrl;
+
+        @OptionArgument(names = "--pool-size")
+        int poolSize = 4;
+
+        @OptionArgument(names = "--debug")
+        boolean debug;
+    }
+
+    static class PoolConfig {
+        @OptionArgument(names = {"--pool-size", "-p"})
+        int poolSize;
+    }
+
+    static class GroupedPoolConfig {
+        @OptionGroup(prefix = "pool.")
+        PoolConfig pool;
+    }
+
+    static class OutputConfig {
+        @CommandArgument
+        String command;
+
+        @CommandArgument(index = 1, required = false)
+        String target;
+
+        @OptionArgument(names = "--out")
+        String out;
+    }
+
+    @Test
+    public void testHigherLayersWinAndNamesAreMapped() {
+        Map<String, String> environment = new HashMap<>();
+        environment.put("APP_DB_URL", "jdbc:env");
+        environment.put("APP_POOL_SIZE", "8");
+        environment.put("OTHER", "ignored");
+
+        Properties properties = new Properties();
+        properties.setProperty("db.url", "jdbc:file");
+        properties.setProperty("timeout", "30");
+
+        Args args = ArgsLayers.builder()
+                .args(Args.parse("serve --pool-size 16"))
+                .layer(environment, name -> name.startsWith("APP_") ? ArgsLayers.optionName(name.substring(4)) : null)
+                .properties(properties)
+                .build();
+
+        assertEquals("serve", args.get(String.class, 0));
+        assertEquals(16, args.get(Integer.class, "--pool-size").intValue());
+        assertEquals("jdbc:env", args.get("--db-url"));
+        assertEquals(30, args.get(Integer.class, "--timeout").intValue());
+        assertNull(args.get("--other"));
+        assertTrue(args.contains("--missing", "--timeout"));
+        assertEquals("30", args.get(String.class));
+        assertFalse(args.contains("--missing"));
+    }
+
+    @Test
+    public void testMapLayerAboveArgsOverridesCommandLine() {
+        Map<String, String> overrides = new HashMap<>();
+        overrides.put("pool.size", "2");
+
+        Args args = ArgsLayers.builder()
+                .layer(overrides, ArgsLayers::optionName)
+                .args(Args.parse("--pool-size=16 --db-url jdbc:cli"))
+                .build();
+
+        assertEquals(2, args.get(Integer.class, "--pool-size").intValue());
+        assertEquals("jdbc:cli", args.get("--db-url"));
+    }
+
+    @Test
+    public void testBinderReadsMergedIndex() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("db.url", "jdbc:file");
+        properties.setProperty("debug", "false");
+
+        Args args = ArgsLayers.builder()
+                .args(Args.parse("run"))
+                .properties(properties)
+                .build();
+        ServiceConfig config = ArgsBinder.convert(args, ServiceConfig.class);
+
+        assertEquals("run", config.mode);
+        assertEquals("jdbc:file", config.dbUrl);
+        assertEquals(4, config.poolSize);
+        assertFalse(config.debug);
+
+        properties.setProperty("debug", "true");
+        assertTrue(ArgsBinder.convert(ArgsLayers.builder().args(Args.parse("run")).properties(properties).build(),
+                ServiceConfig.class).debug);
+    }
+
+    @Test
+    public void testOptionNameMapping() {
+        assertEquals("--db-url", ArgsLayers.optionName("DB_URL"));
+        assertEquals("--db-url", ArgsLayers.optionName("db.url"));
+
+        Map<String, String> conflicting = new HashMap<>();
+        conflicting.put("DB_URL", "a");
+        conflicting.put("db.url", "b");
+        Function<String, String> mapper = ArgsLayers::optionName;
+        assertThrows(ArgsParseException.class, () -> ArgsLayers.builder().layer(conflicting, mapper));
+    }
+
+    @Test
+    public void testCommandLineAliasWinsOverLowerLayer() throws Exception {
+        Map<String, String> environment = new HashMap<>();
+        environment.put("POOL_SIZE", "8");
+
+        Args args = ArgsLayers.builder()
+                .args(Args.parse("-p 16"))
+                .layer(environment, ArgsLayers::optionName)
+                .build();
+
+        assertEquals(16, ArgsBinder.convert(args, PoolConfig.class).poolSize);
+        assertEquals(8, ArgsBinder.convert(Args.parse("--pool-size 8 -p 16"), PoolConfig.class).poolSize);
+    }
+
+    @Test
+    public void testMapLayerAliasWinsOverLowerArgsLayer() throws Exception {
+        Map<String, String> values = new HashMap<>();
+        values.put("P", "16");
+
+        Args args = ArgsLayers.builder()
+                .layer(values, n -> "-p")
+                .args(Args.parse("--pool-size=8"))
+                .build();
+
+        assertEquals(16, args.get(Integer.class, "-p"));
+        assertEquals(0, args.match("-p").getLayer());
+        assertEquals(1, args.match("--pool-size").getLayer());
+        assertEquals("16", args.match("--pool-size", "-p").getValue());
+        assertEquals(16, ArgsBinder.convert(args, PoolConfig.class).poolSize);
+
+        Args grouped = ArgsLayers.builder()
+                .layer(values, n -> "-pool.p")
+                .args(Args.parse("--pool.pool-size=8"))
+                .build();
+        assertEquals(16, ArgsBinder.convert(grouped, GroupedPoolConfig.class).pool.poolSize);
+    }
+
+    @Test
+    public void testPlainArgsKeepDeclaredAliasOrder() throws Exception {
+        Args args = Args.parse("-p 16 --pool-size 8");
+
+        assertEquals(0, args.match("-p").getLayer());
+        assertEquals(8, ArgsBinder.convert(args, PoolConfig.class).poolSize);
+        assertEquals(8, ArgsBinder.convert(Args.parse("-pool.p 16 --pool.pool-size 8"), GroupedPoolConfig.class).pool.poolSize);
+    }
+
+    @Test
+    public void testMapLayerTokensAreOrdered() {
+        Properties properties = new Properties();
+        for (String name : new String[]{"zeta", "alpha", "mid", "beta"}) {
+            properties.setProperty(name, "1");
+        }
+
+        Args args = ArgsLayers.builder().properties(properties).build();
+
+        assertArrayEquals(new String[]{"--alpha=1", "--beta=1", "--mid=1", "--zeta=1"}, args.getElements());
+    }
+
+    @Test
+    public void testOptionAtLayerEndHasNoValue() throws Exception {
+        Map<String, String> environment = new HashMap<>();
+        environment.put("HOME", "/root");
+
+        Args overMap = ArgsLayers.builder()
+                .args(Args.parse("run --out"))
+                .layer(environment, n -> "--" + n.toLowerCase())
+                .build();
+        Args overArgs = ArgsLayers.builder()
+                .args(Args.parse("run --out"))
+                .args(Args.parse("build x"))
+                .build();
+
+        for (Args args : new Args[]{overMap, overArgs}) {
+            assertNull(args.get("--out"));
+            assertTrue(args.match("--out").isPresent());
+            assertNull(args.match("--out").getValue());
+            assertNull(args.matchAt(1, "--out").getValue());
+            assertNull(ArgsBinder.convert(args, OutputConfig.class).out);
+        }
+        assertEquals("/root", overMap.get("--home"));
+
+        CommandParser parser = CommandSchema.builder()
+                .option(String.class, "--out")
+                .build()
+                .compile();
+        assertThrows(ArgsParseException.class, () -> parser.parse(overMap));
+    }
+
+    @Test
+    public void testOnlyFirstArgsLayerSuppliesPositionals() throws Exception {
+        Args args = ArgsLayers.builder()
+                .args(Args.parse("run"))
+                .args(Args.parse("build x --out a --level 2"))
+                .build();
+
+        assertEquals("run", args.get(String.class, 0));
+        assertNull(args.get(String.class, 1));
+        assertEquals(2, args.get(Integer.class, "--level"));
+
+        OutputConfig config = ArgsBinder.convert(args, OutputConfig.class);
+        assertEquals("run", config.command);
+        assertNull(config.target);
+        assertEquals("a", config.out);
+
+        CommandParser parser = CommandSchema.builder()
+                .option(String.class, "--out")
+                .option(Integer.class, "--level")
+                .positional("command", String.class)
+                .build()
+                .compile();
+        ParsedCommand command = parser.parse(args);
+        assertEquals("run", command.get("command"));
+        assertEquals(2, command.get("--level"));
+
+        Map<String, String> environment = new HashMap<>();
+        environment.put("MODE", "fast");
+        assertNull(ArgsLayers.builder().layer(environment, ArgsLayers::optionName).build().get(String.class, 0));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsLimitsTest {
+
+    private final ArgsLimits limits = ArgsLimits.builder()
+            .maxSourceLength(64)
+            .maxTokens(4)
+            .maxTokenLength(8)
+            .maxListElements(3)
+            .strictQuotes(true)
+            .build();
+
+    @Test
+    public void testInputWithinLimitsIsParsed() {
+        Args args = Args.parseLimited("set --tags a,b,c 'x y'", limits);
+
+        assertArrayEquals(new String[]{"set", "--tags", "a,b,c", "x y"}, args.getElements());
+        assertEquals(Arrays.asList("a", "b", "c"), args.get(List.class, "--tags"));
+        assertEquals(Arrays.asList("a", "b", "c"), args.match("--tags").get(List.class));
+    }
+
+    @Test
+    public void testEachLimitIsEnforced() {
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited(String.join("", Collections.nCopies(65, "a")), limits));
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited("a b c d e", limits));
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited("123456789", limits));
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited("say 'open", limits));
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited("say \"", limits));
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited("--l a,b,c,d", limits).get(List.class, "--l"));
+        Args tail = Args.parseLimited("--l a,b,c,d", limits).tail(1);
+        assertNull(tail.get(List.class, 0));
+        assertTrue(tail.getProblem() instanceof ArgsParseException);
+        assertThrows(IllegalArgumentException.class, () -> ArgsLimits.builder().maxTokens(0));
+    }
+
+    @Test
+    public void testHostileInputFailsEarly() {
+        char[] chars = new char[10_000_000];
+        Arrays.fill(chars, 'x');
+        chars[0] = '"';
+        String hostile = new String(chars);
+
+        ArgsLimits tokenLimit = ArgsLimits.builder().maxTokenLength(1024).build();
+        ArgsParseException exception = assertThrows(ArgsParseException.class, () -> Args.parseLimited(hostile, tokenLimit));
+        assertTrue(exception.getMessage().contains("1024"));
+    }
+
+    @Test
+    public void testTokenLengthLimitIsExactForLongRuns() {
+        ArgsLimits tokenLimit = ArgsLimits.builder().maxTokenLength(300).build();
+        String exact = String.join("", Collections.nCopies(300, "x"));
+
+        assertArrayEquals(new String[]{exact, "'" + exact.substring(1)}, Args.parseLimited(exact + " \\'" + exact.substring(1), tokenLimit).getElements());
+        assertArrayEquals(new String[]{exact}, Args.parseLimited("\"" + exact + "\"", tokenLimit).getElements());
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited(exact + "x", tokenLimit));
+        assertThrows(ArgsParseException.class, () -> Args.parseLimited("a\"" + exact + "\"", tokenLimit));
+    }
+
+    @Test
+    public void testDefaultsStayUnlimited() {
+        assertArrayEquals(new String[]{"say", "open"}, Args.parseLimited("say 'open", ArgsLimits.NONE).getElements());
+        assertEquals(Arrays.asList("a", "b"), Args.parse("--l a,b,,").get(List.class, "--l"));
+    }
+}
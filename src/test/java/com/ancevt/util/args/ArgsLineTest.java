@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsLineTest {
+
+    @Test
+    public void testTokensRecordPositionsAndQuoteState() {
+        ArgsLine line = new ArgsLine("say  'hello world' x\\ y \"open");
+
+        assertEquals(4, line.size());
+        ArgsLine.Token quoted = line.getToken(1);
+        assertEquals("hello world", quoted.getValue());
+        assertEquals(5, quoted.getStart());
+        assertEquals(18, quoted.getEnd());
+        assertTrue(quoted.isQuoted());
+        assertFalse(quoted.isUnterminated());
+        assertEquals("x y", line.getValue(2));
+        assertTrue(line.getToken(3).isUnterminated());
+        assertTrue(line.isUnterminated());
+        assertArrayEquals(Args.parse(line.getSource()).getElements(), line.toArgs().getElements());
+    }
+
+    @Test
+    public void testEditRetokenizesAffectedTokensOnly() {
+        ArgsLine line = new ArgsLine("git commit -m msg");
+
+        line.edit(4, 6, "push");
+        assertEquals("git push -m msg", line.getSource());
+        assertEquals("push", line.getValue(1));
+        assertEquals(12, line.getToken(3).getStart());
+
+        line.edit(9, 0, "\"");
+        assertTrue(line.isUnterminated());
+        assertEquals(3, line.size());
+        assertEquals("-m msg", line.getValue(2));
+
+        line.edit(line.getSource().length(), 0, "\"");
+        assertFalse(line.isUnterminated());
+        assertEquals("-m msg", line.getValue(2));
+
+        assertEquals(1, line.tokenAt(8));
+        line.edit(3, 0, " ");
+        assertEquals(-1, line.tokenAt(4));
+        assertThrows(ArgsParseException.class, () -> line.edit(0, 100, ""));
+    }
+
+    @Test
+    public void testRandomEditsMatchFullTokenization() {
+        Random random = new Random(42);
+        String alphabet = "ab  '\"\\-=";
+        ArgsLine line = new ArgsLine("");
+
+        for (int step = 0; step < 5000; step++) {
+            String source = line.getSource();
+            int offset = random.nextInt(source.length() + 1);
+            int removed = random.nextInt(Math.min(3, source.length() - offset) + 1);
+            StringBuilder inserted = new StringBuilder();
+            int insertedLength = source.length() > 40 ? 0 : random.nextInt(4);
+            for (int i = 0; i < insertedLength; i++) {
+                inserted.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            line.edit(offset, removed, inserted.toString());
+            assertSameTokens(new ArgsLine(line.getSource()), line);
+        }
+    }
+
+    private static void assertSameTokens(ArgsLine expected, ArgsLine actual) {
+        String message = "source: " + actual.getSource();
+        assertEquals(expected.size(), actual.size(), message);
+        assertEquals(expected.isUnterminated(), actual.isUnterminated(), message);
+        for (int i = 0; i < expected.size(); i++) {
+            ArgsLine.Token e = expected.getToken(i);
+            ArgsLine.Token a = actual.getToken(i);
+            assertEquals(e.toString(), a.toString(), message);
+            assertEquals(e.isQuoted(), a.isQuoted(), message);
+            assertEquals(e.isUnterminated(), a.isUnterminated(), message);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsReaderTest {
+
+    /**
+     * Channel returning at most {@code chunk} bytes per read.
+     */
+    private static ReadableByteChannel channel(String text, int chunk) {
+        final ByteBuffer data = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        return new ReadableByteChannel() {
+            @Override
+            public int read(ByteBuffer dst) {
+                if (!data.hasRemaining()) return -1;
+                int n = Math.min(chunk, Math.min(dst.remaining(), data.remaining()));
+                for (int i = 0; i < n; i++) dst.put(data.get());
+                return n;
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    @Test
+    public void testReadsFramesWithQuotesEscapesAndLookups() throws Exception {
+        ArgsReader reader = new ArgsReader(channel(
+                "deploy --env=prod \"two words\" naïve\r\n\nsay 'a b' c\\ d --port 80", 3), 48);
+
+        Args first = reader.next();
+        assertEquals("prod", first.get("--env"));
+        assertTrue(first.contains("--env"));
+        assertFalse(first.contains("--en"));
+        assertArrayEquals(new String[]{"deploy", "--env=prod", "two words", "naïve"}, first.getElements());
+        assertEquals("deploy --env=prod \"two words\" naïve", first.getSource());
+
+        assertTrue(reader.next().isEmpty());
+
+        Args third = reader.next();
+        assertEquals(80, third.get(Integer.class, "--port").intValue());
+        assertEquals("a b", third.get(String.class, 1));
+        assertEquals("c d", third.get(String.class, 2));
+
+        assertNull(reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testMatchesSplitForTrickyInput() throws Exception {
+        String line = "a\"\"b '' \"x y\"z \\\"q 'unterminated rest";
+        ArgsReader reader = new ArgsReader(Channels.newChannel(
+                new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8))));
+
+        assertArrayEquals(Args.parse(line).getElements(), reader.next().getElements());
+    }
+
+    @Test
+    public void testOversizedFrameIsSkipped() throws Exception {
+        ArgsReader reader = new ArgsReader(channel("ok 1\nthis frame is far too long\nok 2\n", 5), 12);
+
+        assertEquals("1", reader.next().get(String.class, 1));
+        assertThrows(ArgsParseException.class, reader::next);
+        assertEquals("2", reader.next().get(String.class, 1));
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArgsTemplateTest {
+
+    private final Map<String, String> env = new HashMap<>();
+
+    {
+        env.put("WORK", "/tmp/work dir");
+        env.put("ID", "42");
+        env.put("CPUS", "");
+    }
+
+    @Test
+    public void testExpansionDuringTokenizing() {
+        Args args = Args.parseResolved("job --out=${WORK}/run-${ID} --threads ${CPUS:-4} ${MISSING:-}", env::get);
+
+        assertArrayEquals(new String[]{"job", "--out=/tmp/work dir/run-42", "--threads", "4"}, args.getElements());
+        assertEquals("/tmp/work dir/run-42", args.get(String.class, "--out"));
+        assertEquals(4, args.get(int.class, "--threads"));
+    }
+
+    @Test
+    public void testQuotesAndEscapes() {
+        assertArrayEquals(new String[]{"id 42", "${ID}", "${ID}", "$ID", "$"},
+                Args.parseResolved("\"id ${ID}\" '${ID}' \\${ID} $ID $", env::get).getElements());
+    }
+
+    @Test
+    public void testCompiledTemplateRendersRepeatedly() {
+        ArgsTemplate template = ArgsTemplate.compile("run --id ${ID} --mode 'fast' ${WORK:-/var}/x");
+
+        assertEquals(Arrays.asList("ID", "WORK"), Arrays.asList(template.getVariables().toArray()));
+        assertArrayEquals(new String[]{"run", "--id", "42", "--mode", "fast", "/tmp/work dir/x"},
+                template.render(env).getElements());
+
+        Map<String, String> other = new HashMap<>();
+        other.put("ID", "7");
+        assertArrayEquals(new String[]{"run", "--id", "7", "--mode", "fast", "/var/x"},
+                template.render(other).getElements());
+        assertArrayEquals(Args.parseResolved(template.getSource(), env::get).getElements(), template.render(env).getElements());
+    }
+
+    @Test
+    public void testErrors() {
+        ArgsTemplate template = ArgsTemplate.compile("--id ${ID}");
+
+        assertThrows(ArgsParseException.class, () -> template.render(new HashMap<>()));
+        assertThrows(ArgsParseException.class, () -> Args.parseResolved("--id ${ID", env::get));
+        assertThrows(ArgsParseException.class, () -> ArgsTemplate.compile("--id ${:-1}"));
+        assertArrayEquals(new String[]{"--id"}, template.render(name -> "").getElements());
+    }
+}
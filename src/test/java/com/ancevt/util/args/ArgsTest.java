@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -76,6 +77,7 @@ public class ArgsTest {
         assertArrayEquals(new String[]{"one", "two", "three"}, args.getElements());
         assertThrows(ArgsParseException.class, () -> Args.parse("one::two", "::"));
         assertThrows(ArgsParseException.class, () -> Args.parse("one two", (String) null));
+        assertThrows(ArgsParseException.class, () -> Args.parse("one two", null));
     }
 
     @Test
@@ -247,4 +249,115 @@ public class ArgsTest {
         assertEquals(3, command.count);
         assertTrue(command.flag);
     }
+
+    @Test
+    public void testSubArgsAndTailShareElementsAndKeepLookups() {
+        Args args = Args.parse("remote add origin --url http://host --force");
+
+        Args remote = args.tail(1);
+        Args add = remote.subArgs(1, 4);
+
+        assertArrayEquals(new String[]{"add", "origin", "--url", "http://host", "--force"}, remote.getElements());
+        assertArrayEquals(new String[]{"origin", "--url", "http://host"}, add.getElements());
+        assertEquals("http://host", add.get("--url"));
+        assertFalse(add.contains("--force"));
+        assertNull(add.get("--missing"));
+        assertEquals("origin", add.next());
+        assertEquals("\"origin\" \"--url\" \"http://host\"", add.getSource());
+        assertTrue(args.tail(args.size()).isEmpty());
+        assertThrows(ArgsParseException.class, () -> args.subArgs(2, 1));
+        ArgsParseException exception = assertThrows(ArgsParseException.class, () -> args.tail(args.size() + 1));
+        assertEquals("tail: Index out of bounds, index: 7, elements: 6", exception.getMessage());
+        exception = assertThrows(ArgsParseException.class, () -> remote.tail(-1));
+        assertEquals("tail: Index out of bounds, index: -1, elements: 5", exception.getMessage());
+        exception = assertThrows(ArgsParseException.class, () -> add.tail(4));
+        assertEquals("tail: Index out of bounds, index: 4, elements: 3", exception.getMessage());
+    }
+
+    @Test
+    public void testLazyTokensScanOnlyAsFarAsRequested() {
+        LazyTokens tokens = new LazyTokens("one 'two three' four", '\0');
+
+        assertTrue(tokens.has(1));
+        assertEquals(2, tokens.scanned());
+        assertEquals("two three", tokens.get(1));
+        assertEquals(2, tokens.scanned());
+        assertFalse(tokens.has(3));
+        assertEquals(3, tokens.scanned());
+        assertEquals(3, tokens.size());
+        assertSame(tokens.toArray(0, 3), tokens.toArray(0, 3));
+        assertFalse(new LazyTokens("  \t ", '\0').has(0));
+    }
+
+    @Test
+    public void testLazyTokensConcurrentReads() throws Exception {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            source.append('t').append(i).append(' ');
+        }
+        LazyTokens tokens = new LazyTokens(source.toString(), '\0');
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        Thread[] readers = new Thread[8];
+        for (int r = 0; r < readers.length; r++) {
+            final int step = r + 1;
+            readers[r] = new Thread(() -> {
+                try {
+                    for (int i = 0; tokens.has(i); i += step) {
+                        assertEquals("t" + i, tokens.get(i));
+                    }
+                    assertEquals(2000, tokens.size());
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            readers[r].start();
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(Collections.emptyList(), failures);
+        assertEquals(2000, tokens.toArray(0, 2000).length);
+    }
+
+    @Test
+    public void testLazyArgsKeepEagerSemantics() {
+        Args args = Args.parse("run --mode fast tail");
+
+        assertFalse(args.isEmpty());
+        assertEquals("run", args.next());
+        Args rest = args.tail(1);
+        assertEquals("fast", rest.get("--mode"));
+        assertArrayEquals(new String[]{"--mode", "fast", "tail"}, rest.getElements());
+        assertEquals(4, args.size());
+        assertSame(args.getElements(), args.getElements());
+        assertTrue(args.tail(4).isEmpty());
+        assertThrows(ArgsParseException.class, () -> args.tail(5));
+        assertEquals("run --mode fast tail", args.getSource());
+    }
+
+    @Test
+    public void testMatchReturnsHandleWithMatchedKeyAndValue() {
+        Args args = Args.parse("run -p 8080 --host=localhost --verbose");
+
+        ArgsMatch port = args.match("--port", "-p");
+        ArgsMatch host = args.match("--host");
+        ArgsMatch verbose = args.match("--verbose");
+        ArgsMatch missing = args.match("--missing");
+
+        assertTrue(port.isPresent());
+        assertEquals("-p", port.getKey());
+        assertEquals(1, port.getIndex());
+        assertFalse(port.isInline());
+        assertEquals(8080, port.get(Integer.class).intValue());
+        assertTrue(host.isInline());
+        assertEquals("localhost", host.getValue());
+        assertTrue(verbose.isPresent());
+        assertNull(verbose.getValue());
+        assertEquals("fallback", verbose.get(String.class, "fallback"));
+        assertFalse(missing.isPresent());
+        assertEquals(-1, missing.getIndex());
+        assertEquals("8080", args.tail(1).match("-p").getValue());
+    }
 }
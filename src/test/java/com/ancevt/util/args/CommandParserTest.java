@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args;
+
+import com.ancevt.util.args.reflection.ArgsConverter;
+import com.ancevt.util.args.reflection.CommandArgument;
+import com.ancevt.util.args.reflection.OptionArgument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandParserTest {
+
+    enum Level {
+        LOW,
+        HIGH
+    }
+
+    static class UpperCaseConverter implements ArgsConverter<String> {
+        @Override
+        public String convert(String input) {
+            return input.toUpperCase();
+        }
+    }
+
+    static class CopyCommand {
+        @OptionArgument(names = {"-v", "--verbose"})
+        boolean verbose;
+
+        @OptionArgument(names = "--mode", converter = UpperCaseConverter.class)
+        String mode;
+
+        @CommandArgument(index = 1)
+        String target;
+
+        @CommandArgument
+        String source;
+    }
+
+    static class ListCommand {
+        @CommandArgument(required = false)
+        String from;
+
+        @CommandArgument(index = 1, required = false)
+        String to;
+    }
+
+    private static final CommandParser PARSER = CommandSchema.builder()
+            .option(Integer.class, "--port", "-p").required()
+            .flag("--debug", "-d")
+            .option(Level.class, "--level").defaultValue(Level.LOW)
+            .positional("file", String.class)
+            .positional("count", Integer.class).optional().defaultValue(1)
+            .build()
+            .compile();
+
+    @Test
+    public void testFlagDoesNotConsumeNextPositional() {
+        ParsedCommand command = PARSER.parse("--debug file.txt -p 8080");
+
+        assertEquals(Boolean.TRUE, command.get("--debug"));
+        assertEquals("file.txt", command.get("file"));
+        assertEquals(8080, command.get(Integer.class, "-p").intValue());
+        assertEquals(Level.LOW, command.get("--level"));
+        assertEquals(1, command.get("count"));
+        assertFalse(command.contains("count"));
+        assertTrue(command.contains("--port"));
+    }
+
+    @Test
+    public void testSlotsEqualsFormAndNegativeNumbers() {
+        int port = PARSER.slot("--port");
+        int count = PARSER.slot("count");
+
+        ParsedCommand command = PARSER.parse("--port=80 --level high data -5");
+
+        assertEquals(80, command.get(port));
+        assertEquals(-5, command.get(Integer.class, count).intValue());
+        assertEquals(Level.HIGH, command.get(Level.class, "--level"));
+        assertEquals(Boolean.FALSE, command.get("-d"));
+        assertEquals(PARSER.slot("-p"), port);
+        assertEquals(5, PARSER.getSlotCount());
+    }
+
+    @Test
+    public void testTerminatorAndRest() {
+        CommandParser parser = CommandSchema.builder()
+                .flag("--all")
+                .positional("command", String.class)
+                .rest(true)
+                .build()
+                .compile();
+
+        ParsedCommand command = parser.parse("--all run -- --not-an-option x");
+
+        assertEquals("run", command.get("command"));
+        assertEquals(Arrays.asList("--not-an-option", "x"), command.getRest());
+        assertEquals(Collections.emptyList(), parser.parse("run").getRest());
+    }
+
+    @Test
+    public void testValidationErrors() {
+        assertThrows(ArgsParseException.class, () -> PARSER.parse("file.txt"));
+        assertThrows(ArgsParseException.class, () -> PARSER.parse("-p 1 --unknown file.txt"));
+        assertThrows(ArgsParseException.class, () -> PARSER.parse("file.txt -p"));
+        assertThrows(ArgsParseException.class, () -> PARSER.parse("-p 1 file.txt 2 extra"));
+        assertThrows(ArgsParseException.class, () -> PARSER.parse("-p abc file.txt"));
+        assertThrows(ArgsParseException.class, () -> PARSER.slot("--nope"));
+    }
+
+    @Test
+    public void testSchemaDefinitionErrors() {
+        assertThrows(IllegalArgumentException.class, () -> CommandSchema.builder().flag("debug"));
+        assertThrows(IllegalArgumentException.class, () -> CommandSchema.builder().flag("-d").flag("-d"));
+        assertThrows(IllegalArgumentException.class, () -> CommandSchema.builder()
+                .positional("a", String.class).optional()
+                .positional("b", String.class)
+                .build());
+        assertThrows(IllegalStateException.class, () -> CommandSchema.builder().required());
+    }
+
+    @Test
+    public void testConsecutiveOptionalPositionals() {
+        CommandParser parser = CommandSchema.builder()
+                .positional("src", String.class).optional()
+                .positional("dst", String.class).optional().defaultValue("out")
+                .build()
+                .compile();
+
+        assertEquals("a", parser.parse("a b").get("src"));
+        assertEquals("b", parser.parse("a b").get("dst"));
+        assertEquals("out", parser.parse("a").get("dst"));
+        assertNull(parser.parse("").get("src"));
+        assertEquals(2, CommandSchema.of(ListCommand.class).getPositionals().size());
+    }
+
+    @Test
+    public void testSchemaDerivedFromAnnotatedClass() {
+        CommandSchema schema = CommandSchema.of(CopyCommand.class);
+        ParsedCommand command = schema.compile().parse("-v a.txt --mode fast b.txt");
+
+        assertEquals(2, schema.getOptions().size());
+        assertEquals(0, schema.getOptions().get(0).getArity());
+        assertEquals("source", schema.getPositionals().get(0).getName());
+        assertEquals(Boolean.TRUE, command.get("--verbose"));
+        assertEquals("FAST", command.get("--mode"));
+        assertEquals("a.txt", command.get("source"));
+        assertEquals("b.txt", command.get("target"));
+    }
+}
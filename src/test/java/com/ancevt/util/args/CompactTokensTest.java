@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactTokensTest {
+
+    @Test
+    public void testLatin1Storage() {
+        String[] argv = {"copy", "--force", "--mode=fast", "café.txt", "", "-n", "5"};
+        Args args = Args.compact(argv);
+
+        assertArrayEquals(argv, args.getElements());
+        assertTrue(args.contains("--force"));
+        assertEquals("fast", args.get(String.class, "--mode"));
+        assertEquals(5, args.get(int.class, "-n"));
+        assertFalse(args.contains("--mod"));
+        assertEquals("café.txt", args.getCharSequence(3).toString());
+        assertEquals("fast", args.getCharSequence(2).subSequence(7, 11).toString());
+        assertEquals(0, args.getCharSequence(4).length());
+        assertThrows(IndexOutOfBoundsException.class, () -> args.getCharSequence(0).charAt(4));
+        assertThrows(ArgsParseException.class, () -> args.getCharSequence(7));
+    }
+
+    @Test
+    public void testUtf16Storage() {
+        String[] argv = {"--name=Жук", "😀", "--ё"};
+        Args args = Args.compact(argv);
+
+        assertArrayEquals(argv, args.getElements());
+        assertEquals("Жук", args.get(String.class, "--name"));
+        assertTrue(args.contains("--ё"));
+        assertEquals('\uDE00', args.getCharSequence(1).charAt(1));
+    }
+
+    @Test
+    public void testUnpairedSurrogatesAreKept() {
+        String[] argv = {"x\uD800y", "\uDC00", "--k=\uD83D"};
+        Args args = Args.compact(argv);
+
+        assertEquals("x\uD800y", args.get(String.class, 0));
+        assertArrayEquals(argv, args.getElements());
+        assertEquals("\uD83D", args.get(String.class, "--k"));
+        assertEquals("\uDC00", args.getCharSequence(1).toString());
+    }
+
+    @Test
+    public void testViewsAndRetainedSize() {
+        String[] argv = new String[10_000];
+        for (int i = 0; i < argv.length; i++) {
+            argv[i] = "/data/projects/module-" + i + "/src/main/File" + i + ".java";
+        }
+        Args args = Args.compact(argv);
+        long characters = Arrays.stream(argv).mapToLong(String::length).sum();
+
+        CompactTokens tokens = new CompactTokens(new ArrayTokens(argv), 0, argv.length);
+        assertEquals(characters + 4L * (argv.length + 1), tokens.retainedBytes());
+        assertEquals(argv[9_999], args.get(String.class, 9_999));
+
+        Args tail = Args.parse("a b c d").tail(1).toCompact();
+        assertEquals(Arrays.asList("b", "c", "d"), Arrays.asList(tail.getElements()));
+        assertEquals("c", tail.tail(1).get(String.class, 0));
+        List<?> list = Args.compact(new String[]{"--l", "x,y"}).get(List.class, "--l");
+        assertEquals(Arrays.asList("x", "y"), list);
+    }
+}
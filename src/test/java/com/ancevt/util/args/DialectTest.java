@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DialectTest {
+
+    private static String[] split(String source, Dialect dialect) {
+        return Args.parseDialect(source, dialect).getElements();
+    }
+
+    @Test
+    public void testDefaultDialectMatchesBuiltInSplitting() {
+        String alphabet = "ab '\"\\\t=\n-";
+        Random random = new Random(43);
+        for (int n = 0; n < 20_000; n++) {
+            StringBuilder source = new StringBuilder();
+            int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                source.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String line = source.toString();
+            assertArrayEquals(ArgsSplitHelper.split(line, '\0'), split(line, Dialect.DEFAULT), line);
+        }
+    }
+
+    @Test
+    public void testPosixQuoting() {
+        assertArrayEquals(new String[]{"echo", "a\\b", "it's"}, split("echo 'a\\b' it\\'s", Dialect.POSIX));
+        assertArrayEquals(new String[]{"x$y\"\\z", "\\q"}, split("\"x\\$y\\\"\\\\z\" \"\\q\"", Dialect.POSIX));
+        assertArrayEquals(new String[]{"tab\there", "it's", "\\d"}, split("$'tab\\there' $'it\\'s' $'\\d'", Dialect.POSIX));
+        assertArrayEquals(new String[]{"", "a", "$", "$x"}, split("'' a $ $x", Dialect.POSIX));
+        assertArrayEquals(new String[]{"ab", "c"}, split("a\\\nb c", Dialect.POSIX));
+        assertArrayEquals(new String[]{"ab c"}, split("a'b 'c", Dialect.POSIX));
+    }
+
+    @Test
+    public void testWindowsQuoting() {
+        assertArrayEquals(new String[]{"abc", "d", "e"}, split("\"abc\" d e", Dialect.WINDOWS));
+        assertArrayEquals(new String[]{"a\\\\\\b", "de fg", "h"}, split("a\\\\\\b d\"e f\"g h", Dialect.WINDOWS));
+        assertArrayEquals(new String[]{"a\\\"b", "c", "d"}, split("a\\\\\\\"b c d", Dialect.WINDOWS));
+        assertArrayEquals(new String[]{"a\\b c", "d", "e"}, split("a\\\\\"b c\" d e", Dialect.WINDOWS));
+        assertArrayEquals(new String[]{"ab\" c d"}, split("a\"b\"\" c d", Dialect.WINDOWS));
+        assertArrayEquals(new String[]{"C:\\Program Files\\", "it's"}, split("\"C:\\Program Files\\\\\" it's", Dialect.WINDOWS));
+        assertArrayEquals(new String[]{"", "x\\"}, split("\"\" x\\", Dialect.WINDOWS));
+    }
+
+    @Test
+    public void testShortOptionClustering() {
+        Dialect dialect = Dialect.POSIX.withShortOptionClustering("o");
+
+        assertArrayEquals(new String[]{"-a", "-b", "-c", "-p", "8080", "-v", "-o", "out.txt"},
+                split("-abc -p8080 -voout.txt", dialect));
+        assertArrayEquals(new String[]{"-x", "--long", "-5", "-p", "80", "-"},
+                split("-x --long -5 -p=80 -", dialect));
+
+        Args args = Args.parseDialect("-vp8080", Dialect.DEFAULT.withShortOptionClustering("p"));
+        assertTrue(args.contains("-v"));
+        assertEquals(8080, args.get(int.class, "-p"));
+    }
+
+    @Test
+    public void testLimitsAndUnterminatedQuotes() {
+        ArgsLimits strict = ArgsLimits.builder().strictQuotes(true).maxTokens(3).build();
+
+        assertArrayEquals(new String[]{"say", "open"}, split("say 'open", Dialect.POSIX));
+        assertThrows(ArgsParseException.class, () -> Args.parseDialect("say 'open", Dialect.POSIX, strict));
+        assertThrows(ArgsParseException.class, () -> Args.parseDialect("say \"open", Dialect.WINDOWS, strict));
+        assertThrows(ArgsParseException.class, () -> Args.parseDialect("-abcd", Dialect.POSIX.withShortOptionClustering(""), strict));
+        assertArrayEquals(new String[]{"a", "b"}, Args.parseDialect("a \"b\"", Dialect.WINDOWS, strict).getElements());
+    }
+}
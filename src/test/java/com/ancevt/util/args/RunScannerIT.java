@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against the packaged jar, so on Java 21 the scanner of the
+ * multi-release layer is tested. The build runs it once with
+ * {@code --add-modules jdk.incubator.vector} and once without, and tells
+ * which path to expect in the {@code args.vector.expected} property.
+ */
+public class RunScannerIT {
+
+    /**
+     * Ten run characters, two of them with the sign bit of a {@code short} lane
+     * set, then delimiters, the neighbours U+0007 and U+000B of the
+     * {@code '\b'..'\n'} range, quotes, the escape and more non-ASCII characters.
+     */
+    private static final String ALPHABET = "abcdefgh\u8000\uFFFF \t\n\r\b\u0007\u000B'\"\\,Жё=-\u9000";
+
+    @Test
+    public void testExpectedScannerIsUsed() {
+        String expected = System.getProperty("args.vector.expected");
+        assumeTrue(expected != null, "scanner mode is only checked by the JDK 21 build");
+
+        assertEquals(Boolean.parseBoolean(expected), RunScanner.isVectorized());
+    }
+
+    @Test
+    public void testRunsMatchCharacterByCharacterScan() {
+        Random random = new Random(47);
+        for (int n = 0; n < 5_000; n++) {
+            String source = randomSource(random, 1 + random.nextInt(400));
+            int from = random.nextInt(source.length());
+            char delimiter = random.nextBoolean() ? '\0' : ',';
+            char quote = random.nextBoolean() ? '"' : '\'';
+
+            assertEquals(plainEnd(source, from, delimiter), RunScanner.skipPlain(source, from, source.length(), delimiter), source);
+            assertEquals(quotedEnd(source, from, quote), RunScanner.skipQuoted(source, from, source.length(), quote), source);
+        }
+    }
+
+    @Test
+    public void testTokenizingMatchesDialectTables() {
+        Random random = new Random(53);
+        for (int n = 0; n < 2_000; n++) {
+            String line = randomSource(random, random.nextInt(600));
+            assertArrayEquals(Dialect.DEFAULT.split(line, ArgsLimits.NONE), Args.parse(line).getElements(), line);
+        }
+    }
+
+    /**
+     * Mostly long plain runs with an occasional special character.
+     */
+    private static String randomSource(Random random, int length) {
+        StringBuilder source = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            source.append(random.nextInt(40) == 0
+                    ? ALPHABET.charAt(10 + random.nextInt(ALPHABET.length() - 10))
+                    : ALPHABET.charAt(random.nextInt(10)));
+        }
+        return source.toString();
+    }
+
+    private static int plainEnd(String source, int from, char delimiter) {
+        int i = from;
+        while (i < source.length() && !RunScanner.isSpecial(source.charAt(i), delimiter)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int quotedEnd(String source, int from, char quote) {
+        int i = from;
+        while (i < source.length() && source.charAt(i) != quote && source.charAt(i) != '\\') {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.metrics;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.reflection.ArgsBinder;
+import com.ancevt.util.args.reflection.OptionArgument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DefaultArgsMetricsTest {
+
+    static class PortCommand {
+        @OptionArgument(names = "--port", required = true)
+        int port;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ArgsMetrics.uninstall();
+    }
+
+    @Test
+    public void testNothingIsRecordedWithoutInstalledListener() {
+        DefaultArgsMetrics metrics = new DefaultArgsMetrics();
+
+        Args.parse("--port 80").get("--port");
+
+        assertNull(ArgsMetrics.installed());
+        assertEquals(0, metrics.getTokenizeCount());
+    }
+
+    @Test
+    public void testRecordsTokenizeLookupsFailuresAndBindLatency() throws Exception {
+        DefaultArgsMetrics metrics = new DefaultArgsMetrics();
+        ArgsMetrics.install(metrics);
+
+        Args args = Args.parse("--port 8080 --host localhost");
+        assertTrue(args.contains("--host"));
+        assertEquals("localhost", args.get("--host"));
+        assertThrows(NumberFormatException.class, () -> args.get(Integer.class, "--host"));
+        ArgsBinder.convert(args, PortCommand.class);
+        assertThrows(ArgsParseException.class, () -> ArgsBinder.convert(Args.parse(""), PortCommand.class));
+
+        assertEquals(2, metrics.getTokenizeCount());
+        assertEquals(4, metrics.getTokenCount());
+        assertEquals(28, metrics.getSourceChars());
+        assertEquals(2, metrics.getTokenizeLatency().getCount());
+        assertTrue(metrics.getLookupCount() >= 3);
+        assertEquals(Long.valueOf(1), metrics.getConversionFailures().get(Integer.class));
+        assertEquals(2, metrics.getBindLatency(PortCommand.class).getCount());
+        assertEquals(1, metrics.getBindFailures());
+    }
+
+    @Test
+    public void testHistogramBucketsAndPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(0);
+        histogram.record(3);
+        histogram.record(1000);
+        histogram.record(1000);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(2003, histogram.getTotalNanos());
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(1, histogram.getBucketCount(1));
+        assertEquals(2, histogram.getBucketCount(9));
+        assertEquals(4, histogram.getPercentile(50));
+        assertEquals(1024, histogram.getPercentile(99));
+        assertEquals(0, new LatencyHistogram().getPercentile(50));
+    }
+}
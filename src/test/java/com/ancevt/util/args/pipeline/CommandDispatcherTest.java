@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args.pipeline;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.reflection.OptionArgument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandDispatcherTest {
+
+    static class DeployCommand {
+        @OptionArgument(names = "--env", required = true)
+        String env;
+
+        @OptionArgument(names = "--replicas")
+        int replicas = 1;
+    }
+
+    @Test
+    public void testRoutesByFirstToken() {
+        List<String> calls = new ArrayList<>();
+        CommandDispatcher dispatcher = new CommandDispatcher()
+                .register("deploy", DeployCommand.class, command -> calls.add(command.env + ":" + command.replicas))
+                .register("echo", args -> calls.add(String.join(" ", args.getElements())));
+
+        dispatcher.dispatch("deploy --env prod --replicas 3");
+        dispatcher.dispatch(Args.parse("echo hello world"));
+
+        assertEquals(Arrays.asList("prod:3", "hello world"), calls);
+        assertEquals(Arrays.asList("deploy", "echo"), new ArrayList<>(dispatcher.getCommands()));
+        assertThrows(ArgsParseException.class, () -> dispatcher.dispatch("rollback"));
+        assertThrows(ArgsParseException.class, () -> dispatcher.dispatch(""));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher.register("echo", args -> {
+        }));
+    }
+
+    @Test
+    public void testStatisticsAndUnregister() {
+        CommandDispatcher dispatcher = new CommandDispatcher()
+                .register("deploy", DeployCommand.class, command -> {
+                })
+                .register("slow", args -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .register("idle", args -> {
+                });
+
+        dispatcher.dispatch("deploy --env prod");
+        assertThrows(ArgsParseException.class, () -> dispatcher.dispatch("deploy"));
+        dispatcher.dispatch("slow");
+
+        CommandDispatcher.CommandStats deploy = dispatcher.getStats("deploy");
+        assertEquals(2, deploy.getInvocationCount());
+        assertEquals(1, deploy.getFailureCount());
+        assertEquals(2, deploy.getLatency().getCount());
+
+        List<CommandDispatcher.CommandStats> slowest = dispatcher.getSlowest(99, 5);
+        assertEquals(2, slowest.size());
+        assertEquals("slow", slowest.get(0).getName());
+        assertEquals(3, dispatcher.getStats().size());
+
+        assertTrue(dispatcher.unregister("slow"));
+        assertFalse(dispatcher.unregister("slow"));
+        assertNull(dispatcher.getStats("slow"));
+        assertThrows(ArgsParseException.class, () -> dispatcher.dispatch("slow"));
+    }
+
+    @Test
+    public void testConcurrentDispatchAndRegistration() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        CommandDispatcher dispatcher = new CommandDispatcher()
+                .register("ping", args -> handled.incrementAndGet());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        dispatcher.dispatch("ping");
+                        String name = "cmd-" + thread + "-" + i;
+                        dispatcher.register(name, args -> {
+                        });
+                        dispatcher.unregister(name);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4000, handled.get());
+        assertEquals(4000, dispatcher.getStats("ping").getInvocationCount());
+        assertEquals(1, dispatcher.getCommands().size());
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.ancevt.util.args.pipeline;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.reflection.CommandArgument;
+import com.ancevt.util.args.reflection.OptionArgument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandPipelineTest {
+
+    static class SayCommand {
+        @CommandArgument
+        String session;
+
+        @OptionArgument(names = "--seq", required = true)
+        int seq;
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBindsAndHandlesEveryCommand() throws Exception {
+        AtomicInteger sum = new AtomicInteger();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+        try (CommandPipeline<SayCommand> pipeline = CommandPipeline.builder(SayCommand.class)
+                .handler(command -> sum.addAndGet(command.seq))
+                .errorHandler((line, error) -> errors.add(line))
+                .queueCapacity(4)
+                .build()) {
+
+            pipeline.run(input("a --seq 1\n\nb --seq 2\nbroken\nc --seq 3\n"));
+
+            assertEquals(6, sum.get());
+            assertEquals(3, pipeline.getProcessedCount());
+            assertEquals(1, pipeline.getFailedCount());
+            assertEquals(Collections.singletonList("broken"), errors);
+            assertEquals(0, pipeline.getInFlight());
+            assertEquals(3, pipeline.getHandleLatency().getCount());
+            assertEquals(5, pipeline.getTokenizeLatency().getCount());
+        }
+    }
+
+    @Test
+    public void testPerSessionOrderingOnSharedExecutor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 400; i++) {
+            text.append("s").append(i % 5).append(" --seq ").append(i).append('\n');
+        }
+
+        try (CommandPipeline<SayCommand> pipeline = CommandPipeline.builder(SayCommand.class)
+                .executor(executor)
+                .sessionKey(args -> args.get(String.class, 0))
+                .handler(command -> seen
+                        .computeIfAbsent(command.session, k -> Collections.synchronizedList(new ArrayList<>()))
+                        .add(command.seq))
+                .queueCapacity(16)
+                .build()) {
+
+            pipeline.run(Channels.newChannel(input(text.toString())));
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(5, seen.size());
+        for (List<Integer> sequence : seen.values()) {
+            assertEquals(80, sequence.size());
+            for (int i = 1; i < sequence.size(); i++) {
+                assertTrue(sequence.get(i - 1) < sequence.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testRawArgsPipelineAndClosedState() throws Exception {
+        List<String> commands = Collections.synchronizedList(new ArrayList<>());
+        CommandPipeline<Args> pipeline = CommandPipeline.builder()
+                .handler(args -> commands.add(args.next()))
+                .build();
+
+        pipeline.submit("ping");
+        pipeline.awaitIdle();
+        pipeline.close();
+
+        assertEquals(Collections.singletonList("ping"), commands);
+        assertThrows(IllegalStateException.class, () -> pipeline.submit("ping"));
+        assertThrows(IllegalStateException.class, () -> CommandPipeline.builder().build());
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    public void testFailingSessionKeyDoesNotLeakPermits() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (CommandPipeline<Args> pipeline = CommandPipeline.builder()
+                .executor(executor)
+                .sessionKey(args -> {
+                    if (args.get(String.class, 0).equals("bad")) {
+                        throw new IllegalStateException("no session");
+                    }
+                    return args.get(String.class, 0);
+                })
+                .handler(args -> handled.incrementAndGet())
+                .errorHandler((line, error) -> errors.add(line + ": " + error.getMessage()))
+                .queueCapacity(1)
+                .build()) {
+
+            pipeline.submit("bad");
+            assertEquals(0, pipeline.getInFlight());
+
+            pipeline.run(new ByteArrayInputStream("good\nbad\nalso-good\n".getBytes(StandardCharsets.UTF_8)));
+            assertEquals(2, handled.get());
+            assertEquals(2, pipeline.getFailedCount());
+            assertEquals(Arrays.asList("bad: no session", "bad: no session"), errors);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    public void testLaneRejectedOnPoolThreadFailsQueuedTasks() {
+        AtomicInteger calls = new AtomicInteger();
+        Executor executor = task -> {
+            if (calls.getAndIncrement() > 0) {
+                throw new RejectedExecutionException("shut down");
+            }
+            task.run();
+        };
+        List<Runnable> rejected = new ArrayList<>();
+        SerialExecutor lane = new SerialExecutor(executor, (task, e) -> rejected.add(task));
+        Runnable queued = () -> fail("must not run");
+
+        // the first task queues another one and ends the drain loop, so the
+        // lane is rescheduled from the drain and rejected there
+        assertThrows(IllegalStateException.class, () -> lane.execute(() -> {
+            lane.execute(queued);
+            throw new IllegalStateException("stop");
+        }));
+
+        assertEquals(Collections.singletonList(queued), rejected);
+    }
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    public void testRejectedLaneRecovers() throws Exception {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ExecutorService delegate = Executors.newSingleThreadExecutor();
+        Executor executor = task -> {
+            if (reject.get()) {
+                throw new RejectedExecutionException("busy");
+            }
+            delegate.execute(task);
+        };
+        List<String> commands = Collections.synchronizedList(new ArrayList<>());
+
+        try (CommandPipeline<Args> pipeline = CommandPipeline.builder()
+                .executor(executor)
+                .sessionKey(args -> "same")
+                .handler(args -> commands.add(args.next()))
+                .queueCapacity(2)
+                .build()) {
+
+            assertThrows(RejectedExecutionException.class, () -> pipeline.submit("first"));
+            assertEquals(0, pipeline.getInFlight());
+
+            reject.set(false);
+            pipeline.submit("second");
+            pipeline.submit("third");
+            pipeline.awaitIdle();
+        } finally {
+            delegate.shutdown();
+            assertTrue(delegate.awaitTermination(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(Arrays.asList("second", "third"), commands);
+    }
+}
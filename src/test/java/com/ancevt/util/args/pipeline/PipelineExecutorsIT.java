@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args.pipeline;
+
+import com.ancevt.util.args.Args;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the packaged jar, so on Java 21 the default executor of the
+ * multi-release layer is tested.
+ */
+public class PipelineExecutorsIT {
+
+    @Test
+    @Timeout(value = 10, threadMode = Timeout.ThreadMode.SEPARATE_THREAD)
+    public void testDefaultExecutorMatchesRuntime() throws Exception {
+        final boolean expected = featureVersion() >= 21;
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        try (CommandPipeline<Args> pipeline = CommandPipeline.builder()
+                .handler(args -> threads.add(Thread.currentThread()))
+                .build()) {
+            for (int i = 0; i < 16; i++) {
+                pipeline.submit("run " + i);
+            }
+            pipeline.awaitIdle();
+
+            assertEquals(expected, pipeline.isVirtualThreads());
+        }
+
+        assertEquals(16, threads.size());
+        for (Thread thread : threads) {
+            assertEquals(expected, isVirtual(thread), thread.toString());
+            assertTrue(thread.getName().startsWith("args-pipeline-"), thread.getName());
+        }
+    }
+
+    private static int featureVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        if (featureVersion() < 21) {
+            return false;
+        }
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -22,6 +22,13 @@ import com.ancevt.util.args.Args;
 import com.ancevt.util.args.ArgsParseException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ArgsBinderTest {
@@ -117,6 +124,17 @@ public class ArgsBinderTest {
         }
     }
 
+    static class DefaultsCommand {
+        @CommandArgument(required = false)
+        String name = "anonymous";
+
+        @OptionArgument(names = "--count")
+        int count = 5;
+
+        @OptionArgument(names = "--flag")
+        boolean flag;
+    }
+
     @Test
     public void testBindCommandArgument() throws Exception {
         Args args = Args.parse("hello -c 42 --flag --desc testdesc");
@@ -229,6 +247,8 @@ public class ArgsBinderTest {
         ConvertedCommand cmd = ArgsBinder.convert(args, ConvertedCommand.class);
 
         assertEquals("ALICE", cmd.name);
+        // as before, an option without a value passes "null"
+        assertEquals("NULL", ArgsBinder.convert(Args.parse("--name"), ConvertedCommand.class).name);
     }
 
     @Test
@@ -249,4 +269,91 @@ public class ArgsBinderTest {
 
         assertEquals("secret", cmd.value);
     }
+
+    @Test
+    public void testRebindRestoresDefaultsBeforeBinding() throws Exception {
+        DefaultsCommand cmd = ArgsBinder.convert(Args.parse("first --count 9 --flag"), DefaultsCommand.class);
+
+        assertSame(cmd, ArgsBinder.rebind(Args.parse("next --flag"), cmd));
+        assertEquals("next", cmd.name);
+        assertEquals(5, cmd.count);
+        assertTrue(cmd.flag);
+
+        ArgsBinder.rebind(Args.parse("second"), cmd);
+        assertEquals("second", cmd.name);
+        assertEquals(5, cmd.count);
+        assertFalse(cmd.flag);
+    }
+
+    static class ConstructedCommand {
+        @CommandArgument(required = false)
+        String name;
+
+        @OptionArgument(names = "--count")
+        int count = 5;
+
+        @OptionArgument(names = "--flag")
+        boolean flag = true;
+
+        ConstructedCommand(String name) {
+            this.name = name;
+        }
+    }
+
+    @Test
+    public void testRebindWithoutNoArgConstructorResetsToZeroValues() throws Exception {
+        ConstructedCommand cmd = new ConstructedCommand("initial");
+        ArgsBinder.convert(Args.parse("hello --count 3"), cmd);
+        assertTrue(cmd.flag);
+
+        ArgsBinder.rebind(Args.parse("world --count 4"), cmd);
+
+        assertEquals("world", cmd.name);
+        assertEquals(4, cmd.count);
+        assertFalse(cmd.flag);
+
+        ArgsBinder.rebind(Args.parse(""), cmd);
+        assertNull(cmd.name);
+        assertEquals(0, cmd.count);
+    }
+
+    @Test
+    public void testConvertAllKeepsOrderAndCollectsErrors() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Stream<String> sources = IntStream.range(0, 500)
+                    .mapToObj(i -> i % 50 == 7 ? "broken" : "cmd" + i + " -c " + i);
+
+            List<BindResult<SimpleCommand>> results = ArgsBinder.convertAll(sources, SimpleCommand.class, executor);
+
+            assertEquals(500, results.size());
+            for (int i = 0; i < 500; i++) {
+                BindResult<SimpleCommand> result = results.get(i);
+                assertEquals(i, result.getIndex());
+                if (i % 50 == 7) {
+                    assertFalse(result.isSuccess());
+                    assertTrue(result.getError() instanceof ArgsParseException);
+                    assertNull(result.getValue());
+                } else {
+                    assertTrue(result.isSuccess());
+                    assertEquals("cmd" + i, result.getValue().name);
+                    assertEquals(i, result.getValue().count);
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConvertAllFromArgsListUsesCommonPool() {
+        List<Args> argsList = new ArrayList<>();
+        argsList.add(Args.parse("--name alice"));
+        argsList.add(Args.parse("--name bob"));
+
+        List<BindResult<ConvertedCommand>> results = ArgsBinder.convertAll(argsList, ConvertedCommand.class);
+
+        assertEquals("ALICE", results.get(0).getValue().name);
+        assertEquals("BOB", results.get(1).getValue().name);
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args.reflection;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.CommandSchema;
+import com.ancevt.util.args.ParsedCommand;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptionGroupTest {
+
+    static class Pool {
+        @OptionArgument(names = "--max")
+        int max = 8;
+
+        @OptionArgument(names = {"--min", "-m"})
+        int min = 1;
+    }
+
+    static class Database {
+        @OptionArgument(names = "--host", required = true)
+        String host;
+
+        @OptionArgument(names = "--ssl")
+        boolean ssl;
+
+        @OptionGroup(prefix = "pool.")
+        Pool pool;
+    }
+
+    static class Cache {
+        @OptionArgument(names = "--ttl")
+        long ttl = 60;
+    }
+
+    static class Service {
+        @CommandArgument
+        String name;
+
+        @OptionArgument(names = "--verbose")
+        boolean verbose;
+
+        @OptionGroup(prefix = "db.")
+        Database db;
+
+        @OptionGroup(prefix = "cache.")
+        Cache cache = new Cache();
+    }
+
+    static class Cyclic {
+        @OptionGroup(prefix = "self.")
+        Cyclic self;
+    }
+
+    static class PositionalGroup {
+        @OptionGroup(prefix = "x.")
+        Service service;
+    }
+
+    @Test
+    public void testBindsNestedGroups() throws Exception {
+        Args args = Args.parse("api --db.host localhost --db.pool.max=32 -db.pool.m 2 --db.ssl --verbose --cache.ttl 5");
+        Service service = ArgsBinder.convert(args, Service.class);
+
+        assertEquals("api", service.name);
+        assertTrue(service.verbose);
+        assertEquals("localhost", service.db.host);
+        assertTrue(service.db.ssl);
+        assertEquals(32, service.db.pool.max);
+        assertEquals(2, service.db.pool.min);
+        assertEquals(5, service.cache.ttl);
+    }
+
+    @Test
+    public void testDefaultsRequiredAndFirstOccurrence() throws Exception {
+        Service service = ArgsBinder.convert(Args.parse("api --db.host a --db.host b"), Service.class);
+        assertEquals("a", service.db.host);
+        assertEquals(8, service.db.pool.max);
+        assertEquals(1, service.db.pool.min);
+        assertEquals(60, service.cache.ttl);
+
+        assertThrows(ArgsParseException.class, () -> ArgsBinder.convert(Args.parse("api --db.pool.max 1"), Service.class));
+        assertThrows(NumberFormatException.class, () -> ArgsBinder.convert(Args.parse("api --db.host h --cache.ttl x"), Service.class));
+    }
+
+    @Test
+    public void testRebindResetsGroups() throws Exception {
+        Service service = ArgsBinder.convert(Args.parse("api --db.host a --db.pool.max 3 --cache.ttl 1"), Service.class);
+        Database first = service.db;
+
+        ArgsBinder.rebind(Args.parse("api --db.host b"), service);
+        assertNotSame(first, service.db);
+        assertEquals("b", service.db.host);
+        assertEquals(8, service.db.pool.max);
+        assertEquals(60, service.cache.ttl);
+
+        ArgsBinder.convert(Args.parse("api --db.host c"), service);
+        assertEquals("c", service.db.host);
+    }
+
+    @Test
+    public void testInvalidGroups() {
+        assertThrows(IllegalArgumentException.class, () -> ArgsBinder.convert(Args.parse(""), Cyclic.class));
+        assertThrows(IllegalArgumentException.class, () -> ArgsBinder.convert(Args.parse(""), PositionalGroup.class));
+        assertThrows(IllegalArgumentException.class, () -> CommandSchema.of(Cyclic.class));
+    }
+
+    @Test
+    public void testSchemaIncludesGroupedOptions() {
+        ParsedCommand command = CommandSchema.of(Service.class).compile().parse(("api --db.host h --db.pool.max 4 --db.ssl"));
+
+        assertEquals("h", command.get(String.class, "--db.host"));
+        assertEquals(4, command.get(Integer.class, "--db.pool.max"));
+        assertTrue(command.contains("--db.ssl"));
+    }
+}
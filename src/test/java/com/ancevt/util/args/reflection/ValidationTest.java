@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args.reflection;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsParseException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationTest {
+
+    enum Level {LOW, HIGH, EXTREME}
+
+    static class ServerCommand {
+        @CommandArgument
+        @Pattern(regex = "[a-z]+")
+        String name;
+
+        @OptionArgument(names = {"-p", "--port"})
+        @Range(min = 1, max = 65535)
+        int port = 8080;
+
+        @OptionArgument(names = "--ratio")
+        @Range(max = 1)
+        double ratio;
+
+        @OptionArgument(names = "--format")
+        @OneOf(value = {"json", "yaml"}, ignoreCase = true)
+        String format;
+
+        @OptionArgument(names = "--level")
+        @OneOf({"LOW", "HIGH"})
+        Level level;
+
+        @OptionArgument(names = "--json")
+        @Exclusive("output")
+        boolean json;
+
+        @OptionArgument(names = "--xml")
+        @Exclusive("output")
+        boolean xml;
+
+        @OptionGroup(prefix = "tls.")
+        Tls tls;
+    }
+
+    static class Tls {
+        @OptionArgument(names = "--version")
+        @Range(min = 12, max = 13)
+        Integer version;
+
+        @OptionArgument(names = "--off")
+        @Exclusive("output")
+        boolean off;
+    }
+
+    static class InvalidRange {
+        @OptionArgument(names = "--name")
+        @Range(min = 1)
+        String name;
+    }
+
+    static class BigIntegerConverter implements ArgsConverter<BigInteger> {
+        @Override
+        public BigInteger convert(String input) {
+            return new BigInteger(input);
+        }
+    }
+
+    static class BigRange {
+        @OptionArgument(names = "--count", converter = BigIntegerConverter.class)
+        @Range(max = 10)
+        BigInteger count;
+    }
+
+    static class AtomicRange {
+        @OptionArgument(names = "--count")
+        @Range(max = 10)
+        AtomicLong count;
+    }
+
+    @Test
+    public void testValidValuesBind() throws Exception {
+        ServerCommand command = ArgsBinder.convert(
+                Args.parse("api -p 443 --ratio 0.5 --format YAML --level HIGH --json --tls.version 13"), ServerCommand.class);
+
+        assertEquals(443, command.port);
+        assertEquals("YAML", command.format);
+        assertEquals(Level.HIGH, command.level);
+        assertEquals(13, command.tls.version);
+    }
+
+    @Test
+    public void testAllViolationsAreReportedTogether() {
+        ArgsValidationException exception = assertThrows(ArgsValidationException.class, () -> ArgsBinder.convert(
+                Args.parse("API --port 0 --ratio 1.5 --format xml --level EXTREME --json --xml --tls.version 11 --tls.off"),
+                ServerCommand.class));
+
+        List<String> expected = Arrays.asList(
+                "Positional argument 0 must match [a-z]+, was 'API'",
+                "-p must be between 1 and 65535, was 0",
+                "--ratio must be at most 1, was 1.5",
+                "--format must be one of [json, yaml], was 'xml'",
+                "--level must be one of [LOW, HIGH], was 'EXTREME'",
+                "--tls.version must be between 12 and 13, was 11",
+                "--json, --xml, --tls.off are mutually exclusive");
+        assertEquals(expected, exception.getViolations());
+        assertEquals(String.join("; ", expected), exception.getMessage());
+        assertTrue(exception instanceof ArgsParseException);
+    }
+
+    @Test
+    public void testDefaultsAreNotChecked() throws Exception {
+        ServerCommand command = ArgsBinder.convert(Args.parse("api --xml"), ServerCommand.class);
+
+        assertEquals(8080, command.port);
+        assertNull(command.format);
+        assertTrue(command.xml);
+    }
+
+    @Test
+    public void testConstraintMustFitFieldType() {
+        assertThrows(IllegalArgumentException.class, () -> ArgsBinder.convert(Args.parse("--name x"), InvalidRange.class));
+    }
+
+    @Test
+    public void testBigNumbersAreComparedExactly() throws Exception {
+        assertEquals(BigInteger.TEN, ArgsBinder.convert(Args.parse("--count 10"), BigRange.class).count);
+
+        ArgsValidationException exception = assertThrows(ArgsValidationException.class,
+                () -> ArgsBinder.convert(Args.parse("--count 18446744073709551621"), BigRange.class));
+        assertEquals(Collections.singletonList("--count must be at most 10, was 18446744073709551621"),
+                exception.getViolations());
+    }
+
+    @Test
+    public void testRangeRejectsOtherNumberTypes() {
+        assertThrows(IllegalArgumentException.class, () -> ArgsBinder.convert(Args.parse("--count 1"), AtomicRange.class));
+    }
+}
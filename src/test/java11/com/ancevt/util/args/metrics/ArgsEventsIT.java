@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Ancevt.
+ * See the notice.md file distributed with this work for additional
+ * information regarding copyright ownership.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ancevt.util.args.metrics;
+
+import com.ancevt.util.args.Args;
+import com.ancevt.util.args.ArgsLimits;
+import com.ancevt.util.args.ArgsParseException;
+import com.ancevt.util.args.reflection.ArgsBinder;
+import com.ancevt.util.args.reflection.OptionArgument;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the packaged jar, where the Java 11 layer of {@link ArgsEvents}
+ * replaces the no-op Java 8 class.
+ */
+public class ArgsEventsIT {
+
+    static class Command {
+        @OptionArgument(names = "--count")
+        int count;
+    }
+
+    @Test
+    public void testParseAndBindEventsAreRecorded() throws Exception {
+        Path file = Files.createTempFile("args", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("com.ancevt.args.Parse").withThreshold(Duration.ZERO);
+                recording.enable("com.ancevt.args.Bind").withThreshold(Duration.ZERO);
+                recording.start();
+
+                assertTrue(ArgsEvents.isParseEnabled());
+                Command command = ArgsBinder.convert(Args.parse("run --count 3"), Command.class);
+                assertEquals(3, command.count);
+                ArgsLimits strict = ArgsLimits.builder().strictQuotes(true).build();
+                assertThrows(ArgsParseException.class, () -> Args.parseLimited("say 'open", strict));
+
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> parses = events(file, "com.ancevt.args.Parse");
+            assertEquals(2, parses.size());
+            assertEquals(13, parses.get(0).getInt("sourceLength"));
+            assertEquals(3, parses.get(0).getInt("tokenCount"));
+            assertNull(parses.get(0).getString("failure"));
+            assertTrue(parses.get(1).getString("failure").startsWith("Unterminated quote"));
+
+            List<RecordedEvent> binds = events(file, "com.ancevt.args.Bind");
+            assertEquals(1, binds.size());
+            RecordedClass target = binds.get(0).getValue("targetClass");
+            assertEquals(Command.class.getName(), target.getName());
+        } finally {
+            Files.delete(file);
+        }
+        assertFalse(ArgsEvents.isParseEnabled());
+    }
+
+    private static List<RecordedEvent> events(Path file, String name) throws Exception {
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}